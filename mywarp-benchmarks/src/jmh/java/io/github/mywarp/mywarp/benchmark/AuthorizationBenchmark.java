@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.warp.WarpManager;
+import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
+import io.github.mywarp.mywarp.warp.authorization.PermissionAuthorizationStrategy;
+import io.github.mywarp.mywarp.warp.authorization.WarpPropertiesAuthorizationStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks filtering large sets of warps with the predicates created by an {@link AuthorizationResolver}, as done
+ * whenever warps are listed or matched against user input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthorizationBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  private int warpCount;
+
+  private WarpManager warpManager;
+  private AuthorizationResolver resolver;
+  private LocalPlayer player;
+  private LocalPlayer overridingPlayer;
+
+  /**
+   * Generates the warps and players.
+   */
+  @Setup
+  public void setup() {
+    SyntheticData data = new SyntheticData(warpCount, warpCount / 10, 4);
+    warpManager = data.createWarpManager();
+    resolver =
+        new AuthorizationResolver(new PermissionAuthorizationStrategy(new WarpPropertiesAuthorizationStrategy()));
+    player = data.getPlayers().get(0);
+    overridingPlayer =
+        SyntheticData.withPermissions(data.getPlayers().get(1), "mywarp.override.view", "mywarp.override.use",
+                                      "mywarp.override.modify");
+  }
+
+  @Benchmark
+  public int viewable() {
+    return warpManager.getNumberOfWarps(resolver.isViewable(player));
+  }
+
+  @Benchmark
+  public int usable() {
+    return warpManager.getNumberOfWarps(resolver.isUsable(player));
+  }
+
+  @Benchmark
+  public int modifiable() {
+    return warpManager.getNumberOfWarps(resolver.isModifiable(player));
+  }
+
+  @Benchmark
+  public int viewableWithOverride() {
+    return warpManager.getNumberOfWarps(resolver.isViewable(overridingPlayer));
+  }
+
+  @Benchmark
+  public Object listViewable() {
+    return warpManager.getAll(resolver.isViewable(player));
+  }
+}
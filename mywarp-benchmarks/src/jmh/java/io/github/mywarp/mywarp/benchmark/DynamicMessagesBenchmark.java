@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import io.github.mywarp.mywarp.command.CommandHandler;
+import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DynamicMessages#getString(String, Locale, Object...)} with MyWarp's built-in resource bundles.
+ *
+ * <p>The {@code parsed} benchmarks look up the bundle and parse a new MessageFormat for every message and thus show
+ * the per-message cost without the format cache.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DynamicMessagesBenchmark {
+
+  private DynamicMessages messages;
+
+  /**
+   * Creates the DynamicMessages.
+   */
+  @Setup
+  public void setup() {
+    messages = new DynamicMessages(CommandHandler.RESOURCE_BUNDLE_NAME);
+  }
+
+  @Benchmark
+  public String plain() {
+    return messages.getString("assets.private", Locale.ENGLISH);
+  }
+
+  @Benchmark
+  public String formatted() {
+    return messages.getString("assets.heading", Locale.ENGLISH, "Player0");
+  }
+
+  @Benchmark
+  public String formattedWithQuotes() {
+    return messages.getString("create.private.created-successful", Locale.ENGLISH, "Belmor");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String formattedConcurrently() {
+    return messages.getString("assets.heading", Locale.ENGLISH, "Player0");
+  }
+
+  @Benchmark
+  public String parsedFormatted() {
+    return parseAndFormat("assets.heading", Locale.ENGLISH, "Player0");
+  }
+
+  @Benchmark
+  public String parsedFormattedWithQuotes() {
+    return parseAndFormat("create.private.created-successful", Locale.ENGLISH, "Belmor");
+  }
+
+  private static String parseAndFormat(String key, Locale locale, Object... args) {
+    ResourceBundle bundle = ResourceBundle.getBundle(CommandHandler.RESOURCE_BUNDLE_NAME, locale);
+    return new MessageFormat(bundle.getString(key), bundle.getLocale()).format(args);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.platform.LocalWorld;
+import io.github.mywarp.mywarp.platform.capability.LimitCapability;
+import io.github.mywarp.mywarp.service.limit.Limit;
+import io.github.mywarp.mywarp.service.limit.LimitService;
+import io.github.mywarp.mywarp.service.limit.WarpCounter;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LimitService#canAdd(LocalPlayer, LocalWorld, Warp.Type)} for a player that owns many warps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LimitServiceBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  private int warpCount;
+
+  private LimitService limitService;
+  private LocalPlayer player;
+  private LocalWorld world;
+
+  /**
+   * Generates the warps and sets up the LimitService with a single global limit.
+   */
+  @Setup
+  public void setup() {
+    // few players, so that every player owns many warps
+    SyntheticData data = new SyntheticData(warpCount, 10, 4);
+    WarpManager warpManager = data.createWarpManager();
+    WarpCounter warpCounter = new WarpCounter(warpManager);
+    warpCounter.rebuild();
+
+    Limit limit = new GlobalLimit(ImmutableSet.<LocalWorld>copyOf(data.getWorlds()), Integer.MAX_VALUE);
+    limitService = new LimitService(new LimitCapability() {
+      @Override
+      public Limit getLimit(LocalPlayer player, LocalWorld world) {
+        return limit;
+      }
+
+      @Override
+      public List<Limit> getEffectiveLimits(LocalPlayer player) {
+        return ImmutableList.of(limit);
+      }
+    }, warpManager, warpCounter);
+
+    player = data.getPlayers().get(0);
+    world = data.getWorlds().get(0);
+  }
+
+  @Benchmark
+  public LimitService.EvaluationResult canAddPublic() {
+    return limitService.canAdd(player, world, Warp.Type.PUBLIC);
+  }
+
+  @Benchmark
+  public LimitService.EvaluationResult canAddPrivate() {
+    return limitService.canAdd(player, world, Warp.Type.PRIVATE);
+  }
+
+  /**
+   * A Limit that affects a fixed set of worlds and allows the same number of warps for every value.
+   */
+  private static class GlobalLimit implements Limit {
+
+    private final ImmutableSet<LocalWorld> worlds;
+    private final int maximum;
+
+    GlobalLimit(ImmutableSet<LocalWorld> worlds, int maximum) {
+      this.worlds = worlds;
+      this.maximum = maximum;
+    }
+
+    @Override
+    public ImmutableSet<LocalWorld> getAffectedWorlds() {
+      return worlds;
+    }
+
+    @Override
+    public boolean isAffectedWorld(UUID worldIdentifier) {
+      for (LocalWorld world : worlds) {
+        if (world.getUniqueId().equals(worldIdentifier)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int get(Value value) {
+      return maximum;
+    }
+  }
+}
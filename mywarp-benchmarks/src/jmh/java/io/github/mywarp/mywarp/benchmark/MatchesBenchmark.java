@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import io.github.mywarp.mywarp.command.util.Matches;
+import io.github.mywarp.mywarp.warp.PopularityScores;
+import io.github.mywarp.mywarp.warp.Warp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Matches#forQuery(String)} with the comparators used when matching warps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchesBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  private int warpCount;
+
+  @Param({"cor", "belmor", "zzz"})
+  private String query;
+
+  private List<Warp> warps;
+  private Warp.PopularityComparator cachedComparator;
+
+  /**
+   * Generates the warps.
+   */
+  @Setup
+  public void setup() {
+    SyntheticData data = new SyntheticData(warpCount, warpCount / 10, 4);
+    warps = data.getWarps();
+    PopularityScores scores = new PopularityScores(data.createWarpManager());
+    scores.refresh();
+    cachedComparator = new Warp.PopularityComparator(scores);
+  }
+
+  @Benchmark
+  public List<Warp> sortedMatchesWithComputedPopularity() {
+    return Matches.from(warps).withStringFunction(Warp::getName).withValueComparator(new Warp.PopularityComparator())
+        .forQuery(query).getSortedMatches();
+  }
+
+  @Benchmark
+  public List<Warp> sortedMatchesWithCachedPopularity() {
+    return Matches.from(warps).withStringFunction(Warp::getName).withValueComparator(cachedComparator)
+        .forQuery(query).getSortedMatches();
+  }
+
+  @Benchmark
+  public Object exactMatch() {
+    return Matches.from(warps).withStringFunction(Warp::getName).withValueComparator(cachedComparator)
+        .forQuery(query).getExactMatch();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import io.github.mywarp.mywarp.platform.Actor;
+import io.github.mywarp.mywarp.warp.PlaceholderResolver;
+import io.github.mywarp.mywarp.warp.Warp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PlaceholderResolver.ConfiguredPlaceholderResolver#resolvePlaceholders(String)} with the kind of
+ * templates used for welcome messages and warp signs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderBenchmark {
+
+  private static final String PLAIN_TEMPLATE = "Welcome to this warp!";
+  private static final String WELCOME_TEMPLATE =
+      "Welcome to %warp%, %player%! Created by %creator%, visited %visits% times.";
+  private static final String LOCATION_TEMPLATE = "%warp% (%creator%) is located at %loc%.";
+
+  private PlaceholderResolver resolver;
+  private List<Warp> warps;
+  private Warp warp;
+  private Actor actor;
+
+  /**
+   * Generates the warps and players.
+   */
+  @Setup
+  public void setup() {
+    SyntheticData data = new SyntheticData(100, 100, 1);
+    resolver = new PlaceholderResolver(data.createNameResolver());
+    warps = data.getWarps();
+    warp = warps.get(0);
+    actor = data.getPlayers().get(0);
+  }
+
+  @Benchmark
+  public String plain() {
+    return resolver.values(warp, actor).resolvePlaceholders(PLAIN_TEMPLATE);
+  }
+
+  @Benchmark
+  public String welcomeMessage() {
+    return resolver.values(warp, actor).resolvePlaceholders(WELCOME_TEMPLATE);
+  }
+
+  @Benchmark
+  public String location() {
+    return resolver.values(warp).resolvePlaceholders(LOCATION_TEMPLATE);
+  }
+
+  /**
+   * Resolves the same template for all warps, as done when updating map markers.
+   *
+   * @param blackhole the Blackhole that consumes the results
+   */
+  @Benchmark
+  public void locationOfAllWarps(Blackhole blackhole) {
+    for (Warp each : warps) {
+      blackhole.consume(resolver.values(each).resolvePlaceholders(LOCATION_TEMPLATE));
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import io.github.mywarp.mywarp.warp.PopularityScores;
+import io.github.mywarp.mywarp.warp.Warp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sorting warps by popularity, both with scores computed on every comparison and with the scores cached by
+ * {@link PopularityScores}, and compares both with reading the ranking kept by {@link PopularityScores}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PopularityBenchmark {
+
+  @Param({"1000", "10000", "50000", "100000"})
+  private int warpCount;
+
+  private List<Warp> warps;
+  private PopularityScores scores;
+
+  /**
+   * Generates the warps and computes their scores.
+   */
+  @Setup
+  public void setup() {
+    SyntheticData data = new SyntheticData(warpCount, warpCount / 10, 4);
+    warps = data.getWarps();
+    scores = new PopularityScores(data.createWarpManager());
+    scores.refresh();
+  }
+
+  @Benchmark
+  public List<Warp> sortWithComputedScores() {
+    List<Warp> sorted = new ArrayList<Warp>(warps);
+    sorted.sort(new Warp.PopularityComparator());
+    return sorted;
+  }
+
+  @Benchmark
+  public List<Warp> sortWithCachedScores() {
+    List<Warp> sorted = new ArrayList<Warp>(warps);
+    sorted.sort(new Warp.PopularityComparator(scores));
+    return sorted;
+  }
+
+  @Benchmark
+  public List<Warp> readRanking() {
+    return scores.getRanking();
+  }
+
+  @Benchmark
+  public PopularityScores refreshScores() {
+    scores.refresh();
+    return scores;
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+
+import io.github.mywarp.mywarp.bukkit.settings.BukkitSettings;
+import io.github.mywarp.mywarp.platform.Game;
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.platform.Settings;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpManager;
+import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
+import io.github.mywarp.mywarp.warp.authorization.PermissionAuthorizationStrategy;
+import io.github.mywarp.mywarp.warp.authorization.WarpPropertiesAuthorizationStrategy;
+import io.github.mywarp.mywarp.warp.authorization.WorldAccessAuthorizationStrategy;
+import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
+
+import org.apache.commons.lang.LocaleUtils;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the authorization of warps with world access control enabled, once with settings that look up every
+ * value in the YAML configuration when requested, as MyWarp did before, and once with {@link BukkitSettings}, that
+ * reads all values into a snapshot when loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SettingsBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  private int warpCount;
+
+  @Param({"lookup", "snapshot"})
+  private String settingsType;
+
+  private File configFile;
+  private WarpManager warpManager;
+  private List<Warp> warps;
+  private AuthorizationResolver resolver;
+  private LocalPlayer player;
+
+  /**
+   * Generates the warps and creates the settings.
+   *
+   * @throws IOException if the configuration cannot be read or written
+   */
+  @Setup
+  public void setup() throws IOException {
+    YamlConfiguration defaultConfig;
+    try (Reader reader = new InputStreamReader(BukkitSettings.class.getResourceAsStream("/config.yml"),
+                                               StandardCharsets.UTF_8)) {
+      defaultConfig = YamlConfiguration.loadConfiguration(reader);
+    }
+    defaultConfig.set("settings.controlWorldAccess", true);
+    defaultConfig.set("storage.url", "jdbc:h2:mem:mywarp-benchmark");
+
+    Settings settings;
+    if (settingsType.equals("lookup")) {
+      settings = new LookupSettings(defaultConfig);
+    } else {
+      configFile = File.createTempFile("mywarp-benchmark", ".yml");
+      defaultConfig.save(configFile);
+      settings = new BukkitSettings(configFile, defaultConfig);
+    }
+
+    SyntheticData data = new SyntheticData(warpCount, warpCount / 10, 4);
+    warpManager = data.createWarpManager();
+    warps = data.getWarps();
+    Game game = data.createGame();
+    resolver = new AuthorizationResolver(new PermissionAuthorizationStrategy(
+        new WorldAccessAuthorizationStrategy(new WarpPropertiesAuthorizationStrategy(), game, settings)));
+
+    String[] permissions = new String[data.getWorlds().size()];
+    for (int i = 0; i < permissions.length; i++) {
+      permissions[i] = "mywarp.world-access." + data.getWorlds().get(i).getName();
+    }
+    player = SyntheticData.withPermissions(data.getPlayers().get(0), permissions);
+  }
+
+  /**
+   * Deletes the configuration file, if one was created.
+   */
+  @TearDown
+  public void tearDown() {
+    if (configFile != null && !configFile.delete()) {
+      configFile.deleteOnExit();
+    }
+  }
+
+  /**
+   * Checks all warps with a single predicate, as done when listing warps.
+   *
+   * @return the number of viewable warps
+   */
+  @Benchmark
+  public int viewablePredicate() {
+    return warpManager.getNumberOfWarps(resolver.isViewable(player));
+  }
+
+  /**
+   * Checks every warp on its own, as done when warps are used one by one.
+   *
+   * @return the number of usable warps
+   */
+  @Benchmark
+  public int usableIndividually() {
+    int ret = 0;
+    for (Warp warp : warps) {
+      if (resolver.isUsable(warp, player)) {
+        ret++;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Settings that look up every value in the configuration when it is requested.
+   */
+  private static class LookupSettings implements Settings {
+
+    private final Configuration config;
+
+    LookupSettings(Configuration config) {
+      this.config = config;
+    }
+
+    @Override
+    public boolean isControlWorldAccess() {
+      return config.getBoolean("settings.controlWorldAccess");
+    }
+
+    @Override
+    public boolean isTeleportTamedHorses() {
+      return config.getBoolean("settings.teleportHorses");
+    }
+
+    @Override
+    public boolean isShowTeleportEffect() {
+      return config.getBoolean("settings.showTeleportEffect");
+    }
+
+    @Override
+    public boolean isCaseSensitiveWarpNames() {
+      return config.getBoolean("settings.caseSensitiveWarpNames");
+    }
+
+    @Override
+    public Locale getLocalizationDefaultLocale() {
+      return LocaleUtils.toLocale(config.getString("localization.defaultLocale"));
+    }
+
+    @Override
+    public boolean isLocalizationPerPlayer() {
+      return config.getBoolean("localization.perPlayer");
+    }
+
+    @Override
+    public boolean isWarpSignsEnabled() {
+      return config.getBoolean("warpSigns.enabled");
+    }
+
+    @Override
+    public ImmutableSet<String> getWarpSignsIdentifiers() {
+      return ImmutableSet.copyOf(config.getStringList("warpSigns.identifiers"));
+    }
+
+    @Override
+    public ConnectionConfiguration getRelationalStorageConfiguration() {
+      return new ConnectionConfiguration(config.getString("storage.url"));
+    }
+
+    @Override
+    public boolean isStorageWriteBehindEnabled() {
+      return config.getBoolean("storage.writeBehind.enabled");
+    }
+
+    @Override
+    public Duration getStorageWriteBehindFlushInterval() {
+      return Duration.ofSeconds(config.getLong("storage.writeBehind.flushInterval"));
+    }
+
+    @Override
+    public int getStorageWriteBehindMaxQueueSize() {
+      return config.getInt("storage.writeBehind.maxQueueSize");
+    }
+
+    @Override
+    public boolean isStorageSnapshotEnabled() {
+      return config.getBoolean("storage.snapshot.enabled");
+    }
+
+    @Override
+    public boolean isInformPlayerOnInvitation() {
+      return config.getBoolean("settings.informPlayersOnInvitation");
+    }
+  }
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import com.flowpowered.math.vector.Vector2f;
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import io.github.mywarp.mywarp.platform.Actor;
+import io.github.mywarp.mywarp.platform.Game;
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.platform.LocalWorld;
+import io.github.mywarp.mywarp.platform.PlayerNameResolver;
+import io.github.mywarp.mywarp.platform.Sign;
+import io.github.mywarp.mywarp.util.BlockFace;
+import io.github.mywarp.mywarp.util.Message;
+import io.github.mywarp.mywarp.warp.MemoryPopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.PopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Generates synthetic players, worlds and warps for benchmarks.
+ *
+ * <p>All data is derived from a seeded {@link Random}, so two instances created with the same arguments contain
+ * equal data. Warp names are assembled from syllables, so that prefix and infix queries have a realistic number of
+ * matches.</p>
+ */
+public class SyntheticData {
+
+  private static final String[] SYLLABLES =
+      {"ar", "bel", "cor", "dun", "el", "fal", "gor", "hel", "ith", "kar", "lor", "mor", "nal", "or", "pel", "quin",
+       "ros", "sil", "tor", "ur", "val", "wen", "yth", "zar"};
+  private static final String[] GROUPS = {"default", "builder", "moderator", "admin", "guest", "vip"};
+  private static final long SEED = 42L;
+
+  private final ImmutableList<SyntheticWorld> worlds;
+  private final ImmutableList<SyntheticPlayer> players;
+  private final ImmutableList<Warp> warps;
+
+  /**
+   * Creates an instance with the given number of warps, players and worlds.
+   *
+   * @param warpCount   the number of warps
+   * @param playerCount the number of players
+   * @param worldCount  the number of worlds
+   */
+  public SyntheticData(int warpCount, int playerCount, int worldCount) {
+    Random random = new Random(SEED);
+
+    ImmutableList.Builder<SyntheticWorld> worldBuilder = ImmutableList.builder();
+    for (int i = 0; i < worldCount; i++) {
+      worldBuilder.add(new SyntheticWorld("world_" + i, new UUID(random.nextLong(), random.nextLong())));
+    }
+    worlds = worldBuilder.build();
+
+    ImmutableList.Builder<SyntheticPlayer> playerBuilder = ImmutableList.builder();
+    for (int i = 0; i < playerCount; i++) {
+      Set<String> groups = new HashSet<String>();
+      groups.add(GROUPS[0]);
+      groups.add(GROUPS[random.nextInt(GROUPS.length)]);
+      playerBuilder.add(new SyntheticPlayer("Player" + i, new UUID(random.nextLong(), random.nextLong()),
+                                            worlds.get(random.nextInt(worlds.size())), groups,
+                                            ImmutableSet.<String>of()));
+    }
+    players = playerBuilder.build();
+
+    Instant now = Instant.now();
+    Set<String> names = new HashSet<String>();
+    ImmutableList.Builder<Warp> warpBuilder = ImmutableList.builder();
+    while (names.size() < warpCount) {
+      String name = name(random);
+      if (!names.add(name.toLowerCase(Locale.ROOT))) {
+        continue;
+      }
+      WarpBuilder builder =
+          new WarpBuilder(name, randomElement(players, random).getUniqueId(),
+                          randomElement(worlds, random).getUniqueId(),
+                          new Vector3d(random.nextInt(20000) - 10000, random.nextInt(200) + 5,
+                                       random.nextInt(20000) - 10000),
+                          new Vector2f(random.nextFloat() * 180 - 90, random.nextFloat() * 360 - 180));
+      builder.setType(random.nextInt(3) == 0 ? Warp.Type.PRIVATE : Warp.Type.PUBLIC);
+      builder.setCreationDate(now.minus(random.nextInt(365 * 4), ChronoUnit.DAYS));
+      builder.setVisits(random.nextInt(500));
+      if (random.nextBoolean()) {
+        builder.setWelcomeMessage("Welcome to %warp%, %player%! Created by %creator%, visited %visits% times.");
+      }
+      int invitations = random.nextInt(4);
+      for (int i = 0; i < invitations; i++) {
+        builder.addInvitedPlayer(randomElement(players, random).getUniqueId());
+      }
+      if (random.nextInt(5) == 0) {
+        builder.addInvitedGroup(GROUPS[random.nextInt(GROUPS.length)]);
+      }
+      warpBuilder.add(builder.build());
+    }
+    warps = warpBuilder.build();
+  }
+
+  private static String name(Random random) {
+    StringBuilder builder = new StringBuilder();
+    int syllables = 2 + random.nextInt(3);
+    for (int i = 0; i < syllables; i++) {
+      builder.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    builder.setCharAt(0, Character.toUpperCase(builder.charAt(0)));
+    if (random.nextInt(4) == 0) {
+      builder.append(random.nextInt(100));
+    }
+    return builder.toString();
+  }
+
+  private static <T> T randomElement(List<T> list, Random random) {
+    return list.get(random.nextInt(list.size()));
+  }
+
+  /**
+   * Gets all generated worlds.
+   *
+   * @return all worlds
+   */
+  public ImmutableList<SyntheticWorld> getWorlds() {
+    return worlds;
+  }
+
+  /**
+   * Gets all generated players.
+   *
+   * @return all players
+   */
+  public ImmutableList<SyntheticPlayer> getPlayers() {
+    return players;
+  }
+
+  /**
+   * Gets all generated warps.
+   *
+   * @return all warps
+   */
+  public ImmutableList<Warp> getWarps() {
+    return warps;
+  }
+
+  /**
+   * Gets a copy of all generated warps. Warps are mutable, so benchmarks that modify warps should operate on a copy.
+   *
+   * @return a copy of all warps
+   */
+  public List<Warp> copyWarps() {
+    List<Warp> ret = new ArrayList<Warp>(warps.size());
+    for (Warp warp : warps) {
+      ret.add(new WarpBuilder(warp.getName(), warp.getCreator(), warp.getWorldIdentifier(), warp.getPosition(),
+                              warp.getRotation()).setType(warp.getType()).setCreationDate(warp.getCreationDate())
+                  .setVisits(warp.getVisits()).setWelcomeMessage(warp.getWelcomeMessage())
+                  .addInvitedPlayers(warp.getInvitedPlayers()).addInvitedGroups(warp.getInvitedGroups()).build());
+    }
+    return ret;
+  }
+
+  /**
+   * Creates a new WarpManager that is populated with all generated warps.
+   *
+   * @return a populated WarpManager
+   */
+  public PopulatableWarpManager createWarpManager() {
+    PopulatableWarpManager warpManager = new MemoryPopulatableWarpManager();
+    warpManager.populate(warps);
+    return warpManager;
+  }
+
+  /**
+   * Creates a PlayerNameResolver that knows all generated players.
+   *
+   * @return a PlayerNameResolver
+   */
+  public PlayerNameResolver createNameResolver() {
+    Map<UUID, String> names = new HashMap<UUID, String>();
+    for (SyntheticPlayer player : players) {
+      names.put(player.getUniqueId(), player.getName());
+    }
+    return new MapPlayerNameResolver(names);
+  }
+
+  /**
+   * Creates a Game that contains all generated worlds and players.
+   *
+   * @return a Game
+   */
+  public Game createGame() {
+    return new SyntheticGame(ImmutableSet.<LocalWorld>copyOf(worlds), ImmutableSet.<LocalPlayer>copyOf(players));
+  }
+
+  /**
+   * Creates a player that has the given permissions, but is otherwise equal to the given one.
+   *
+   * @param player      the player
+   * @param permissions the permissions
+   * @return the new player
+   */
+  public static SyntheticPlayer withPermissions(SyntheticPlayer player, String... permissions) {
+    return new SyntheticPlayer(player.getName(), player.getUniqueId(), player.getWorld(), player.groups,
+                               ImmutableSet.copyOf(permissions));
+  }
+
+  /**
+   * A world that only consists of a name and an unique identifier.
+   */
+  public static class SyntheticWorld implements LocalWorld {
+
+    private final String name;
+    private final UUID uniqueId;
+
+    SyntheticWorld(String name, UUID uniqueId) {
+      this.name = name;
+      this.uniqueId = uniqueId;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public UUID getUniqueId() {
+      return uniqueId;
+    }
+
+    @Override
+    public Optional<Sign> getSign(Vector3i position) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<Sign> getAttachedSign(Vector3i position, BlockFace blockFace) {
+      return Optional.empty();
+    }
+
+    @Override
+    public void playTeleportEffect(Vector3d position) {
+    }
+
+    @Override
+    public boolean isNotFullHeight(Vector3i position) {
+      return false;
+    }
+  }
+
+  /**
+   * A player with a fixed set of groups and permissions that discards all messages and cannot be moved.
+   */
+  public static class SyntheticPlayer implements LocalPlayer {
+
+    private final String name;
+    private final UUID uniqueId;
+    private final LocalWorld world;
+    private final Set<String> groups;
+    private final Set<String> permissions;
+
+    SyntheticPlayer(String name, UUID uniqueId, LocalWorld world, Set<String> groups, Set<String> permissions) {
+      this.name = name;
+      this.uniqueId = uniqueId;
+      this.world = world;
+      this.groups = groups;
+      this.permissions = permissions;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public boolean hasPermission(String node) {
+      return permissions.contains(node);
+    }
+
+    @Override
+    public void sendMessage(Message msg) {
+    }
+
+    @Override
+    public Locale getLocale() {
+      return Locale.ENGLISH;
+    }
+
+    @Override
+    public UUID getUniqueId() {
+      return uniqueId;
+    }
+
+    @Override
+    public boolean hasGroup(String groupId) {
+      return groups.contains(groupId);
+    }
+
+    @Override
+    public double getHealth() {
+      return 20;
+    }
+
+    @Override
+    public void setCompassTarget(LocalWorld world, Vector3d position) {
+    }
+
+    @Override
+    public void resetCompass() {
+    }
+
+    @Override
+    public void initiateAcceptanceConversation(Actor initiator, Warp warp) {
+    }
+
+    @Override
+    public void initiateWelcomeChangeConversation(Warp warp) {
+    }
+
+    @Override
+    public LocalWorld getWorld() {
+      return world;
+    }
+
+    @Override
+    public Vector3d getPosition() {
+      return Vector3d.ZERO;
+    }
+
+    @Override
+    public Vector2f getRotation() {
+      return Vector2f.ZERO;
+    }
+
+    @Override
+    public boolean isValid() {
+      return true;
+    }
+
+    @Override
+    public void teleport(LocalWorld world, Vector3d position, Vector2f rotation, boolean teleportTamedHorse) {
+    }
+  }
+
+  /**
+   * A Game with a fixed set of worlds and players that executes tasks directly.
+   */
+  private static class SyntheticGame implements Game {
+
+    private final ImmutableSet<LocalWorld> worlds;
+    private final ImmutableSet<LocalPlayer> players;
+
+    SyntheticGame(ImmutableSet<LocalWorld> worlds, ImmutableSet<LocalPlayer> players) {
+      this.worlds = worlds;
+      this.players = players;
+    }
+
+    @Override
+    public Executor getExecutor() {
+      return Runnable::run;
+    }
+
+    @Override
+    public Optional<LocalPlayer> getPlayer(String name) {
+      return players.stream().filter(player -> player.getName().equals(name)).findFirst();
+    }
+
+    @Override
+    public Optional<LocalPlayer> getPlayer(UUID identifier) {
+      return players.stream().filter(player -> player.getUniqueId().equals(identifier)).findFirst();
+    }
+
+    @Override
+    public ImmutableSet<LocalPlayer> getPlayers() {
+      return players;
+    }
+
+    @Override
+    public Optional<LocalWorld> getWorld(String name) {
+      return worlds.stream().filter(world -> world.getName().equals(name)).findFirst();
+    }
+
+    @Override
+    public Optional<LocalWorld> getWorld(UUID uniqueId) {
+      return worlds.stream().filter(world -> world.getUniqueId().equals(uniqueId)).findFirst();
+    }
+
+    @Override
+    public ImmutableSet<LocalWorld> getWorlds() {
+      return worlds;
+    }
+  }
+
+  /**
+   * Resolves the names of a fixed set of players.
+   */
+  private static class MapPlayerNameResolver implements PlayerNameResolver {
+
+    private final ImmutableMap<UUID, String> names;
+    private final ImmutableMap<String, UUID> uniqueIds;
+
+    MapPlayerNameResolver(Map<UUID, String> names) {
+      this.names = ImmutableMap.copyOf(names);
+      ImmutableMap.Builder<String, UUID> builder = ImmutableMap.builder();
+      for (Map.Entry<UUID, String> entry : names.entrySet()) {
+        builder.put(entry.getValue(), entry.getKey());
+      }
+      this.uniqueIds = builder.build();
+    }
+
+    @Override
+    public Optional<String> getByUniqueId(UUID uniqueId) {
+      return Optional.ofNullable(names.get(uniqueId));
+    }
+
+    @Override
+    public ImmutableMap<UUID, String> getByUniqueId(Iterable<UUID> uniqueIds) {
+      ImmutableMap.Builder<UUID, String> builder = ImmutableMap.builder();
+      for (UUID uniqueId : ImmutableSet.copyOf(uniqueIds)) {
+        String name = names.get(uniqueId);
+        if (name != null) {
+          builder.put(uniqueId, name);
+        }
+      }
+      return builder.build();
+    }
+
+    @Override
+    public Optional<UUID> getByName(String name) {
+      return Optional.ofNullable(uniqueIds.get(name));
+    }
+
+    @Override
+    public ImmutableMap<String, UUID> getByName(Iterable<String> names) {
+      ImmutableMap.Builder<String, UUID> builder = ImmutableMap.builder();
+      for (String name : ImmutableSet.copyOf(names)) {
+        UUID uniqueId = uniqueIds.get(name);
+        if (uniqueId != null) {
+          builder.put(name, uniqueId);
+        }
+      }
+      return builder.build();
+    }
+  }
+}
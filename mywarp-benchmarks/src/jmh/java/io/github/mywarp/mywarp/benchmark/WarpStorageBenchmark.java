@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.benchmark;
+
+import io.github.mywarp.mywarp.service.limit.WarpCounter;
+import io.github.mywarp.mywarp.warp.MemoryPopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.PopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.PopularityScores;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
+import io.github.mywarp.mywarp.warp.storage.StorageInitializationException;
+import io.github.mywarp.mywarp.warp.storage.WarpSnapshotFile;
+import io.github.mywarp.mywarp.warp.storage.WarpStorage;
+import io.github.mywarp.mywarp.warp.storage.WarpStorageFactory;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading and updating warps in a {@link WarpStorage} backed by an embedded in-memory H2 database, and
+ * compares loading from the database with loading from a {@link WarpSnapshotFile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WarpStorageBenchmark {
+
+  private static final String URL = "jdbc:h2:mem:mywarp-benchmark;DB_CLOSE_DELAY=-1";
+
+  @Param({"1000", "10000", "50000"})
+  private int warpCount;
+
+  private JdbcDataSource dataSource;
+  private WarpStorage storage;
+  private WarpSnapshotFile snapshotFile;
+  private File snapshot;
+  private List<Warp> warps;
+  private int next;
+
+  /**
+   * Creates the database and the snapshot and fills both with the generated warps.
+   *
+   * @throws StorageInitializationException if the storage cannot be created
+   * @throws IOException                    if the snapshot cannot be written
+   */
+  @Setup(Level.Trial)
+  public void setup() throws StorageInitializationException, IOException {
+    dataSource = new JdbcDataSource();
+    dataSource.setURL(URL);
+
+    ConnectionConfiguration config = new ConnectionConfiguration(URL).setSchema("mywarp").setFetchSize(1000);
+    storage = WarpStorageFactory.createInitialized(dataSource, config);
+
+    warps = new SyntheticData(warpCount, warpCount / 10, 4).copyWarps();
+    storage.transaction(s -> warps.forEach(s::addWarp));
+
+    snapshot = File.createTempFile("mywarp-benchmark", ".snapshot");
+    snapshotFile = new WarpSnapshotFile(snapshot);
+    snapshotFile.write(warps);
+  }
+
+  /**
+   * Drops the database and deletes the snapshot.
+   *
+   * @throws SQLException if the database cannot be dropped
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    if (!snapshot.delete()) {
+      snapshot.deleteOnExit();
+    }
+  }
+
+  @Benchmark
+  public List<Warp> loadFromDatabase() {
+    return storage.getWarps();
+  }
+
+  @Benchmark
+  public Optional<List<Warp>> loadFromSnapshot() {
+    return snapshotFile.read();
+  }
+
+  /**
+   * Performs the same steps as MyWarp when loading warps on startup, with the database as source.
+   *
+   * @return the populated WarpManager
+   */
+  @Benchmark
+  public PopulatableWarpManager startup() {
+    PopulatableWarpManager warpManager = new MemoryPopulatableWarpManager();
+    warpManager.populate(storage.getWarps());
+    new WarpCounter(warpManager).rebuild();
+    new PopularityScores(warpManager).refresh();
+    return warpManager;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void updateVisits() {
+    storage.updateVisits(nextWarp());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void updateLocationAndType() {
+    Warp warp = nextWarp();
+    storage.transaction(s -> {
+      s.updateLocation(warp);
+      s.updateType(warp);
+    });
+  }
+
+  private Warp nextWarp() {
+    next = (next + 1) % warps.size();
+    return warps.get(next);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import io.github.mywarp.mywarp.bukkit.util.permission.group.GroupResolver;
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Simulates the wrapping of players during a session with 200 online players, once creating a new wrapper for every
+ * call as MyWarp did before, and once using the {@link BukkitPlayerRegistry}.
+ *
+ * <p>Every operation wraps each online player once, as done by commands, tab-completion and sign interactions, and
+ * lists all online players ten times, as done by invitation notifications and warmups. Run with {@code -prof gc} to
+ * measure the allocation rate.</p>
+ *
+ * <p>This benchmark lives in the package of {@link BukkitPlayer} as wrappers cannot be created from elsewhere.
+ * Bukkit players and the server are simulated by proxies that only support the methods called by the wrappers.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerWrappingBenchmark {
+
+  private static final int PLAYER_COUNT = 200;
+  private static final int LISTINGS_PER_OPERATION = 10;
+
+  @Param({"uncached", "registry"})
+  private String wrapping;
+
+  private List<Player> players;
+  private Function<Player, LocalPlayer> wrapper;
+  private Function<List<Player>, ImmutableSet<LocalPlayer>> lister;
+
+  /**
+   * Creates the simulated players and the wrapping strategy.
+   */
+  @Setup
+  public void setup() {
+    ImmutableList.Builder<Player> builder = ImmutableList.builder();
+    for (int i = 0; i < PLAYER_COUNT; i++) {
+      builder.add(createPlayer("Player" + i, new UUID(i, i)));
+    }
+    players = builder.build();
+
+    if (Bukkit.getServer() == null) {
+      Bukkit.setServer(createServer(players));
+    }
+
+    // conversations and settings are not used when wrapping players
+    GroupResolver groupResolver = (player, groupId) -> false;
+    Function<Player, BukkitPlayer> factory = player -> new BukkitPlayer(player, null, null, groupResolver, null);
+
+    if (wrapping.equals("uncached")) {
+      wrapper = factory::apply;
+      lister = online -> {
+        ImmutableSet.Builder<LocalPlayer> setBuilder = ImmutableSet.builder();
+        for (Player player : online) {
+          setBuilder.add(factory.apply(player));
+        }
+        return setBuilder.build();
+      };
+    } else {
+      // no player quits, so the registry never schedules tasks
+      BukkitPlayerRegistry registry = new BukkitPlayerRegistry(null, factory);
+      wrapper = registry::get;
+      lister = online -> registry.getOnlinePlayers();
+    }
+  }
+
+  @Benchmark
+  public void session(Blackhole blackhole) {
+    for (Player player : players) {
+      blackhole.consume(wrapper.apply(player));
+    }
+    for (int i = 0; i < LISTINGS_PER_OPERATION; i++) {
+      blackhole.consume(lister.apply(players));
+    }
+  }
+
+  private static Player createPlayer(String name, UUID uniqueId) {
+    InvocationHandler handler = (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "getUniqueId":
+          return uniqueId;
+        case "getName":
+        case "toString":
+          return name;
+        case "isOnline":
+          return true;
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "equals":
+          return proxy == args[0];
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    };
+    return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class}, handler);
+  }
+
+  private static Server createServer(List<Player> players) {
+    Logger logger = Logger.getLogger(PlayerWrappingBenchmark.class.getName());
+    InvocationHandler handler = (proxy, method, args) -> {
+      switch (method.getName()) {
+        case "getOnlinePlayers":
+          return players;
+        case "getLogger":
+          return logger;
+        case "getName":
+        case "getVersion":
+        case "getBukkitVersion":
+          return "benchmark";
+        default:
+          throw new UnsupportedOperationException(method.getName());
+      }
+    };
+    return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[]{Server.class}, handler);
+  }
+}
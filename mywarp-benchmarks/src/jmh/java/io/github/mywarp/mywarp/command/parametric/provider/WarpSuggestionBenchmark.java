@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.command.parametric.provider;
+
+import com.sk89q.intake.argument.Namespace;
+
+import io.github.mywarp.mywarp.benchmark.SyntheticData;
+import io.github.mywarp.mywarp.platform.Actor;
+import io.github.mywarp.mywarp.warp.PopularityScores;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpManager;
+import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
+import io.github.mywarp.mywarp.warp.authorization.PermissionAuthorizationStrategy;
+import io.github.mywarp.mywarp.warp.authorization.WarpPropertiesAuthorizationStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Benchmarks {@link WarpProvider#getSuggestions(String, Namespace)} as called on every tab-completion of a warp name.
+ *
+ * <p>This benchmark lives in the package of {@link WarpProvider} as the provider is not accessible from elsewhere.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WarpSuggestionBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  private int warpCount;
+
+  /**
+   * The empty prefix lists all warps, "cor" matches the prefix of many warps and "mor" is mostly matched as infix.
+   */
+  @Param({"", "cor", "belmor", "mor"})
+  private String prefix;
+
+  private WarpProvider provider;
+  private Namespace namespace;
+
+  /**
+   * Generates the warps and creates the provider.
+   */
+  @Setup
+  public void setup() {
+    SyntheticData data = new SyntheticData(warpCount, warpCount / 10, 4);
+    WarpManager warpManager = data.createWarpManager();
+    PopularityScores scores = new PopularityScores(warpManager);
+    scores.refresh();
+    AuthorizationResolver resolver =
+        new AuthorizationResolver(new PermissionAuthorizationStrategy(new WarpPropertiesAuthorizationStrategy()));
+
+    provider = new WarpProvider(resolver, warpManager, scores) {
+      @Override
+      Predicate<Warp> isValid(AuthorizationResolver resolver, Actor actor) {
+        return resolver.isViewable(actor);
+      }
+    };
+
+    namespace = new Namespace();
+    namespace.put(Actor.class, data.getPlayers().get(0));
+  }
+
+  @Benchmark
+  public List<String> suggestions() {
+    return provider.getSuggestions(prefix, namespace);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit;
+
+import com.flowpowered.math.vector.Vector3i;
+
+import io.github.mywarp.mywarp.bukkit.util.AbstractListener;
+import io.github.mywarp.mywarp.util.teleport.ValidPositionCache;
+
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.List;
+
+/**
+ * Notifies a {@link ValidPositionCache} about changed blocks.
+ *
+ * <p>Block physics are reported very frequently, so all handlers only look up the chunk of the changed block in the
+ * cache's index unless a cached position depends on it.</p>
+ */
+class BlockChangeListener extends AbstractListener {
+
+  private final ValidPositionCache positionCache;
+
+  /**
+   * Creates an instance that notifies the given {@code positionCache}.
+   *
+   * @param positionCache the cache to notify
+   */
+  BlockChangeListener(ValidPositionCache positionCache) {
+    this.positionCache = positionCache;
+  }
+
+  /**
+   * Called when a block is placed.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockPlace(BlockPlaceEvent event) {
+    invalidate(event.getBlock());
+  }
+
+  /**
+   * Called when a block is broken.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockBreak(BlockBreakEvent event) {
+    invalidate(event.getBlock());
+  }
+
+  /**
+   * Called when a block is updated by physics.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockPhysics(BlockPhysicsEvent event) {
+    invalidate(event.getBlock());
+  }
+
+  /**
+   * Called when a liquid flows into a block.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockFromTo(BlockFromToEvent event) {
+    invalidate(event.getToBlock());
+  }
+
+  /**
+   * Called when an entity explodes.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityExplode(EntityExplodeEvent event) {
+    invalidate(event.blockList());
+  }
+
+  /**
+   * Called when a block explodes.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockExplode(BlockExplodeEvent event) {
+    invalidate(event.blockList());
+  }
+
+  /**
+   * Called when a world is unloaded.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onWorldUnload(WorldUnloadEvent event) {
+    positionCache.invalidateAll(event.getWorld().getUID());
+  }
+
+  private void invalidate(List<Block> blocks) {
+    blocks.forEach(this::invalidate);
+  }
+
+  private void invalidate(Block block) {
+    positionCache.invalidate(block.getWorld().getUID(), new Vector3i(block.getX(), block.getY(), block.getZ()));
+  }
+}
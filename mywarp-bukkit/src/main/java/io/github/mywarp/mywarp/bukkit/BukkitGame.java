@@ -104,11 +104,6 @@ public class BukkitGame implements Game {
 
   @Override
   public ImmutableSet<LocalPlayer> getPlayers() {
-    ImmutableSet.Builder<LocalPlayer> builder = ImmutableSet.builder();
-
-    for (Player player : Bukkit.getOnlinePlayers()) {
-      builder.add(plugin.wrap(player));
-    }
-    return builder.build();
+    return plugin.getPlayerRegistry().getOnlinePlayers();
   }
 }
@@ -25,6 +25,7 @@ import com.google.common.collect.MutableClassToInstanceMap;
 import io.github.mywarp.mywarp.bukkit.settings.BukkitSettings;
 import io.github.mywarp.mywarp.bukkit.settings.DurationBundle;
 import io.github.mywarp.mywarp.bukkit.settings.FeeBundle;
+import io.github.mywarp.mywarp.bukkit.util.BukkitTimerHandler;
 import io.github.mywarp.mywarp.bukkit.util.permission.BundleProvider;
 import io.github.mywarp.mywarp.platform.Platform;
 import io.github.mywarp.mywarp.platform.capability.EconomyCapability;
@@ -32,6 +33,7 @@ import io.github.mywarp.mywarp.platform.capability.LimitCapability;
 import io.github.mywarp.mywarp.platform.capability.PositionValidationCapability;
 import io.github.mywarp.mywarp.platform.capability.TimerCapability;
 import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.warp.Warp;
 import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
 import io.github.mywarp.mywarp.warp.storage.RelationalDataService;
 
@@ -43,6 +45,7 @@ import org.bukkit.plugin.RegisteredServiceProvider;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -58,6 +61,8 @@ public class BukkitPlatform implements Platform {
   private final BukkitSettings settings;
   private final BukkitGame game;
   private final SquirrelIdPlayerNameResolver profileCache;
+  // outlives reloads, so that timers started before a reload still run and can be aborted
+  private final BukkitTimerHandler timerHandler;
 
   private final ClassToInstanceMap<Object> registeredCapabilities = MutableClassToInstanceMap.create();
 
@@ -69,6 +74,9 @@ public class BukkitPlatform implements Platform {
     this.settings = new BukkitSettings(new File(dataFolder, "config.yml"), defaultConfig);
     this.game = new BukkitGame(plugin, new BukkitExecutor(plugin));
     this.profileCache = new SquirrelIdPlayerNameResolver(new File(dataFolder, "profiles.db"));
+    plugin.registerClosable(profileCache);
+    this.timerHandler = new BukkitTimerHandler(plugin);
+    this.timerHandler.registerEvents(plugin);
   }
 
   @Override
@@ -138,7 +146,7 @@ public class BukkitPlatform implements Platform {
           durationProvider = new BundleProvider<>(settings.getTimersConfiguredDurationBundles(), settings
 
               .getTimersDefaultDurationBundle());
-      TimerCapability timerCapability = new BukkitTimerCapability(plugin, durationProvider, settings);
+      TimerCapability timerCapability = new BukkitTimerCapability(plugin, timerHandler, durationProvider, settings);
       registeredCapabilities.putInstance(TimerCapability.class, timerCapability);
       registered = (C) timerCapability;
 
@@ -148,7 +156,7 @@ public class BukkitPlatform implements Platform {
     if (capabilityClass.isAssignableFrom(PositionValidationCapability.class) && settings.isSafetyEnabled()) {
       PositionValidationCapability
           positionValidationCapability =
-          new CubicSafetyValidationCapability(settings.getSafetySearchRadius());
+          new CubicSafetyValidationCapability(settings.getSafetySearchRadius(), plugin);
       registeredCapabilities.putInstance(PositionValidationCapability.class, positionValidationCapability);
       registered = (C) positionValidationCapability;
     }
@@ -158,7 +166,7 @@ public class BukkitPlatform implements Platform {
 
   @Override
   public RelationalDataService createDataService(ConnectionConfiguration configuration) {
-    RelationalDataService ret = new SingleConnectionDataService(configuration);
+    RelationalDataService ret = new PooledDataService(configuration, settings.getStorageMaxConnections());
 
     //add weak reference so it can be closed on shutdown if not done by the caller
     plugin.registerClosable(ret);
@@ -170,16 +178,28 @@ public class BukkitPlatform implements Platform {
   public void onCoreReload() {
     // cleanup old stuff
     plugin.unregister();
-    registeredCapabilities.clear();
+    closeCapabilities();
 
     // load new stuff
     settings.reload();
+    timerHandler.registerEvents(plugin);
     plugin.notifyCoreInitialized();
   }
 
+  /**
+   * Closes and discards all registered capabilities. Capabilities are created again when they are requested.
+   */
+  void closeCapabilities() {
+    TimerCapability timerCapability = registeredCapabilities.getInstance(TimerCapability.class);
+    if (timerCapability instanceof BukkitTimerCapability) {
+      ((BukkitTimerCapability) timerCapability).close();
+    }
+    registeredCapabilities.clear();
+  }
+
   @Override
-  public void onWarpsLoaded() {
-    plugin.notifyWarpAvailability();
+  public void onWarpsLoaded(Collection<Warp> warps) {
+    plugin.notifyWarpAvailability(warps);
   }
 
 }
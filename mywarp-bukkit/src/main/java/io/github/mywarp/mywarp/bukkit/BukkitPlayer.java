@@ -42,18 +42,29 @@ import org.slf4j.Logger;
 
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 /**
  * A reference to a Player in Bukkit.
+ *
+ * <p>The player's Locale is cached and resolved again every 30 seconds, or when it is invalidated because the player
+ * changed it.</p>
  */
 public class BukkitPlayer extends BukkitActor implements LocalPlayer {
 
   private static final Logger log = MyWarpLogger.getLogger(BukkitPlayer.class);
+  private static final long LOCALE_RECHECK_INTERVAL = TimeUnit.SECONDS.toNanos(30);
 
   private final AcceptancePromptFactory acceptancePromptFactory;
   private final WelcomeEditorFactory welcomeEditorFactory;
   private final GroupResolver groupResolver;
 
+  @Nullable
+  private volatile Locale resolvedLocale;
+  private volatile long localeRecheck;
+
   /**
    * Creates an instance that references the given {@code player}.
    *
@@ -81,19 +92,43 @@ public class BukkitPlayer extends BukkitActor implements LocalPlayer {
     return getWrapped().getUniqueId();
   }
 
+  @Override
+  public boolean isValid() {
+    return getWrapped().isOnline();
+  }
+
   @Override
   public Locale getLocale() {
+    if (!settings.isLocalizationPerPlayer()) {
+      return super.getLocale();
+    }
+    long now = System.nanoTime();
+    Locale locale = resolvedLocale;
+    if (locale == null || now - localeRecheck >= 0) {
+      locale = resolveLocale();
+      localeRecheck = now + LOCALE_RECHECK_INTERVAL;
+      resolvedLocale = locale;
+    }
+    return locale;
+  }
+
+  private Locale resolveLocale() {
     Locale locale = super.getLocale();
-    if (settings.isLocalizationPerPlayer()) {
-      try {
-        locale = ReflectiveLocaleResolver.INSTANCE.resolve(getWrapped());
-      } catch (ReflectiveLocaleResolver.UnresolvableLocaleException e) {
-        log.warn(String.format("Failed to resolve the Locale for %s, defaulting to %s.", getName(), locale), e);
-      }
+    try {
+      locale = ReflectiveLocaleResolver.INSTANCE.resolve(getWrapped());
+    } catch (ReflectiveLocaleResolver.UnresolvableLocaleException e) {
+      log.warn(String.format("Failed to resolve the Locale for %s, defaulting to %s.", getName(), locale), e);
     }
     return locale;
   }
 
+  /**
+   * Discards the cached Locale of this player, so that it is resolved again when requested the next time.
+   */
+  void invalidateLocale() {
+    resolvedLocale = null;
+  }
+
   @Override
   public void initiateAcceptanceConversation(Actor initiator, Warp warp) {
     acceptancePromptFactory.create(this, warp, initiator);
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit;
+
+import com.google.common.collect.ImmutableSet;
+
+import io.github.mywarp.mywarp.bukkit.util.AbstractListener;
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds a single {@link BukkitPlayer} for every online player.
+ *
+ * <p>Wrappers are created when a player joins and discarded when the player quits, so the same wrapper is returned
+ * for the whole session of a player. Wrappers may therefore memorize data that does not change within a session.</p>
+ *
+ * <p>Quitting players are still online until the PlayerQuitEvent has been handled. Until the next tick, they are
+ * neither stored again nor included in the online players.</p>
+ *
+ * <p>This class must be registered as a Listener to track joining and quitting players.</p>
+ */
+class BukkitPlayerRegistry extends AbstractListener {
+
+  private final Plugin plugin;
+  private final Function<Player, BukkitPlayer> factory;
+  private final ConcurrentMap<UUID, BukkitPlayer> players = new ConcurrentHashMap<UUID, BukkitPlayer>();
+  private final Set<UUID> quitting = ConcurrentHashMap.newKeySet();
+
+  @Nullable
+  private volatile ImmutableSet<LocalPlayer> onlinePlayers;
+
+  /**
+   * Creates an instance that uses the given {@code factory} to create wrappers.
+   *
+   * @param plugin  the plugin that schedules tasks of this registry
+   * @param factory creates a new wrapper for a player
+   */
+  BukkitPlayerRegistry(Plugin plugin, Function<Player, BukkitPlayer> factory) {
+    this.plugin = plugin;
+    this.factory = factory;
+  }
+
+  /**
+   * Gets the wrapper of the given {@code player}.
+   *
+   * <p>If the registry does not yet contain a wrapper for the player's current session, e.g. because the player was
+   * already online when the registry was created, a wrapper is created. It is only stored if the player is
+   * online and not quitting.</p>
+   *
+   * @param player the player
+   * @return the wrapper
+   */
+  BukkitPlayer get(Player player) {
+    BukkitPlayer wrapper = players.get(player.getUniqueId());
+    if (wrapper != null && wrapper.getWrapped() == player) {
+      return wrapper;
+    }
+    wrapper = factory.apply(player);
+    if (player.isOnline() && !quitting.contains(player.getUniqueId())) {
+      players.put(player.getUniqueId(), wrapper);
+      onlinePlayers = null;
+    }
+    return wrapper;
+  }
+
+  /**
+   * Gets the wrappers of all online players.
+   *
+   * <p>The returned set is only recreated if players joined or quit since it was last requested. Quitting players are
+   * not included.</p>
+   *
+   * @return an ImmutableSet with all online players
+   */
+  ImmutableSet<LocalPlayer> getOnlinePlayers() {
+    ImmutableSet<LocalPlayer> ret = onlinePlayers;
+    if (ret == null) {
+      ImmutableSet.Builder<LocalPlayer> builder = ImmutableSet.builder();
+      for (Player player : Bukkit.getOnlinePlayers()) {
+        if (!quitting.contains(player.getUniqueId())) {
+          builder.add(get(player));
+        }
+      }
+      ret = builder.build();
+      // quitting players are still online, so the set must be recreated once they are gone
+      if (quitting.isEmpty()) {
+        onlinePlayers = ret;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Gets the number of wrappers held by this registry.
+   *
+   * @return the number of wrappers
+   */
+  int size() {
+    return players.size();
+  }
+
+  /**
+   * Called when a player joins the server.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.LOWEST)
+  public void onPlayerJoin(PlayerJoinEvent event) {
+    Player player = event.getPlayer();
+    quitting.remove(player.getUniqueId());
+    players.put(player.getUniqueId(), factory.apply(player));
+    onlinePlayers = null;
+  }
+
+  /**
+   * Called when a player quits the server.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    UUID uniqueId = event.getPlayer().getUniqueId();
+    // handlers that run after this one might still wrap the player
+    quitting.add(uniqueId);
+    players.remove(uniqueId);
+    onlinePlayers = null;
+
+    Bukkit.getScheduler().runTask(plugin, () -> {
+      quitting.remove(uniqueId);
+      onlinePlayers = null;
+    });
+  }
+}
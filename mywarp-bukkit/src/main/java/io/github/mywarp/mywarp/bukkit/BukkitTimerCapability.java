@@ -19,26 +19,41 @@
 
 package io.github.mywarp.mywarp.bukkit;
 
+import com.flowpowered.math.vector.Vector3d;
+
 import io.github.mywarp.mywarp.bukkit.settings.BukkitSettings;
 import io.github.mywarp.mywarp.bukkit.settings.DurationBundle;
 import io.github.mywarp.mywarp.bukkit.util.BukkitTimerHandler;
+import io.github.mywarp.mywarp.bukkit.util.ChunkPreloader;
 import io.github.mywarp.mywarp.bukkit.util.permission.BundleProvider;
 import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.platform.capability.TimerCapability;
 import io.github.mywarp.mywarp.service.teleport.timer.Duration;
 import io.github.mywarp.mywarp.service.teleport.timer.TimerAction;
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Timer compatibility for the Bukkit platform.
  */
 public class BukkitTimerCapability implements TimerCapability {
 
+  private static final Logger log = MyWarpLogger.getLogger(BukkitTimerCapability.class);
+
   private final BukkitTimerHandler timerHandler;
+  private final ChunkPreloader chunkPreloader;
   private final BundleProvider<DurationBundle> durationProvider;
   private final BukkitSettings settings;
 
-  BukkitTimerCapability(MyWarpPlugin plugin, BundleProvider<DurationBundle> durationProvider, BukkitSettings settings) {
-    this.timerHandler = new BukkitTimerHandler(plugin);
+  BukkitTimerCapability(MyWarpPlugin plugin, BukkitTimerHandler timerHandler,
+                        BundleProvider<DurationBundle> durationProvider, BukkitSettings settings) {
+    this.timerHandler = timerHandler;
+    this.chunkPreloader = new ChunkPreloader(plugin);
+    this.chunkPreloader.registerEvents(plugin);
     this.durationProvider = durationProvider;
     this.settings = settings;
   }
@@ -77,4 +92,28 @@ public class BukkitTimerCapability implements TimerCapability {
   public boolean notifyOnWarmupStart() {
     return settings.isTimersWarmupNotifyOnStart();
   }
+
+  @Override
+  public ChunkTicket preloadChunks(LocalWorld world, Vector3d position) {
+    return chunkPreloader.preload(BukkitAdapter.adapt(world), position.getFloorX(), position.getFloorZ());
+  }
+
+  /**
+   * Releases all chunks held for warmups and stops preloading. Running timers are not affected.
+   */
+  void close() {
+    chunkPreloader.releaseAll();
+    log.debug("{} of {} warmup destinations were preloaded completely, {} chunks were loaded in {} ms.",
+              chunkPreloader.getSuccessCount(), chunkPreloader.getRequestCount(),
+              chunkPreloader.getLoadedChunkCount(), TimeUnit.NANOSECONDS.toMillis(chunkPreloader.getLoadNanos()));
+  }
+
+  /**
+   * Gets the ChunkPreloader that preloads the destinations of warmups, e.g. to read its metrics.
+   *
+   * @return the chunkPreloader
+   */
+  public ChunkPreloader getChunkPreloader() {
+    return chunkPreloader;
+  }
 }
@@ -22,37 +22,73 @@ package io.github.mywarp.mywarp.bukkit;
 import static io.github.mywarp.mywarp.bukkit.MyWarpPlugin.getMaterial;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
 
 import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.platform.capability.PositionValidationCapability;
 
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Searches for positions that are safe for a normal entity within a cube surrounding a given center position.
+ *
+ * <p>When searching asynchronously, {@link ChunkSnapshot}s of all chunks that intersect the cube are taken on the
+ * server's main thread and the search itself runs on one of Bukkit's asynchronous worker threads.</p>
  */
 public class CubicSafetyValidationCapability implements PositionValidationCapability {
 
-  private int searchRadius;
+  private final int searchRadius;
+  private final Executor asyncExecutor;
 
   /**
    * Creates an instance that searches for safe positions within the given radius.
    *
    * @param searchRadius the radius within safe positions are searched
+   * @param plugin       the plugin that runs asynchronous searches
    */
-  CubicSafetyValidationCapability(int searchRadius) {
+  CubicSafetyValidationCapability(int searchRadius, Plugin plugin) {
     this.searchRadius = searchRadius;
+    this.asyncExecutor = runnable -> Bukkit.getScheduler().runTaskAsynchronously(plugin, runnable);
   }
 
   @Override
   public Optional<Vector3d> getValidPosition(Vector3d originalPosition, LocalWorld world) {
-    if (isSafe(world, originalPosition)) {
+    return getValidPosition(originalPosition, position -> getMaterial(world, position));
+  }
+
+  @Override
+  public CompletableFuture<Optional<Vector3d>> getValidPositionAsync(Vector3d originalPosition, LocalWorld world) {
+    // the original position is usually safe and checking it is cheap
+    if (isSafe(position -> getMaterial(world, position), originalPosition)) {
+      return CompletableFuture.completedFuture(Optional.of(originalPosition));
+    }
+    SnapshotMaterials snapshots =
+        new SnapshotMaterials(BukkitAdapter.adapt(world), originalPosition.toInt(), searchRadius + 1);
+    return CompletableFuture.supplyAsync(() -> getValidPosition(originalPosition, snapshots), asyncExecutor);
+  }
+
+  @Override
+  public int getInspectionRadius() {
+    // safe positions are at most searchRadius blocks away and depend on the blocks above and below
+    return searchRadius + 1;
+  }
+
+  private Optional<Vector3d> getValidPosition(Vector3d originalPosition, BlockMaterials blocks) {
+    if (isSafe(blocks, originalPosition)) {
       return Optional.of(originalPosition);
     }
     Optional<Vector3d> safePosition; // never modify the given location!
 
     for (int i = 2; i <= searchRadius; i++) {
-      safePosition = checkCubeSurface(world, originalPosition, i);
+      safePosition = checkCubeSurface(blocks, originalPosition, i);
       if (safePosition.isPresent()) {
         return safePosition;
       }
@@ -64,12 +100,12 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
    * Gets an Optional containing the first safe position from the cube surface of the given half-edge-length centered at
    * the given position in the given world, if such a position exits.
    *
-   * @param world          the world where the position is placed it
+   * @param blocks         the materials of the blocks in the world where the position is placed in
    * @param center         the central position vector
    * @param halfEdgeLength half of the effective edge length, including the block in the center
    * @return the first safe location found, or {@code Optional#absent()} if none could be found
    */
-  private Optional<Vector3d> checkCubeSurface(LocalWorld world, Vector3d center, int halfEdgeLength) {
+  private Optional<Vector3d> checkCubeSurface(BlockMaterials blocks, Vector3d center, int halfEdgeLength) {
     Optional<Vector3d> safePosition;
 
     int diameter = getEdgeLength(halfEdgeLength);
@@ -79,10 +115,10 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
       if (i < diameter - 2) {
         // if we are more than 2 steps away from the ending, we are in
         // the "middle" of the cube and only need to check the outline
-        safePosition = checkHorizontalSquareOutline(world, center, halfEdgeLength);
+        safePosition = checkHorizontalSquareOutline(blocks, center, halfEdgeLength);
       } else {
         // check bottom and top areas
-        safePosition = checkHorizontalSquare(world, center, halfEdgeLength);
+        safePosition = checkHorizontalSquare(blocks, center, halfEdgeLength);
       }
       if (safePosition.isPresent()) {
         return safePosition;
@@ -95,13 +131,13 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
    * Gets an Optional with the first safe position from a horizontal square with the given half-edge-length centered at
    * the given position in the given world, if such a position exits.
    *
-   * @param world          the world where the position is placed it
+   * @param blocks         the materials of the blocks in the world where the position is placed in
    * @param center         the central position vector
    * @param halfEdgeLength half of the effective edge length, including the block in the center
    * @return the first safe position, or {@code Optional#absent()} if none could be found
    */
-  private Optional<Vector3d> checkHorizontalSquare(LocalWorld world, Vector3d center, int halfEdgeLength) {
-    if (isSafe(world, center)) {
+  private Optional<Vector3d> checkHorizontalSquare(BlockMaterials blocks, Vector3d center, int halfEdgeLength) {
+    if (isSafe(blocks, center)) {
       return Optional.of(center);
     }
     Optional<Vector3d> checkPosition;
@@ -109,7 +145,7 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
     // loop through surrounding blocks, starting with a half-edge-length of
     // 2 (1 would just be the central block)
     for (int i = 2; i <= halfEdgeLength; i++) {
-      checkPosition = checkHorizontalSquareOutline(world, center, i);
+      checkPosition = checkHorizontalSquareOutline(blocks, center, i);
       if (checkPosition.isPresent()) {
         return checkPosition;
       }
@@ -121,38 +157,38 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
    * Gets an Optional with the first safe position from the outline of horizontal square with the given half-edge-length
    * centered at the given position in the given world, if such a position exits.
    *
-   * @param world          the world where the position is placed it
+   * @param blocks         the materials of the blocks in the world where the position is placed in
    * @param center         the central position vector
    * @param halfEdgeLength half of the effective edge length, including the block in the center
    * @return the first safe position, or {@code Optional#absent()} if none could be found
    */
-  private Optional<Vector3d> checkHorizontalSquareOutline(LocalWorld world, Vector3d center, int halfEdgeLength) {
+  private Optional<Vector3d> checkHorizontalSquareOutline(BlockMaterials blocks, Vector3d center, int halfEdgeLength) {
     int blockSteps = getEdgeLength(halfEdgeLength) - 1;
     Vector3d checkPosition = center.add(halfEdgeLength - 1, 0, halfEdgeLength - 1);
 
     for (int i = 0; i < blockSteps; i++) {
       checkPosition = checkPosition.add(-1, 0, 0);
-      if (isSafe(world, checkPosition)) {
+      if (isSafe(blocks, checkPosition)) {
         return Optional.of(checkPosition);
       }
     }
 
     for (int i = 0; i < blockSteps; i++) {
       checkPosition = checkPosition.add(0, 0, -1);
-      if (isSafe(world, checkPosition)) {
+      if (isSafe(blocks, checkPosition)) {
         return Optional.of(checkPosition);
       }
     }
 
     for (int i = 0; i < blockSteps; i++) {
       checkPosition = checkPosition.add(1, 0, 0);
-      if (isSafe(world, checkPosition)) {
+      if (isSafe(blocks, checkPosition)) {
         return Optional.of(checkPosition);
       }
     }
     for (int i = 0; i < blockSteps; i++) {
       checkPosition = checkPosition.add(0, 0, 1);
-      if (isSafe(world, checkPosition)) {
+      if (isSafe(blocks, checkPosition)) {
         return Optional.of(checkPosition);
       }
     }
@@ -160,21 +196,20 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
   }
 
   /**
-   * Returns whether the given {@code position} on the given {@code world} is safe for a regular entity to be teleported
-   * to.
+   * Returns whether the given {@code position} is safe for a regular entity to be teleported to.
    *
-   * @param world    the world to check
+   * @param blocks   the materials of the blocks in the world to check
    * @param position the position to check
    * @return {@code true} is the position is safe
    */
-  private boolean isSafe(LocalWorld world, Vector3d position) {
-    if (!MaterialInfo.canEntitySafelyStandWithin(getMaterial(world, position.add(0, 1, 0).toInt()))) {
+  private boolean isSafe(BlockMaterials blocks, Vector3d position) {
+    if (!MaterialInfo.canEntitySafelyStandWithin(blocks.getMaterial(position.add(0, 1, 0).toInt()))) {
       return false;
     }
-    if (!MaterialInfo.canEntitySafelyStandWithin(getMaterial(world, position.toInt()))) {
+    if (!MaterialInfo.canEntitySafelyStandWithin(blocks.getMaterial(position.toInt()))) {
       return false;
     }
-    return MaterialInfo.canEntitySafelyStandOn(getMaterial(world, position.sub(0, 1, 0).toInt()));
+    return MaterialInfo.canEntitySafelyStandOn(blocks.getMaterial(position.sub(0, 1, 0).toInt()));
   }
 
   /**
@@ -188,4 +223,71 @@ public class CubicSafetyValidationCapability implements PositionValidationCapabi
     return (halfEdgeLength - 1) * 2 + 1;
   }
 
+  /**
+   * Provides the Materials of blocks.
+   */
+  private interface BlockMaterials {
+
+    /**
+     * Gets the Material of the block at the given position.
+     *
+     * @param position the position
+     * @return the Material of the block at the position
+     */
+    Material getMaterial(Vector3i position);
+  }
+
+  /**
+   * Provides the Materials of blocks from ChunkSnapshots of all chunks within a square around a center position.
+   *
+   * <p>Instances must be created on the server's main thread, but can be used from any thread. Blocks outside the
+   * square or outside of the world's height are treated as air.</p>
+   */
+  private static class SnapshotMaterials implements BlockMaterials {
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int width;
+    private final int depth;
+    private final int maxHeight;
+    private final ChunkSnapshot[] snapshots;
+
+    /**
+     * Creates an instance with snapshots of all chunks of the given world that intersect the square with the given
+     * half-edge-length centered at the given position.
+     *
+     * @param world          the world
+     * @param center         the central position
+     * @param halfEdgeLength half of the edge length of the square
+     */
+    private SnapshotMaterials(World world, Vector3i center, int halfEdgeLength) {
+      minChunkX = (center.getX() - halfEdgeLength) >> 4;
+      minChunkZ = (center.getZ() - halfEdgeLength) >> 4;
+      width = ((center.getX() + halfEdgeLength) >> 4) - minChunkX + 1;
+      depth = ((center.getZ() + halfEdgeLength) >> 4) - minChunkZ + 1;
+      maxHeight = world.getMaxHeight();
+
+      snapshots = new ChunkSnapshot[width * depth];
+      for (int x = 0; x < width; x++) {
+        for (int z = 0; z < depth; z++) {
+          snapshots[x + z * width] =
+              world.getChunkAt(minChunkX + x, minChunkZ + z).getChunkSnapshot(false, false, false);
+        }
+      }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Material getMaterial(Vector3i position) {
+      int x = (position.getX() >> 4) - minChunkX;
+      int z = (position.getZ() >> 4) - minChunkZ;
+      if (x < 0 || x >= width || z < 0 || z >= depth || position.getY() < 0 || position.getY() >= maxHeight) {
+        return Material.AIR;
+      }
+      ChunkSnapshot snapshot = snapshots[x + z * width];
+      Material material =
+          Material.getMaterial(snapshot.getBlockTypeId(position.getX() & 15, position.getY(), position.getZ() & 15));
+      return material != null ? material : Material.AIR;
+    }
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit;
+
+import io.github.mywarp.mywarp.bukkit.util.AbstractListener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+
+/**
+ * Invalidates the cached Locale of a player whenever the player changes the locale, when running on 1.12 and newer.
+ */
+class LocaleChangeListener extends AbstractListener {
+
+  private final BukkitPlayerRegistry playerRegistry;
+
+  private LocaleChangeListener(BukkitPlayerRegistry playerRegistry) {
+    this.playerRegistry = playerRegistry;
+  }
+
+  /**
+   * Creates a new instance that invalidates the Locales of the wrappers held by the given {@code playerRegistry}.
+   *
+   * @param playerRegistry the registry that holds the wrappers
+   * @return a new instance
+   * @throws ClassNotFoundException if the running Bukkit version does not fire locale change events
+   */
+  static LocaleChangeListener create(BukkitPlayerRegistry playerRegistry) throws ClassNotFoundException {
+    // this will throw an ClassNotFoundException on anything lower than 1.12
+    // because 'org.bukkit.event.player.PlayerLocaleChangeEvent' does not exist before 1.12
+    Class.forName("org.bukkit.event.player.PlayerLocaleChangeEvent");
+    return new LocaleChangeListener(playerRegistry);
+  }
+
+  /**
+   * Called when a player changes the locale.
+   *
+   * <p>The event is fired before the new locale is applied to the player, so the cached Locale is only invalidated
+   * and resolved again once it is requested.</p>
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerLocaleChange(PlayerLocaleChangeEvent event) {
+    playerRegistry.get(event.getPlayer()).invalidateLocale();
+  }
+}
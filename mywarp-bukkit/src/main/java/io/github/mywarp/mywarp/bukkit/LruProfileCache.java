@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sk89q.squirrelid.Profile;
+import com.sk89q.squirrelid.cache.ProfileCache;
+
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * A ProfileCache that keeps the most recently used profiles in memory in front of another, persistent ProfileCache.
+ *
+ * <p>Lookups are answered from memory if possible and only fall back to the persistent cache for unknown unique
+ * identifiers. Unique identifiers that are unknown to the persistent cache are remembered as well, until a profile is
+ * put for them. The least recently used entries are evicted once the configured maximum size is reached.</p>
+ *
+ * <p>Profiles are put into memory immediately and written to the persistent cache asynchronously by a single thread,
+ * so writes never block the calling thread. The same thread preloads profiles. {@link #close()} must be called to
+ * write outstanding profiles.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+class LruProfileCache implements ProfileCache, Closeable {
+
+  private static final Logger log = MyWarpLogger.getLogger(LruProfileCache.class);
+
+  private final ProfileCache delegate;
+  private final Map<UUID, Optional<Profile>> entries;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("mywarp-profile-cache-%d").build());
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Creates an instance that holds up to the given number of entries in front of the given {@code delegate}.
+   *
+   * @param delegate the persistent ProfileCache
+   * @param maxSize  the maximum number of entries held in memory
+   */
+  LruProfileCache(ProfileCache delegate, int maxSize) {
+    this.delegate = delegate;
+    this.entries = new LinkedHashMap<UUID, Optional<Profile>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<UUID, Optional<Profile>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  public void put(Profile profile) {
+    synchronized (entries) {
+      entries.put(profile.getUniqueId(), Optional.of(profile));
+    }
+    runAsync(() -> delegate.put(profile));
+  }
+
+  @Override
+  public void putAll(Iterable<Profile> profiles) {
+    ImmutableList<Profile> copy = ImmutableList.copyOf(profiles);
+    synchronized (entries) {
+      for (Profile profile : copy) {
+        entries.put(profile.getUniqueId(), Optional.of(profile));
+      }
+    }
+    runAsync(() -> delegate.putAll(copy));
+  }
+
+  @Nullable
+  @Override
+  public Profile getIfPresent(UUID uniqueId) {
+    Optional<Profile> entry;
+    synchronized (entries) {
+      entry = entries.get(uniqueId);
+    }
+    if (entry != null) {
+      hits.incrementAndGet();
+      return entry.orElse(null);
+    }
+    misses.incrementAndGet();
+
+    Profile profile = delegate.getIfPresent(uniqueId);
+    synchronized (entries) {
+      // a profile might have been put in the meantime
+      if (!entries.containsKey(uniqueId)) {
+        entries.put(uniqueId, Optional.ofNullable(profile));
+      }
+    }
+    return profile;
+  }
+
+  @Override
+  public ImmutableMap<UUID, Profile> getAllPresent(Iterable<UUID> uniqueIds) {
+    Map<UUID, Profile> ret = new LinkedHashMap<UUID, Profile>();
+    Set<UUID> missing = new LinkedHashSet<UUID>();
+
+    synchronized (entries) {
+      for (UUID uniqueId : uniqueIds) {
+        if (ret.containsKey(uniqueId) || missing.contains(uniqueId)) {
+          continue;
+        }
+        Optional<Profile> entry = entries.get(uniqueId);
+        if (entry == null) {
+          missing.add(uniqueId);
+        } else {
+          entry.ifPresent(profile -> ret.put(uniqueId, profile));
+        }
+      }
+    }
+    hits.addAndGet(ret.size());
+    if (missing.isEmpty()) {
+      return ImmutableMap.copyOf(ret);
+    }
+    misses.addAndGet(missing.size());
+
+    ImmutableMap<UUID, Profile> loaded = delegate.getAllPresent(missing);
+    synchronized (entries) {
+      for (UUID uniqueId : missing) {
+        if (!entries.containsKey(uniqueId)) {
+          entries.put(uniqueId, Optional.ofNullable(loaded.get(uniqueId)));
+        }
+      }
+    }
+    ret.putAll(loaded);
+    return ImmutableMap.copyOf(ret);
+  }
+
+  /**
+   * Loads the profiles of all given unique identifiers that are not yet held in memory from the persistent cache.
+   * Loading happens asynchronously and does not count towards the hits or misses of this cache.
+   *
+   * @param uniqueIds the unique identifiers
+   */
+  void preload(Iterable<UUID> uniqueIds) {
+    List<UUID> missing = new ArrayList<UUID>();
+    synchronized (entries) {
+      for (UUID uniqueId : uniqueIds) {
+        if (!entries.containsKey(uniqueId)) {
+          missing.add(uniqueId);
+        }
+      }
+    }
+    if (missing.isEmpty()) {
+      return;
+    }
+    runAsync(() -> {
+      ImmutableMap<UUID, Profile> loaded = delegate.getAllPresent(missing);
+      synchronized (entries) {
+        for (UUID uniqueId : missing) {
+          if (!entries.containsKey(uniqueId)) {
+            entries.put(uniqueId, Optional.ofNullable(loaded.get(uniqueId)));
+          }
+        }
+      }
+      log.debug("Preloaded {} of {} requested profiles.", loaded.size(), missing.size());
+    });
+  }
+
+  /**
+   * Writes all outstanding profiles to the persistent cache, blocking until either all profiles are written or 10
+   * seconds have passed or the thread is interrupted.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+        List<Runnable> droppedTasks = executor.shutdownNow();
+        log.warn("Profile cache did not terminate within 10 seconds, {} writes are dropped.", droppedTasks.size());
+      }
+    } catch (InterruptedException e) {
+      log.error("Failed to write outstanding profiles as the process was interrupted.", e);
+    }
+    log.debug("Profiles were answered from memory {} times and loaded from the persistent cache {} times.",
+              hits.get(), misses.get());
+  }
+
+  private void runAsync(Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // the cache is closed, so the calling thread runs the task directly
+      task.run();
+    }
+  }
+}
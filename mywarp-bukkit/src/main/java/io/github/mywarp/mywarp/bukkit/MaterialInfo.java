@@ -23,9 +23,26 @@ import org.bukkit.Material;
 
 /**
  * Provides information about Materials.
+ *
+ * <p>Whether entities can safely stand within or on a Material is evaluated once for every Material and stored in
+ * lookup tables indexed by the Material's ordinal, as these checks are run for thousands of blocks when searching for
+ * safe positions.</p>
  */
 class MaterialInfo {
 
+  private static final boolean[] SAFE_TO_STAND_WITHIN;
+  private static final boolean[] SAFE_TO_STAND_ON;
+
+  static {
+    Material[] materials = Material.values();
+    SAFE_TO_STAND_WITHIN = new boolean[materials.length];
+    SAFE_TO_STAND_ON = new boolean[materials.length];
+    for (Material material : materials) {
+      SAFE_TO_STAND_WITHIN[material.ordinal()] = isSafeToStandWithin(material);
+      SAFE_TO_STAND_ON[material.ordinal()] = isSafeToStandOn(material);
+    }
+  }
+
   private MaterialInfo() {
   }
 
@@ -112,6 +129,21 @@ class MaterialInfo {
    * @return {@code true} if an entity can safely stand within a block of the given material
    */
   static boolean canEntitySafelyStandWithin(Material material) {
+    return SAFE_TO_STAND_WITHIN[material.ordinal()];
+  }
+
+  /**
+   * Returns whether a regular entity (without any status effects) can stand <i>on</i> a block of the given material
+   * without taking any damage from doing so.
+   *
+   * @param material the material to check
+   * @return {@code true} if an entity can safely stand within a block of the given material
+   */
+  static boolean canEntitySafelyStandOn(Material material) {
+    return SAFE_TO_STAND_ON[material.ordinal()];
+  }
+
+  private static boolean isSafeToStandWithin(Material material) {
     switch (material) {
       // -- 1.7 (and before)
       case LAVA:
@@ -123,14 +155,7 @@ class MaterialInfo {
     }
   }
 
-  /**
-   * Returns whether a regular entity (without any status effects) can stand <i>on</i> a block of the given material
-   * without taking any damage from doing so.
-   *
-   * @param material the material to check
-   * @return {@code true} if an entity can safely stand within a block of the given material
-   */
-  static boolean canEntitySafelyStandOn(Material material) {
+  private static boolean isSafeToStandOn(Material material) {
     switch (material) {
       // FALSE
       // -- 1.7 (and before)
@@ -29,6 +29,7 @@ import io.github.mywarp.mywarp.bukkit.settings.BukkitSettings;
 import io.github.mywarp.mywarp.bukkit.util.conversation.AcceptancePromptFactory;
 import io.github.mywarp.mywarp.bukkit.util.conversation.WelcomeEditorFactory;
 import io.github.mywarp.mywarp.bukkit.util.permission.BukkitPermissionsRegistration;
+import io.github.mywarp.mywarp.bukkit.util.permission.group.CachingGroupResolver;
 import io.github.mywarp.mywarp.bukkit.util.permission.group.GroupResolver;
 import io.github.mywarp.mywarp.bukkit.util.permission.group.GroupResolverFactory;
 import io.github.mywarp.mywarp.platform.Actor;
@@ -61,6 +62,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -81,10 +83,14 @@ public final class MyWarpPlugin extends JavaPlugin {
   public static final String CONVERSATION_RESOURCE_BUNDLE_NAME = "io.github.mywarp.mywarp.lang.Conversations";
   public static final int CONVERSATION_TIMEOUT = 30;
 
+  private static final long POPULARITY_REFRESH_INTERVAL_TICKS = 20 * 60 * 10;
+  private static final long SNAPSHOT_INTERVAL_TICKS = 20 * 60 * 5;
+
   private static final Logger log = MyWarpLogger.getLogger(MyWarpPlugin.class);
 
   private final ResourceBundle.Control control = new FolderSourcedControl(new File(getDataFolder(), "lang"));
   private final Set<Closeable> closeables = Collections.newSetFromMap(new WeakHashMap<Closeable, Boolean>());
+  private final BukkitPlayerRegistry playerRegistry = new BukkitPlayerRegistry(this, this::createPlayer);
 
   private BukkitPlatform platform;
   private MyWarp myWarp;
@@ -94,6 +100,8 @@ public final class MyWarpPlugin extends JavaPlugin {
 
   @Nullable
   private DynmapMarker marker;
+  @Nullable
+  private CachingGroupResolver cachingGroupResolver;
 
   @Override
   public void onEnable() {
@@ -134,12 +142,28 @@ public final class MyWarpPlugin extends JavaPlugin {
                                     platform.getPlayerNameResolver(), this);
     welcomeEditorFactory = new WelcomeEditorFactory(createConversationFactory());
 
+    // popularity scores decrease over time, so they are refreshed periodically
+    Bukkit.getScheduler().runTaskTimer(this, () -> myWarp.getPopularityScores().refresh(),
+                                       POPULARITY_REFRESH_INTERVAL_TICKS, POPULARITY_REFRESH_INTERVAL_TICKS);
+
+    // warp snapshots are only written if warps have changed
+    Bukkit.getScheduler().runTaskTimer(this, () -> myWarp.snapshotWarps(), SNAPSHOT_INTERVAL_TICKS,
+                                       SNAPSHOT_INTERVAL_TICKS);
+
     notifyCoreInitialized();
   }
 
   @Override
   public void onDisable() {
     unregister();
+    if (platform != null) {
+      platform.closeCapabilities();
+    }
+
+    //write changes that are still queued before the storage is closed
+    if (myWarp != null) {
+      myWarp.shutdown();
+    }
 
     //close any registered Closables
     for (Closeable closeable : closeables) {
@@ -159,9 +183,27 @@ public final class MyWarpPlugin extends JavaPlugin {
     //register profile service listener
     getProfileCache().registerEvents(this);
 
+    //register listeners that track player sessions
+    playerRegistry.registerEvents(this);
+    try {
+      LocaleChangeListener.create(playerRegistry).registerEvents(this);
+    } catch (ClassNotFoundException e) {
+      log.debug("Locale changes are not reported by this server, cached Locales are rechecked periodically.");
+    }
+
+    //cache group memberships with the current settings
+    if (!getSettings().getGroupCacheDuration().isZero()) {
+      cachingGroupResolver = new CachingGroupResolver(groupResolver, getSettings().getGroupCacheDuration());
+      cachingGroupResolver.registerEvents(this);
+    }
+
+    //register listener that discards cached teleport positions
+    new BlockChangeListener(myWarp.getValidPositionCache()).registerEvents(this);
+
     //register warp sign listener
     if (getSettings().isWarpSignsEnabled()) {
-      new WarpSignListener(this, myWarp.createWarpSignHandler()).registerEvents(this);
+      WarpSignListener warpSignListener = new WarpSignListener(this, myWarp.createWarpSignHandler());
+      warpSignListener.registerEvents(this);
     }
 
     // register world access permissions
@@ -175,8 +217,13 @@ public final class MyWarpPlugin extends JavaPlugin {
   /**
    * Notifies the MyWarpPlugin instance about the availability of warps, so that it can execute additional callback (if
    * any).
+   *
+   * @param warps the loaded warps
    */
-  void notifyWarpAvailability() {
+  void notifyWarpAvailability(Collection<Warp> warps) {
+    //load the profiles of creators and invited players, so their names are resolved from memory
+    getProfileCache().preload(warps);
+
     if (getSettings().isDynmapEnabled()) {
         log.info("Dynmap Enabled");
         final MyWarpPlugin mywarp = this;
@@ -186,6 +233,11 @@ public final class MyWarpPlugin extends JavaPlugin {
                 Plugin dynmap = getServer().getPluginManager().getPlugin("dynmap");
                 if (dynmap != null && dynmap.isEnabled() && dynmap instanceof DynmapCommonAPI) {
                     log.info("Found Dynmap.");
+                    // warps might be loaded again, e.g. if the snapshot was outdated
+                    if (marker != null) {
+                        marker.clear();
+                        myWarp.getEventBus().unregister(marker);
+                    }
                     marker = new DynmapMarker((DynmapCommonAPI) dynmap, mywarp, platform, w -> w.isType(Warp.Type.PUBLIC));
                     marker.addMarker(myWarp.getWarpManager().getAll(warp -> true));
                     myWarp.getEventBus().register(marker);
@@ -247,14 +299,30 @@ public final class MyWarpPlugin extends JavaPlugin {
   }
 
   /**
-   * Creates a new LocalPlayer instance by wrapping the given Bukkit {@code player}.
+   * Gets the LocalPlayer instance that wraps the given Bukkit {@code player}.
+   *
+   * <p>Online players are wrapped by the same instance for their whole session.</p>
    *
    * @param player the Player to wrap
-   * @return a new LocalPlayer referencing the {@code player}
+   * @return a LocalPlayer referencing the {@code player}
    */
   public LocalPlayer wrap(Player player) {
-    return new BukkitPlayer(player, getAcceptancePromptFactory(), getWelcomeEditorFactory(), getGroupResolver(),
-                            getSettings());
+    return playerRegistry.get(player);
+  }
+
+  private BukkitPlayer createPlayer(Player player) {
+    //the GroupResolver is looked up for every check as the cache is replaced when the core is reloaded
+    return new BukkitPlayer(player, getAcceptancePromptFactory(), getWelcomeEditorFactory(),
+                            (wrapped, groupId) -> getGroupResolver().hasGroup(wrapped, groupId), getSettings());
+  }
+
+  /**
+   * Gets the registry that holds the wrappers of all online players.
+   *
+   * @return the player registry
+   */
+  BukkitPlayerRegistry getPlayerRegistry() {
+    return playerRegistry;
   }
 
   /**
@@ -264,7 +332,7 @@ public final class MyWarpPlugin extends JavaPlugin {
    */
   GroupResolver getGroupResolver() {
     checkState(groupResolver != null, "'groupResolver' is not yet initialized");
-    return groupResolver;
+    return cachingGroupResolver != null ? cachingGroupResolver : groupResolver;
   }
 
   /**
@@ -324,7 +392,8 @@ public final class MyWarpPlugin extends JavaPlugin {
   }
 
   /**
-   * Unregisters all permissions registered by MyWarp, all active event-listeners and all created markers (if any).
+   * Unregisters all permissions registered by MyWarp, all active event-listeners and all created markers (if any)
+   * and discards cached group memberships.
    */
   void unregister() {
     HandlerList.unregisterAll(this);
@@ -332,7 +401,13 @@ public final class MyWarpPlugin extends JavaPlugin {
     if (marker != null) {
       marker.clear();
     }
-    
+
+    if (cachingGroupResolver != null) {
+      log.debug("Group memberships were answered from the cache {} times and resolved {} times.",
+                cachingGroupResolver.getHitCount(), cachingGroupResolver.getMissCount());
+      cachingGroupResolver = null;
+    }
+
     BukkitPermissionsRegistration.INSTANCE.unregisterAll();
   }
 
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.mywarp.mywarp.bukkit;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.github.mywarp.mywarp.bukkit.util.jdbc.DataSourceFactory;
+import io.github.mywarp.mywarp.bukkit.util.jdbc.PooledDataSource;
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
+import io.github.mywarp.mywarp.warp.storage.RelationalDataService;
+
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+/**
+ * An {@link RelationalDataService} that uses a {@link PooledDataSource}.
+ *
+ * <p>Regular database calls are executed one after another by a single thread that can always obtain a connection.
+ * Long running calls are executed by up to {@code maxConnections - 1} threads with a lower priority, so they never
+ * delay regular calls. If the pool is limited to a single connection, both share the single thread.</p>
+ */
+public class PooledDataService implements RelationalDataService {
+
+  private static final Logger log = MyWarpLogger.getLogger(PooledDataService.class);
+
+  private final ConnectionConfiguration config;
+  private final int maxConnections;
+
+  @Nullable
+  private PooledDataSource dataSource;
+  @Nullable
+  private ListeningExecutorService executorService;
+  @Nullable
+  private ListeningExecutorService bulkExecutorService;
+
+  /**
+   * Creates an instance that uses the given {@code config} and holds up to {@code maxConnections} connections.
+   *
+   * @param config         the config
+   * @param maxConnections the maximum number of connections
+   */
+  PooledDataService(ConnectionConfiguration config, int maxConnections) {
+    this.config = config;
+    this.maxConnections = maxConnections;
+  }
+
+  @Override
+  public synchronized DataSource getDataSource() {
+    return getPooledDataSource();
+  }
+
+  private synchronized PooledDataSource getPooledDataSource() {
+    if (dataSource == null) {
+      dataSource = DataSourceFactory.createPooledDataSource(config, maxConnections);
+    }
+    return dataSource;
+  }
+
+  @Override
+  public synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService =
+          MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor(
+              new ThreadFactoryBuilder().setNameFormat("mywarp-database-%d").build()));
+    }
+    return executorService;
+  }
+
+  @Override
+  public synchronized ExecutorService getBulkExecutorService() {
+    int bulkThreads = getPooledDataSource().getMaxSize() - 1;
+    if (bulkThreads < 1) {
+      return getExecutorService();
+    }
+    if (bulkExecutorService == null) {
+      bulkExecutorService =
+          MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(bulkThreads, new ThreadFactoryBuilder()
+              .setNameFormat("mywarp-database-bulk-%d").setPriority(Thread.MIN_PRIORITY).build()));
+    }
+    return bulkExecutorService;
+  }
+
+  /**
+   * Initiates an shutdown that closes the {@code ExecutorService}s and the {@code DataSource}, blocking until either
+   * all remaining tasks are executed or 30 seconds have passed or the thread is interrupted.
+   */
+  @Override
+  public synchronized void close() {
+    if (bulkExecutorService != null) {
+      shutdown(bulkExecutorService);
+    }
+    if (executorService != null) {
+      shutdown(executorService);
+    }
+
+    if (dataSource != null) {
+      dataSource.close();
+    }
+  }
+
+  private void shutdown(ExecutorService executorService) {
+    executorService.shutdown();
+
+    try {
+      if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+        List<Runnable> droppedTasks = executorService.shutdownNow();
+        log.warn("SQL executor did not terminate within 30 seconds and is terminated. {} tasks will not be "
+                 + "executed, recent changes may be missing in the database.", droppedTasks.size());
+      }
+    } catch (InterruptedException e) {
+      log.error("Failed to terminate SQL executor as the process was interrupted.", e);
+    }
+  }
+}
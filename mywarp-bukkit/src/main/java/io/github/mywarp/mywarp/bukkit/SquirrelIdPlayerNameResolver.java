@@ -34,14 +34,18 @@ import com.sk89q.squirrelid.resolver.HttpRepositoryService;
 import io.github.mywarp.mywarp.bukkit.util.AbstractListener;
 import io.github.mywarp.mywarp.platform.PlayerNameResolver;
 import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.warp.Warp;
 
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.slf4j.Logger;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
@@ -49,13 +53,17 @@ import java.util.UUID;
 
 /**
  * A PlayerNameResolver implementation that uses the SquirrelID library to lookup UUIDs.
+ *
+ * <p>Profiles are cached in a SQLite database. The most recently used profiles are additionally held in memory by a
+ * {@link LruProfileCache}, so resolving names usually does not query the database.</p>
  */
-class SquirrelIdPlayerNameResolver extends AbstractListener implements PlayerNameResolver {
+class SquirrelIdPlayerNameResolver extends AbstractListener implements PlayerNameResolver, Closeable {
 
   private static final Logger log = MyWarpLogger.getLogger(SquirrelIdPlayerNameResolver.class);
+  private static final int MAX_PROFILES_IN_MEMORY = 4096;
 
   private final CacheForwardingService resolver;
-  private ProfileCache cache;
+  private final LruProfileCache cache;
 
   /**
    * Creates an instance, using the given file to store the SQLite cache.
@@ -63,12 +71,14 @@ class SquirrelIdPlayerNameResolver extends AbstractListener implements PlayerNam
    * @param cacheFile the cache file
    */
   SquirrelIdPlayerNameResolver(File cacheFile) {
+    ProfileCache persistentCache;
     try {
-      cache = new SQLiteCache(cacheFile);
+      persistentCache = new SQLiteCache(cacheFile);
     } catch (IOException e) {
       log.warn("Failed to access SQLite profile cache. Player names will be resolved from memory.", e);
-      cache = new HashMapCache();
+      persistentCache = new HashMapCache();
     }
+    cache = new LruProfileCache(persistentCache, MAX_PROFILES_IN_MEMORY);
     resolver =
         new CacheForwardingService(
             new CombinedProfileService(BukkitPlayerService.getInstance(), HttpRepositoryService.forMinecraft()), cache);
@@ -144,6 +154,29 @@ class SquirrelIdPlayerNameResolver extends AbstractListener implements PlayerNam
     return builder.build();
   }
 
+  /**
+   * Loads the profiles of the creators and all invited players of the given {@code warps} into memory. Profiles are
+   * loaded asynchronously.
+   *
+   * @param warps the warps
+   */
+  void preload(Collection<Warp> warps) {
+    Set<UUID> uniqueIds = new HashSet<UUID>();
+    for (Warp warp : warps) {
+      uniqueIds.add(warp.getCreator());
+      uniqueIds.addAll(warp.getInvitedPlayers());
+    }
+    cache.preload(uniqueIds);
+  }
+
+  /**
+   * Writes all profiles that are not yet stored to the persistent cache.
+   */
+  @Override
+  public void close() {
+    cache.close();
+  }
+
   /**
    * Called asynchronous when a player logs in.
    *
@@ -154,7 +187,7 @@ class SquirrelIdPlayerNameResolver extends AbstractListener implements PlayerNam
     if (!event.getLoginResult().equals(AsyncPlayerPreLoginEvent.Result.ALLOWED)) {
       return;
     }
-    //SquirrelID's cache is thread-safe
+    //the cache is thread-safe
     cache.put(new Profile(event.getUniqueId(), event.getName()));
   }
 }
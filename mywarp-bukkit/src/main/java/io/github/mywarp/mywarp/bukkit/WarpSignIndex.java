@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit;
+
+import com.flowpowered.math.vector.Vector3i;
+
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Indexes the positions of the signs in loaded chunks that have been checked, separated into warp signs and other
+ * signs.
+ *
+ * <p>Signs are indexed lazily: when they are created or changed or when {@link #getWarpSign(Block)} checks a sign
+ * that is not yet indexed, e.g. because its chunk was loaded from disk. Chunks are never scanned, as taking snapshots
+ * of all their tile entities is expensive. The positions indexed for a chunk are discarded when it is unloaded.</p>
+ *
+ * <p>This gives the following guarantees: Blocks that are not signs are identified by their type and never require a
+ * snapshot of their state. A sign that is no warp sign requires a single snapshot while its chunk is loaded, unless
+ * it is changed or broken. A warp sign requires a single snapshot per interaction, which is returned to the caller.</p>
+ *
+ * <p>Signs that are changed without notice, e.g. by an explosion or by another plugin, are not re-indexed until their
+ * chunk is unloaded, but an indexed warp sign is validated before it is returned.</p>
+ *
+ * <p>This class is not threadsafe and must only be used from the server's main thread.</p>
+ */
+class WarpSignIndex {
+
+  private final Positions warpSigns = new Positions();
+  private final Positions otherSigns = new Positions();
+  private final Predicate<Sign> isWarpSign;
+
+  /**
+   * Creates an instance that indexes all signs that fulfill the given predicate as warp signs.
+   *
+   * @param isWarpSign the predicate that identifies warp signs
+   */
+  WarpSignIndex(Predicate<Sign> isWarpSign) {
+    this.isWarpSign = isWarpSign;
+  }
+
+  /**
+   * Gets the warp sign represented by the given {@code block}. If the block is a sign that is not yet indexed, the
+   * sign is checked and indexed.
+   *
+   * @param block the block
+   * @return the warp sign or {@code null} if the block is no warp sign
+   */
+  @Nullable
+  Sign getWarpSign(Block block) {
+    World world = block.getWorld();
+    Vector3i position = new Vector3i(block.getX(), block.getY(), block.getZ());
+    if (otherSigns.contains(world, position)) {
+      return null;
+    }
+    boolean indexed = warpSigns.contains(world, position);
+
+    // checking the type does not take a snapshot of the block's state
+    if (block.getType() != Material.SIGN_POST && block.getType() != Material.WALL_SIGN) {
+      if (indexed) {
+        // the sign was destroyed without notice
+        warpSigns.remove(world, position);
+      }
+      return null;
+    }
+    BlockState state = block.getState();
+    if (!(state instanceof Sign)) {
+      return null;
+    }
+    Sign sign = (Sign) state;
+    if (indexed) {
+      return sign;
+    }
+    if (!isWarpSign.test(sign)) {
+      otherSigns.add(world, position);
+      return null;
+    }
+    warpSigns.add(world, position);
+    return sign;
+  }
+
+  /**
+   * Indexes the given {@code position} in the given {@code world} as a warp sign.
+   *
+   * @param world    the world
+   * @param position the position of the warp sign
+   */
+  void add(World world, Vector3i position) {
+    otherSigns.remove(world, position);
+    warpSigns.add(world, position);
+  }
+
+  /**
+   * Removes the given {@code position} in the given {@code world} from this index, so that a sign at this position is
+   * checked again.
+   *
+   * @param world    the world
+   * @param position the position
+   */
+  void remove(World world, Vector3i position) {
+    otherSigns.remove(world, position);
+    warpSigns.remove(world, position);
+  }
+
+  /**
+   * Discards all positions indexed for the given {@code chunk}.
+   *
+   * @param chunk the chunk
+   */
+  void discard(Chunk chunk) {
+    otherSigns.discard(chunk);
+    warpSigns.discard(chunk);
+  }
+
+  /**
+   * Discards all positions indexed for the given {@code world}.
+   *
+   * @param world the world
+   */
+  void discard(World world) {
+    otherSigns.discard(world);
+    warpSigns.discard(world);
+  }
+
+  /**
+   * Positions, grouped by world and chunk.
+   */
+  private static class Positions {
+
+    private final Map<UUID, Map<Long, Set<Vector3i>>> positions = new HashMap<UUID, Map<Long, Set<Vector3i>>>();
+
+    boolean contains(World world, Vector3i position) {
+      Map<Long, Set<Vector3i>> chunks = positions.get(world.getUID());
+      if (chunks == null) {
+        return false;
+      }
+      Set<Vector3i> chunkPositions = chunks.get(chunkKey(position));
+      return chunkPositions != null && chunkPositions.contains(position);
+    }
+
+    void add(World world, Vector3i position) {
+      positions.computeIfAbsent(world.getUID(), k -> new HashMap<Long, Set<Vector3i>>())
+          .computeIfAbsent(chunkKey(position), k -> new HashSet<Vector3i>()).add(position);
+    }
+
+    void remove(World world, Vector3i position) {
+      Map<Long, Set<Vector3i>> chunks = positions.get(world.getUID());
+      if (chunks == null) {
+        return;
+      }
+      Long chunkKey = chunkKey(position);
+      Set<Vector3i> chunkPositions = chunks.get(chunkKey);
+      if (chunkPositions != null && chunkPositions.remove(position) && chunkPositions.isEmpty()) {
+        chunks.remove(chunkKey);
+      }
+    }
+
+    void discard(Chunk chunk) {
+      Map<Long, Set<Vector3i>> chunks = positions.get(chunk.getWorld().getUID());
+      if (chunks != null) {
+        chunks.remove(chunkKey(chunk.getX(), chunk.getZ()));
+      }
+    }
+
+    void discard(World world) {
+      positions.remove(world.getUID());
+    }
+  }
+
+  private static long chunkKey(Vector3i position) {
+    return chunkKey(position.getX() >> 4, position.getZ() >> 4);
+  }
+
+  private static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+}
@@ -33,8 +33,11 @@ import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.SignChangeEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.material.Attachable;
 import org.bukkit.material.MaterialData;
 
@@ -42,6 +45,10 @@ import java.util.Optional;
 
 /**
  * Listens for events involving signs and feats them to a {@link WarpSignHandler}.
+ *
+ * <p>Checked signs are kept in a {@link WarpSignIndex}, so interactions are only handed to the WarpSignHandler if they
+ * might trigger a warp sign. Interactions that involve no sign never access the state of a block, interactions with a
+ * sign that is no warp sign only do so the first time the sign is checked while its chunk is loaded.</p>
  */
 class WarpSignListener extends AbstractListener {
 
@@ -54,6 +61,7 @@ class WarpSignListener extends AbstractListener {
 
   private final MyWarpPlugin plugin;
   private final WarpSignHandler warpSignHandler;
+  private final WarpSignIndex warpSignIndex;
 
   /**
    * Initializes this listener.
@@ -63,6 +71,7 @@ class WarpSignListener extends AbstractListener {
   WarpSignListener(MyWarpPlugin plugin, WarpSignHandler warpSignHandler) {
     this.plugin = plugin;
     this.warpSignHandler = warpSignHandler;
+    this.warpSignIndex = new WarpSignIndex(sign -> warpSignHandler.isWarpSign(new BukkitSign(sign)));
   }
 
   /**
@@ -77,13 +86,48 @@ class WarpSignListener extends AbstractListener {
         warpSignHandler.handleSignCreation(plugin.wrap(event.getPlayer()), new EventSign(event));
 
     if (!isValidWarpSign.isPresent()) {
+      // an existing warp sign might have been changed
+      warpSignIndex.remove(event.getBlock().getWorld(), toVector(event.getBlock()));
       return;
     }
 
     if (!isValidWarpSign.get()) {
+      warpSignIndex.remove(event.getBlock().getWorld(), toVector(event.getBlock()));
       event.getBlock().breakNaturally();
       event.setCancelled(true);
+      return;
     }
+    warpSignIndex.add(event.getBlock().getWorld(), toVector(event.getBlock()));
+  }
+
+  /**
+   * Called whenever a block is broken.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockBreak(BlockBreakEvent event) {
+    warpSignIndex.remove(event.getBlock().getWorld(), toVector(event.getBlock()));
+  }
+
+  /**
+   * Called whenever a chunk is unloaded.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onChunkUnload(ChunkUnloadEvent event) {
+    warpSignIndex.discard(event.getChunk());
+  }
+
+  /**
+   * Called whenever a world is unloaded.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onWorldUnload(WorldUnloadEvent event) {
+    warpSignIndex.discard(event.getWorld());
   }
 
   /**
@@ -98,8 +142,9 @@ class WarpSignListener extends AbstractListener {
     switch (event.getAction()) {
       case RIGHT_CLICK_BLOCK:
         //player clicked on a sign directly
-        if (block.getState() instanceof Sign) {
-          boolean cancel = warpSignHandler.handleInteraction(toPlayer(event), new BukkitSign((Sign) block.getState()));
+        Sign sign = warpSignIndex.getWarpSign(block);
+        if (sign != null) {
+          boolean cancel = warpSignHandler.handleInteraction(toPlayer(event), new BukkitSign(sign));
           event.setCancelled(cancel);
           return;
         }
@@ -109,20 +154,29 @@ class WarpSignListener extends AbstractListener {
           Optional<BlockFace> blockFace = attachedBlockFace(block);
 
           if (blockFace.isPresent()) {
-            warpSignHandler.handleInteraction(toPlayer(event), toVector(block), blockFace.get());
+            handleTrigger(event, block, blockFace.get());
           }
         }
         break;
       case PHYSICAL:
         //player stepped on something that might trigger a warp sign
         if (SUPPORTED_PLATES.contains(block.getType())) {
-          warpSignHandler.handleInteraction(toPlayer(event), toVector(block), BlockFace.UP);
+          handleTrigger(event, block, BlockFace.UP);
         }
         break;
       default: //do nothing
     }
   }
 
+  private void handleTrigger(PlayerInteractEvent event, Block block, BlockFace blockFace) {
+    Vector3i position = toVector(block);
+    Vector3i signPosition = WarpSignHandler.getTriggeredSignPosition(position, blockFace);
+    if (warpSignIndex.getWarpSign(block.getWorld().getBlockAt(signPosition.getX(), signPosition.getY(),
+                                                              signPosition.getZ())) != null) {
+      warpSignHandler.handleInteraction(toPlayer(event), position, blockFace);
+    }
+  }
+
   private LocalPlayer toPlayer(PlayerInteractEvent event) {
     return plugin.wrap(event.getPlayer());
   }
@@ -154,8 +208,10 @@ class WarpSignListener extends AbstractListener {
     }
   }
 
+  @SuppressWarnings("deprecation")
   private Optional<BlockFace> attachedBlockFace(Block block) {
-    MaterialData materialData = block.getState().getData();
+    // avoids taking a snapshot of the block's state
+    MaterialData materialData = block.getType().getNewData(block.getData());
 
     if (materialData instanceof Attachable) {
       return BukkitAdapter.adapt(((Attachable) materialData).getAttachedFace());
@@ -19,6 +19,9 @@
 
 package io.github.mywarp.mywarp.bukkit.settings;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import io.github.mywarp.mywarp.platform.Settings;
@@ -34,15 +37,19 @@ import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.BiFunction;
 
 import javax.annotation.Nullable;
 
 /**
  * The settings when running on Bukkit. This implementation relies on Bukkit's configuration API to manage the actual
  * configuration file.
+ *
+ * <p>Values are read from the configuration whenever it is (re)loaded and kept in an immutable snapshot, so getters
+ * are cheap enough to be called on hot paths.</p>
  */
 public class BukkitSettings implements Settings {
 
@@ -51,8 +58,7 @@ public class BukkitSettings implements Settings {
   private final File configFile;
   private final Configuration defaultConfiguration;
 
-  private Configuration config;
-  private Locale defaultLocale;
+  private volatile Snapshot snapshot;
 
   /**
    * Initializes this instance.
@@ -69,9 +75,12 @@ public class BukkitSettings implements Settings {
 
   /**
    * Reloads the configuration.
+   *
+   * <p>All values are read once and stored in an immutable snapshot that replaces the previous one atomically, so
+   * that getters never access the underlying configuration.</p>
    */
   public void reload() {
-    config = createConfiguration();
+    Configuration config = createConfiguration();
 
     // add defaults
     config.options().copyDefaults(true);
@@ -89,10 +98,7 @@ public class BukkitSettings implements Settings {
       }
     }
 
-    // Bukkit's config does not support Locale objects and this call is quit
-    // expensive so we cache the Locale
-    String configuredLocale = config.getString("localization.defaultLocale");
-    defaultLocale = LocaleUtils.toLocale(configuredLocale);
+    snapshot = new Snapshot(config);
   }
 
   private Configuration createConfiguration() {
@@ -114,32 +120,32 @@ public class BukkitSettings implements Settings {
 
   @Override
   public boolean isControlWorldAccess() {
-    return config.getBoolean("settings.controlWorldAccess");
+    return snapshot.controlWorldAccess;
   }
 
   @Override
   public boolean isShowTeleportEffect() {
-    return config.getBoolean("settings.showTeleportEffect");
+    return snapshot.showTeleportEffect;
   }
 
   @Override
   public boolean isCaseSensitiveWarpNames() {
-    return config.getBoolean("settings.caseSensitiveWarpNames");
+    return snapshot.caseSensitiveWarpNames;
   }
 
   @Override
   public boolean isTeleportTamedHorses() {
-    return config.getBoolean("settings.teleportHorses");
+    return snapshot.teleportTamedHorses;
   }
 
   @Override
   public Locale getLocalizationDefaultLocale() {
-    return defaultLocale;
+    return snapshot.localizationDefaultLocale;
   }
 
   @Override
   public boolean isLocalizationPerPlayer() {
-    return config.getBoolean("localization.perPlayer");
+    return snapshot.localizationPerPlayer;
   }
 
   /**
@@ -148,7 +154,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if the location's safety should be checked before teleporting an entity
    */
   public boolean isSafetyEnabled() {
-    return config.getBoolean("teleportSafety.enabled");
+    return snapshot.safetyEnabled;
   }
 
   /**
@@ -157,17 +163,17 @@ public class BukkitSettings implements Settings {
    * @return the search radius
    */
   public int getSafetySearchRadius() {
-    return config.getInt("teleportSafety.searchRadius");
+    return snapshot.safetySearchRadius;
   }
 
   @Override
   public boolean isWarpSignsEnabled() {
-    return config.getBoolean("warpSigns.enabled");
+    return snapshot.warpSignsEnabled;
   }
 
   @Override
   public ImmutableSet<String> getWarpSignsIdentifiers() {
-    return ImmutableSet.copyOf(config.getStringList("warpSigns.identifiers"));
+    return snapshot.warpSignsIdentifiers;
   }
 
   /**
@@ -176,7 +182,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if limit are enabled
    */
   public boolean isLimitsEnabled() {
-    return config.getBoolean("limits.enabled");
+    return snapshot.limitsEnabled;
   }
 
   /**
@@ -185,7 +191,7 @@ public class BukkitSettings implements Settings {
    * @return the default LimitBundle.
    */
   public LimitBundle getLimitsDefaultLimitBundle() {
-    return LimitBundle.createGlobal("default", config.getConfigurationSection("limits.defaultLimit"));
+    return snapshot.limitsDefaultLimitBundle;
   }
 
   /**
@@ -194,23 +200,7 @@ public class BukkitSettings implements Settings {
    * @return all configured LimitBundle
    */
   public List<LimitBundle> getLimitsConfiguredLimitBundles() {
-    List<LimitBundle> ret = new ArrayList<LimitBundle>();
-
-    @Nullable ConfigurationSection configuredLimits = config.getConfigurationSection("limits.configuredLimits");
-    if (configuredLimits == null) {
-      return ret;
-    }
-
-    for (String key : configuredLimits.getKeys(false)) {
-      @Nullable ConfigurationSection section = configuredLimits.getConfigurationSection(key);
-      if (section == null) {
-        log.warn("The configuration section with the key '{}' does not contain any readable values and will be ignored."
-                 + " Is your configuration file correctly formatted?", key);
-        continue;
-      }
-      ret.add(LimitBundle.create(key, section));
-    }
-    return ret;
+    return snapshot.limitsConfiguredLimitBundles.get();
   }
 
   /**
@@ -219,7 +209,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if timers are enabled
    */
   public boolean isTimersEnabled() {
-    return config.getBoolean("timers.enabled");
+    return snapshot.timersEnabled;
   }
 
   /**
@@ -228,7 +218,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if users should be notified
    */
   public boolean isTimersCooldownNotifyOnFinish() {
-    return config.getBoolean("timers.warpCooldown.notifyOnFinish");
+    return snapshot.timersCooldownNotifyOnFinish;
   }
 
   /**
@@ -237,7 +227,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if the warp-warmuo should be aborted
    */
   public boolean isTimersWarmupAbortOnDamage() {
-    return config.getBoolean("timers.warpWarmup.abortOnDamage");
+    return snapshot.timersWarmupAbortOnDamage;
   }
 
   /**
@@ -246,7 +236,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if the warp-warmup should be aborted
    */
   public boolean isTimersWarmupAbortOnMove() {
-    return config.getBoolean("timers.warpWarmup.abortOnMove");
+    return snapshot.timersWarmupAbortOnMove;
   }
 
   /**
@@ -255,7 +245,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if users should be notified
    */
   public boolean isTimersWarmupNotifyOnStart() {
-    return config.getBoolean("timers.warpWarmup.notifyOnStart");
+    return snapshot.timersWarmupNotifyOnStart;
   }
 
   /**
@@ -264,7 +254,7 @@ public class BukkitSettings implements Settings {
    * @return the default DurationBundle
    */
   public DurationBundle getTimersDefaultDurationBundle() {
-    return DurationBundle.create("default", config.getConfigurationSection("timers.defaultTimer"));
+    return snapshot.timersDefaultDurationBundle;
 
   }
 
@@ -274,23 +264,7 @@ public class BukkitSettings implements Settings {
    * @return all configured DurationBundles
    */
   public List<DurationBundle> getTimersConfiguredDurationBundles() {
-    List<DurationBundle> ret = new ArrayList<DurationBundle>();
-
-    @Nullable ConfigurationSection configuredTimers = config.getConfigurationSection("timers.configuredTimers");
-    if (configuredTimers == null) {
-      return ret;
-    }
-
-    for (String key : configuredTimers.getKeys(false)) {
-      @Nullable ConfigurationSection section = configuredTimers.getConfigurationSection(key);
-      if (section == null) {
-        log.warn("The configuration section with the key '{}' does not contain any readable values and will be ignored."
-                 + " Is your configuration file correctly formatted?", key);
-        continue;
-      }
-      ret.add(DurationBundle.create(key, configuredTimers.getConfigurationSection(key)));
-    }
-    return ret;
+    return snapshot.timersConfiguredDurationBundles.get();
   }
 
   /**
@@ -299,7 +273,7 @@ public class BukkitSettings implements Settings {
    * @return {@code true} if economy support is enabled
    */
   public boolean isEconomyEnabled() {
-    return config.getBoolean("economy.enabled");
+    return snapshot.economyEnabled;
   }
 
   /**
@@ -308,12 +282,12 @@ public class BukkitSettings implements Settings {
    * @return {@code {@code true}} if users should be informed after a transaction
    */
   public boolean isEconomyInformAfterTransaction() {
-    return config.getBoolean("economy.informAfterTransaction");
+    return snapshot.economyInformAfterTransaction;
   }
 
   @Override
   public ConnectionConfiguration getRelationalStorageConfiguration() {
-    ConnectionConfiguration config = new ConnectionConfiguration(getStorageUrl());
+    ConnectionConfiguration config = new ConnectionConfiguration(getStorageUrl()).setFetchSize(getStorageFetchSize());
 
     if (config.supportsSchemas()) {
       config.setSchema(getStorageSchema());
@@ -325,9 +299,29 @@ public class BukkitSettings implements Settings {
     return config;
   }
 
+  @Override
+  public boolean isStorageWriteBehindEnabled() {
+    return snapshot.storageWriteBehindEnabled;
+  }
+
+  @Override
+  public Duration getStorageWriteBehindFlushInterval() {
+    return snapshot.storageWriteBehindFlushInterval;
+  }
+
+  @Override
+  public int getStorageWriteBehindMaxQueueSize() {
+    return snapshot.storageWriteBehindMaxQueueSize;
+  }
+
+  @Override
+  public boolean isStorageSnapshotEnabled() {
+    return snapshot.storageSnapshotEnabled;
+  }
+
   @Override
   public boolean isInformPlayerOnInvitation() {
-    return config.getBoolean("settings.informPlayersOnInvitation");
+    return snapshot.informPlayerOnInvitation;
   }
 
   /**
@@ -336,7 +330,7 @@ public class BukkitSettings implements Settings {
    * @return the default FeeBundle
    */
   public FeeBundle getEconomyDefaultFeeBundle() {
-    return FeeBundle.create("default", config.getConfigurationSection("economy.defaultFee"));
+    return snapshot.economyDefaultFeeBundle;
 
   }
 
@@ -346,22 +340,7 @@ public class BukkitSettings implements Settings {
    * @return all configured FeeBundles
    */
   public List<FeeBundle> getEconomyConfiguredFeeBundles() {
-    List<FeeBundle> ret = new ArrayList<FeeBundle>();
-    ConfigurationSection configuredFees = config.getConfigurationSection("economy.configuredFees");
-
-    if (configuredFees == null) {
-      return ret;
-    }
-    for (String key : configuredFees.getKeys(false)) {
-      @Nullable ConfigurationSection section = configuredFees.getConfigurationSection(key);
-      if (section == null) {
-        log.warn("The configuration section with the key '{}' does not contain any readable values and will be ignored."
-                 + " Is your configuration file correctly formatted?", key);
-        continue;
-      }
-      ret.add(FeeBundle.create(key, configuredFees.getConfigurationSection(key)));
-    }
-    return ret;
+    return snapshot.economyConfiguredFeeBundles.get();
   }
 
   /**
@@ -370,7 +349,7 @@ public class BukkitSettings implements Settings {
    * @return true if Dynmap should be used
    */
   public boolean isDynmapEnabled() {
-    return config.getBoolean("dynmap.enabled");
+    return snapshot.dynmapEnabled;
   }
 
   /**
@@ -379,7 +358,7 @@ public class BukkitSettings implements Settings {
    * @return the layer's display name
    */
   public String getDynmapLayerDisplayName() {
-    return config.getString("dynmap.layer.displayName");
+    return snapshot.dynmapLayerDisplayName;
   }
 
   /**
@@ -388,7 +367,7 @@ public class BukkitSettings implements Settings {
    * @return true if the layer is hidden by default
    */
   public boolean isDynmapLayerHiddenByDefault() {
-    return config.getBoolean("dynmap.layer.hiddenByDefault");
+    return snapshot.dynmapLayerHiddenByDefault;
   }
 
   /**
@@ -397,7 +376,7 @@ public class BukkitSettings implements Settings {
    * @return the layer's priority
    */
   public int getDynmapLayerPriority() {
-    return config.getInt("dynmap.layer.priority");
+    return snapshot.dynmapLayerPriority;
   }
 
   /**
@@ -406,7 +385,7 @@ public class BukkitSettings implements Settings {
    * @return the icon's identifier
    */
   public String getDynmapMarkerIconId() {
-    return config.getString("dynmap.marker.iconID");
+    return snapshot.dynmapMarkerIconId;
   }
 
   /**
@@ -415,7 +394,7 @@ public class BukkitSettings implements Settings {
    * @return the minimal zoom level
    */
   public int getDynmapMarkerMinZoom() {
-    return config.getInt("dynmap.marker.minZoom");
+    return snapshot.dynmapMarkerMinZoom;
   }
 
   /**
@@ -424,7 +403,25 @@ public class BukkitSettings implements Settings {
    * @return true if the label is visible by default
    */
   public boolean isDynmapMarkerShowLable() {
-    return config.getBoolean("dynmap.marker.showLabel");
+    return snapshot.dynmapMarkerShowLable;
+  }
+
+  /**
+   * Gets the maximum number of connections that are opened to the relational database.
+   *
+   * @return the maximum number of connections
+   */
+  public int getStorageMaxConnections() {
+    return snapshot.storageMaxConnections;
+  }
+
+  /**
+   * Gets the duration the group memberships of players are cached. A duration of zero disables the cache.
+   *
+   * @return the duration group memberships are cached
+   */
+  public Duration getGroupCacheDuration() {
+    return snapshot.groupCacheDuration;
   }
 
   /**
@@ -433,7 +430,7 @@ public class BukkitSettings implements Settings {
    * @return the URL
    */
   private String getStorageUrl() {
-    return config.getString("storage.url");
+    return snapshot.storageUrl;
   }
 
   /**
@@ -442,7 +439,7 @@ public class BukkitSettings implements Settings {
    * @return the schema
    */
   private String getStorageSchema() {
-    return config.getString("storage.schema");
+    return snapshot.storageSchema;
   }
 
   /**
@@ -451,7 +448,16 @@ public class BukkitSettings implements Settings {
    * @return the user
    */
   private String getStorageUser() {
-    return config.getString("storage.user");
+    return snapshot.storageUser;
+  }
+
+  /**
+   * Gets the number of rows fetched from the relational database at once when reading warps.
+   *
+   * @return the fetch size
+   */
+  private int getStorageFetchSize() {
+    return snapshot.storageFetchSize;
   }
 
   /**
@@ -460,7 +466,137 @@ public class BukkitSettings implements Settings {
    * @return the user's password
    */
   private String getStoragePassword() {
-    return config.getString("storage.password");
+    return snapshot.storagePassword;
+  }
+
+  /**
+   * Creates bundles from all sections within the given {@code configuredBundles} section.
+   *
+   * @param configuredBundles the section that contains the bundles
+   * @param factory           creates a bundle from its key and section
+   * @param <B>               the type of bundles
+   * @return all created bundles
+   */
+  private static <B> ImmutableList<B> createBundles(@Nullable ConfigurationSection configuredBundles,
+                                                    BiFunction<String, ConfigurationSection, B> factory) {
+    ImmutableList.Builder<B> builder = ImmutableList.builder();
+    if (configuredBundles == null) {
+      return builder.build();
+    }
+
+    for (String key : configuredBundles.getKeys(false)) {
+      @Nullable ConfigurationSection section = configuredBundles.getConfigurationSection(key);
+      if (section == null) {
+        log.warn("The configuration section with the key '{}' does not contain any readable values and will be ignored."
+                 + " Is your configuration file correctly formatted?", key);
+        continue;
+      }
+      builder.add(factory.apply(key, section));
+    }
+    return builder.build();
   }
 
+  /**
+   * An immutable snapshot of all values read from a configuration.
+   */
+  private static class Snapshot {
+
+    private final boolean controlWorldAccess;
+    private final boolean showTeleportEffect;
+    private final boolean caseSensitiveWarpNames;
+    private final boolean teleportTamedHorses;
+    private final boolean localizationPerPlayer;
+    private final Locale localizationDefaultLocale;
+    private final boolean safetyEnabled;
+    private final int safetySearchRadius;
+    private final boolean warpSignsEnabled;
+    private final ImmutableSet<String> warpSignsIdentifiers;
+    private final boolean limitsEnabled;
+    private final LimitBundle limitsDefaultLimitBundle;
+    private final boolean timersEnabled;
+    private final boolean timersCooldownNotifyOnFinish;
+    private final boolean timersWarmupAbortOnDamage;
+    private final boolean timersWarmupAbortOnMove;
+    private final boolean timersWarmupNotifyOnStart;
+    private final DurationBundle timersDefaultDurationBundle;
+    private final boolean economyEnabled;
+    private final boolean economyInformAfterTransaction;
+    private final boolean storageWriteBehindEnabled;
+    private final Duration storageWriteBehindFlushInterval;
+    private final int storageWriteBehindMaxQueueSize;
+    private final boolean storageSnapshotEnabled;
+    private final boolean informPlayerOnInvitation;
+    private final FeeBundle economyDefaultFeeBundle;
+    private final boolean dynmapEnabled;
+    private final String dynmapLayerDisplayName;
+    private final boolean dynmapLayerHiddenByDefault;
+    private final int dynmapLayerPriority;
+    private final String dynmapMarkerIconId;
+    private final int dynmapMarkerMinZoom;
+    private final boolean dynmapMarkerShowLable;
+    private final int storageMaxConnections;
+    private final Duration groupCacheDuration;
+    private final String storageUrl;
+    private final String storageSchema;
+    private final String storageUser;
+    private final int storageFetchSize;
+    private final String storagePassword;
+    private final Supplier<ImmutableList<LimitBundle>> limitsConfiguredLimitBundles;
+    private final Supplier<ImmutableList<DurationBundle>> timersConfiguredDurationBundles;
+    private final Supplier<ImmutableList<FeeBundle>> economyConfiguredFeeBundles;
+
+    Snapshot(Configuration config) {
+      controlWorldAccess = config.getBoolean("settings.controlWorldAccess");
+      showTeleportEffect = config.getBoolean("settings.showTeleportEffect");
+      caseSensitiveWarpNames = config.getBoolean("settings.caseSensitiveWarpNames");
+      teleportTamedHorses = config.getBoolean("settings.teleportHorses");
+      localizationPerPlayer = config.getBoolean("localization.perPlayer");
+      // Bukkit's config does not support Locale objects and parsing them is quite expensive
+      localizationDefaultLocale = LocaleUtils.toLocale(config.getString("localization.defaultLocale"));
+      safetyEnabled = config.getBoolean("teleportSafety.enabled");
+      safetySearchRadius = config.getInt("teleportSafety.searchRadius");
+      warpSignsEnabled = config.getBoolean("warpSigns.enabled");
+      warpSignsIdentifiers = ImmutableSet.copyOf(config.getStringList("warpSigns.identifiers"));
+      limitsEnabled = config.getBoolean("limits.enabled");
+      limitsDefaultLimitBundle =
+          LimitBundle.createGlobal("default", config.getConfigurationSection("limits.defaultLimit"));
+      timersEnabled = config.getBoolean("timers.enabled");
+      timersCooldownNotifyOnFinish = config.getBoolean("timers.warpCooldown.notifyOnFinish");
+      timersWarmupAbortOnDamage = config.getBoolean("timers.warpWarmup.abortOnDamage");
+      timersWarmupAbortOnMove = config.getBoolean("timers.warpWarmup.abortOnMove");
+      timersWarmupNotifyOnStart = config.getBoolean("timers.warpWarmup.notifyOnStart");
+      timersDefaultDurationBundle =
+          DurationBundle.create("default", config.getConfigurationSection("timers.defaultTimer"));
+      economyEnabled = config.getBoolean("economy.enabled");
+      economyInformAfterTransaction = config.getBoolean("economy.informAfterTransaction");
+      storageWriteBehindEnabled = config.getBoolean("storage.writeBehind.enabled");
+      storageWriteBehindFlushInterval = Duration.ofSeconds(config.getLong("storage.writeBehind.flushInterval"));
+      storageWriteBehindMaxQueueSize = config.getInt("storage.writeBehind.maxQueueSize");
+      storageSnapshotEnabled = config.getBoolean("storage.snapshot.enabled");
+      informPlayerOnInvitation = config.getBoolean("settings.informPlayersOnInvitation");
+      economyDefaultFeeBundle = FeeBundle.create("default", config.getConfigurationSection("economy.defaultFee"));
+      dynmapEnabled = config.getBoolean("dynmap.enabled");
+      dynmapLayerDisplayName = config.getString("dynmap.layer.displayName");
+      dynmapLayerHiddenByDefault = config.getBoolean("dynmap.layer.hiddenByDefault");
+      dynmapLayerPriority = config.getInt("dynmap.layer.priority");
+      dynmapMarkerIconId = config.getString("dynmap.marker.iconID");
+      dynmapMarkerMinZoom = config.getInt("dynmap.marker.minZoom");
+      dynmapMarkerShowLable = config.getBoolean("dynmap.marker.showLabel");
+      storageMaxConnections = config.getInt("storage.maxConnections");
+      groupCacheDuration = Duration.ofSeconds(config.getLong("settings.groupCacheDuration"));
+      storageUrl = config.getString("storage.url");
+      storageSchema = config.getString("storage.schema");
+      storageUser = config.getString("storage.user");
+      storageFetchSize = config.getInt("storage.fetchSize");
+      storagePassword = config.getString("storage.password");
+
+      // limit bundles resolve the worlds they affect, which might not be loaded yet, so bundles are created lazily
+      limitsConfiguredLimitBundles = Suppliers.memoize(
+          () -> createBundles(config.getConfigurationSection("limits.configuredLimits"), LimitBundle::create));
+      timersConfiguredDurationBundles = Suppliers.memoize(
+          () -> createBundles(config.getConfigurationSection("timers.configuredTimers"), DurationBundle::create));
+      economyConfiguredFeeBundles = Suppliers.memoize(
+          () -> createBundles(config.getConfigurationSection("economy.configuredFees"), FeeBundle::create));
+    }
+  }
 }
@@ -21,7 +21,9 @@ package io.github.mywarp.mywarp.bukkit.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Table;
 
 import io.github.mywarp.mywarp.bukkit.MyWarpPlugin;
@@ -30,21 +32,32 @@ import io.github.mywarp.mywarp.service.teleport.timer.AbortableTimerAction;
 import io.github.mywarp.mywarp.service.teleport.timer.Duration;
 import io.github.mywarp.mywarp.service.teleport.timer.TimerAction;
 
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-
-import javax.annotation.Nullable;
+import java.util.function.Predicate;
 
 /**
  * Handles timers on Bukkit.
+ *
+ * <p>All timers are run by a single {@link TimingWheel}, so the number of tasks on Bukkit's scheduler does not grow
+ * with the number of running timers. Starting, cancelling and checking a timer are constant time operations.</p>
+ *
+ * <p>{@link AbortableTimerAction}s are not polled. Instead, actions that run on a player's unique identifier are
+ * checked when the player moves to another block or takes damage. This class must be registered as a Listener to
+ * receive these events.</p>
  */
-public class BukkitTimerHandler {
+public class BukkitTimerHandler extends AbstractListener {
 
-  private final Table<Object, Class<? extends TimerAction>, SelfRunningRunnable>
-      runningTimers =
-      HashBasedTable.create();
-  private final MyWarpPlugin plugin;
+  private final Table<Object, Class<? extends TimerAction>, RunningTimer<?>> runningTimers = HashBasedTable.create();
+  private final TimingWheel timingWheel;
 
   /**
    * Creates an instance.
@@ -52,7 +65,7 @@ public class BukkitTimerHandler {
    * @param plugin the running plugin instance
    */
   public BukkitTimerHandler(MyWarpPlugin plugin) {
-    this.plugin = plugin;
+    this.timingWheel = new TimingWheel(plugin);
   }
 
   /**
@@ -67,7 +80,7 @@ public class BukkitTimerHandler {
     checkArgument(!has(timedSubject, timer.getClass()).isTimerRunning(),
                   "A timer of the type %s is already running for %s.", timedSubject, timer.getClass());
 
-    runningTimers.put(timedSubject, timer.getClass(), new SelfRunningRunnable<T>(timer, duration));
+    runningTimers.put(timedSubject, timer.getClass(), new RunningTimer<T>(timer, duration));
   }
 
   /**
@@ -78,95 +91,116 @@ public class BukkitTimerHandler {
    * @return the result of the evaluation
    */
   public TimerCapability.EvaluationResult has(Object timedSubject, Class<? extends TimerAction> timerClass) {
-    SelfRunningRunnable action = runningTimers.get(timedSubject, timerClass);
-    if (action != null) {
-      return TimerCapability.EvaluationResult.runningTimer(action.getRemainingTime());
+    RunningTimer<?> timer = runningTimers.get(timedSubject, timerClass);
+    if (timer != null) {
+      return TimerCapability.EvaluationResult.runningTimer(timer.getRemainingTime());
     }
     return TimerCapability.EvaluationResult.noRunningTimer();
   }
 
-  private void cancel(Object timedSubject, Class<? extends TimerAction> clazz) {
-    BukkitRunnable runnable = runningTimers.remove(timedSubject, clazz);
-    if (runnable != null) {
-      runnable.cancel();
+  /**
+   * Called when a player moves.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onPlayerMove(PlayerMoveEvent event) {
+    Location to = event.getTo();
+    if (changesBlock(event.getFrom(), to)) {
+      Vector3d newPosition = new Vector3d(to.getX(), to.getY(), to.getZ());
+      abortIf(event.getPlayer().getUniqueId(), action -> action.abortOnMove(newPosition));
+    }
+  }
+
+  /**
+   * Called when a player teleports.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onPlayerTeleport(PlayerTeleportEvent event) {
+    onPlayerMove(event);
+  }
+
+  /**
+   * Called when an entity takes damage.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityDamage(EntityDamageEvent event) {
+    if (event.getEntity() instanceof Player && event.getFinalDamage() > 0) {
+      abortIf(event.getEntity().getUniqueId(), AbortableTimerAction::abortOnDamage);
+    }
+  }
+
+  private void abortIf(UUID subject, Predicate<AbortableTimerAction<?>> condition) {
+    // the vast majority of events is fired for players without running timers
+    if (!runningTimers.containsRow(subject)) {
+      return;
     }
+    for (RunningTimer<?> timer : ImmutableList.copyOf(runningTimers.row(subject).values())) {
+      if (timer.action instanceof AbortableTimerAction && condition.test((AbortableTimerAction<?>) timer.action)) {
+        timer.abort();
+      }
+    }
+  }
+
+  private static boolean changesBlock(Location from, Location to) {
+    return from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY()
+           || from.getBlockZ() != to.getBlockZ() || !from.getWorld().equals(to.getWorld());
   }
 
   /**
-   * A BukkitRunnable that starts itself after creation.
+   * A timer that runs its action once it expires on the wheel.
    *
    * @param <T> the type of the instance the timer runs on
    */
-  private class SelfRunningRunnable<T> extends BukkitRunnable {
+  private class RunningTimer<T> extends TimingWheel.Timeout {
 
-    private final TimerAction<T> runnable;
+    private final TimerAction<T> action;
     private final long startMillis;
     private final long durationMillis;
 
-    @Nullable
-    private final BukkitRunnable abortingCheck;
-
     /**
-     * Creates an instance. The given Runnable will be submitted for execution after the given Duration.
+     * Creates an instance. The given action will be run after the given Duration.
      *
-     * @param runnable the Runnable
+     * @param action   the action
      * @param duration the Duration
      */
-    protected SelfRunningRunnable(TimerAction<T> runnable, Duration duration) {
-      this.runnable = runnable;
+    private RunningTimer(TimerAction<T> action, Duration duration) {
+      this.action = action;
       this.durationMillis = duration.get(TimeUnit.MILLISECONDS);
 
       this.startMillis = System.currentTimeMillis();
-      runTaskLater(plugin, duration.getTicks());
-
-      if (runnable instanceof AbortableTimerAction) {
-        abortingCheck = new BukkitRunnable() {
-
-          @Override
-          public void run() {
-            if (((AbortableTimerAction<T>) SelfRunningRunnable.this.runnable).abort()) {
-              SelfRunningRunnable.this.cancel();
-            }
-          }
-
-        };
-        abortingCheck
-            .runTaskTimer(plugin, AbortableTimerAction.CHECK_INTERVAL_TICKS, AbortableTimerAction.CHECK_INTERVAL_TICKS);
-      } else {
-        abortingCheck = null;
-      }
+      timingWheel.schedule(this, duration.getTicks());
     }
 
     /**
-     * Gets the time remaining until this Runnable is executed.
+     * Gets the time remaining until the action is run.
      *
      * <p> The returned Duration might not be entirely exact, since Minecraft's internal clock may run faster or slower
      * than the real-world time. </p>
      *
      * @return the time remaining
      */
-    protected Duration getRemainingTime() {
+    private Duration getRemainingTime() {
       return new Duration(durationMillis - (System.currentTimeMillis() - startMillis), TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void run() {
-      BukkitTimerHandler.this.cancel(runnable.getTimedSuject(), runnable.getClass());
-      cancelAbortingCheck();
-      runnable.run();
-    }
-
-    @Override
-    public void cancel() {
-      BukkitTimerHandler.this.cancel(runnable.getTimedSuject(), runnable.getClass());
-      cancelAbortingCheck();
-      super.cancel();
+      runningTimers.remove(action.getTimedSuject(), action.getClass());
+      action.run();
     }
 
-    private void cancelAbortingCheck() {
-      if (abortingCheck != null) {
-        abortingCheck.cancel();
-      }
+    /**
+     * Aborts this timer without running the action. The action must be an {@link AbortableTimerAction}.
+     */
+    private void abort() {
+      cancel();
+      runningTimers.remove(action.getTimedSuject(), action.getClass());
+      ((AbortableTimerAction<T>) action).aborted();
     }
 
   }
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit.util;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multiset;
+
+import io.github.mywarp.mywarp.platform.capability.TimerCapability;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Preloads chunks and holds them loaded until the {@link TimerCapability.ChunkTicket} that requested them is released.
+ *
+ * <p>Bukkit cannot load chunks asynchronously, so chunks that are not yet loaded are loaded on the main thread by a
+ * single task that loads at most {@value #CHUNKS_PER_TICK} chunks per tick. This spreads the loading and generation of
+ * the chunks over several ticks instead of loading all of them within the tick a player is teleported. Held chunks are
+ * kept loaded by cancelling their {@link ChunkUnloadEvent}, so this class must be registered as a Listener.</p>
+ *
+ * <p>This class is not threadsafe and must only be used from the server's main thread. The counters can be read from
+ * any thread.</p>
+ */
+public class ChunkPreloader extends AbstractListener {
+
+  private static final int RADIUS = 1;
+  private static final int CHUNKS_PER_TICK = 2;
+
+  private final Multiset<ChunkKey> heldChunks = HashMultiset.create();
+  private final Set<Ticket> activeTickets = new HashSet<Ticket>();
+  private final Queue<Ticket> pendingTickets = new ArrayDeque<Ticket>();
+  private final Plugin plugin;
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong successes = new AtomicLong();
+  private final AtomicLong loadedChunks = new AtomicLong();
+  private final AtomicLong loadNanos = new AtomicLong();
+
+  @Nullable
+  private BukkitRunnable loader;
+
+  /**
+   * Creates an instance.
+   *
+   * @param plugin the plugin that owns the task that loads chunks
+   */
+  public ChunkPreloader(Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Starts loading the chunk that contains the given block coordinates and its neighbours in the given {@code world}.
+   * The chunks are held loaded until the returned ticket is released.
+   *
+   * @param world  the world
+   * @param blockX the block's x coordinate
+   * @param blockZ the block's z coordinate
+   * @return the ticket that holds the chunks
+   */
+  public TimerCapability.ChunkTicket preload(World world, int blockX, int blockZ) {
+    requests.incrementAndGet();
+
+    Ticket ticket = new Ticket(world, blockX >> 4, blockZ >> 4);
+    activeTickets.add(ticket);
+    heldChunks.addAll(ticket.chunks);
+    if (!ticket.isLoaded()) {
+      pendingTickets.add(ticket);
+      startLoader();
+    }
+    return ticket;
+  }
+
+  /**
+   * Releases all tickets that are not yet released and stops loading chunks. Chunks that are no longer held may be
+   * unloaded by the server afterwards.
+   */
+  public void releaseAll() {
+    for (Ticket ticket : ImmutableList.copyOf(activeTickets)) {
+      ticket.release();
+    }
+    if (loader != null) {
+      loader.cancel();
+      loader = null;
+    }
+  }
+
+  /**
+   * Gets the number of preloads that were requested.
+   *
+   * @return the number of requested preloads
+   */
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  /**
+   * Gets the number of preloads that had loaded all chunks when their ticket was released.
+   *
+   * @return the number of successful preloads
+   */
+  public long getSuccessCount() {
+    return successes.get();
+  }
+
+  /**
+   * Gets the number of chunks that were loaded by this preloader.
+   *
+   * @return the number of loaded chunks
+   */
+  public long getLoadedChunkCount() {
+    return loadedChunks.get();
+  }
+
+  /**
+   * Gets the total time in nanoseconds this preloader spent loading chunks.
+   *
+   * @return the total load time in nanoseconds
+   */
+  public long getLoadNanos() {
+    return loadNanos.get();
+  }
+
+  /**
+   * Called when a chunk is about to be unloaded.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+  public void onChunkUnload(ChunkUnloadEvent event) {
+    // the vast majority of unloaded chunks is not held
+    if (heldChunks.isEmpty()) {
+      return;
+    }
+    Chunk chunk = event.getChunk();
+    if (heldChunks.contains(new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()))) {
+      event.setCancelled(true);
+    }
+  }
+
+  private void startLoader() {
+    if (loader != null) {
+      return;
+    }
+    loader = new BukkitRunnable() {
+      @Override
+      public void run() {
+        load();
+      }
+    };
+    loader.runTaskTimer(plugin, 1, 1);
+  }
+
+  private void load() {
+    int remaining = CHUNKS_PER_TICK;
+    while (remaining > 0 && !pendingTickets.isEmpty()) {
+      Ticket ticket = pendingTickets.peek();
+      if (ticket.loadNext()) {
+        remaining--;
+      }
+      if (ticket.isLoaded()) {
+        pendingTickets.poll();
+      }
+    }
+    if (pendingTickets.isEmpty() && loader != null) {
+      loader.cancel();
+      loader = null;
+    }
+  }
+
+  /**
+   * Identifies a chunk within a world.
+   */
+  private static final class ChunkKey {
+
+    private final UUID worldIdentifier;
+    private final int x;
+    private final int z;
+
+    private ChunkKey(UUID worldIdentifier, int x, int z) {
+      this.worldIdentifier = worldIdentifier;
+      this.x = x;
+      this.z = z;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ChunkKey that = (ChunkKey) o;
+      return x == that.x && z == that.z && worldIdentifier.equals(that.worldIdentifier);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * worldIdentifier.hashCode() + x) + z;
+    }
+  }
+
+  /**
+   * Holds the chunks within {@value #RADIUS} chunks of a central chunk.
+   */
+  private class Ticket implements TimerCapability.ChunkTicket {
+
+    private final World world;
+    private final List<ChunkKey> chunks = new ArrayList<ChunkKey>();
+    private int next;
+    private boolean released;
+
+    private Ticket(World world, int centerX, int centerZ) {
+      this.world = world;
+      // the central chunk is loaded first
+      chunks.add(new ChunkKey(world.getUID(), centerX, centerZ));
+      for (int x = centerX - RADIUS; x <= centerX + RADIUS; x++) {
+        for (int z = centerZ - RADIUS; z <= centerZ + RADIUS; z++) {
+          if (x != centerX || z != centerZ) {
+            chunks.add(new ChunkKey(world.getUID(), x, z));
+          }
+        }
+      }
+      skipLoaded();
+    }
+
+    /**
+     * Loads the next chunk that is not yet loaded.
+     *
+     * @return {@code true} if a chunk was loaded
+     */
+    private boolean loadNext() {
+      if (isLoaded()) {
+        return false;
+      }
+      ChunkKey chunk = chunks.get(next++);
+      long start = System.nanoTime();
+      world.loadChunk(chunk.x, chunk.z, true);
+      loadNanos.addAndGet(System.nanoTime() - start);
+      loadedChunks.incrementAndGet();
+
+      skipLoaded();
+      return true;
+    }
+
+    private void skipLoaded() {
+      while (next < chunks.size() && world.isChunkLoaded(chunks.get(next).x, chunks.get(next).z)) {
+        next++;
+      }
+    }
+
+    private boolean isLoaded() {
+      return next >= chunks.size();
+    }
+
+    @Override
+    public void release() {
+      if (released) {
+        return;
+      }
+      released = true;
+      activeTickets.remove(this);
+
+      if (isLoaded()) {
+        successes.incrementAndGet();
+      } else {
+        pendingTickets.remove(this);
+      }
+      for (ChunkKey chunk : chunks) {
+        heldChunks.remove(chunk);
+      }
+    }
+  }
+}
@@ -24,8 +24,11 @@ import io.github.mywarp.mywarp.util.MyWarpLogger;
 import org.bukkit.entity.Player;
 import org.slf4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Locale;
 import java.util.Optional;
@@ -39,6 +42,9 @@ import javax.annotation.Nullable;
  * and then accesses it's {@code locale} field. The process may fail if future Minecraft or CraftBukkit change this
  * structure. It is recommended to supply a fallback for such cases.</p>
  *
+ * <p>Both members are looked up once and combined into a single MethodHandle that is reused for all further calls.
+ * If the lookup fails, all further calls fail without repeating it.</p>
+ *
  * <p>This class is not threadsafe.</p>
  */
 public enum ReflectiveLocaleResolver {
@@ -51,9 +57,8 @@ public enum ReflectiveLocaleResolver {
   private static final Logger log = MyWarpLogger.getLogger(ReflectiveLocaleResolver.class);
 
   @Nullable
-  private Method handleMethod;
-  @Nullable
-  private Field localeField;
+  private volatile MethodHandle localeGetter;
+  private volatile boolean unavailable;
 
   /**
    * Resolves the locale of the given Player.
@@ -63,33 +68,14 @@ public enum ReflectiveLocaleResolver {
    * @throws UnresolvableLocaleException if the locale cannot be resolved
    */
   public Locale resolve(Player player) throws UnresolvableLocaleException {
-    if (handleMethod == null) {
-      try {
-        //CraftBukkit implements Player in CraftPlayer with has the 'getHandle()' method
-        handleMethod = player.getClass().getMethod("getHandle");
-      } catch (NoSuchMethodException e) {
-        log.debug("Failed to resolve the locale because the 'getHandle()' method does not exist.", e);
-        throw new UnresolvableLocaleException(e);
-      }
-      handleMethod.setAccessible(true);
-    }
-    if (localeField == null) {
-      try {
-        localeField = handleMethod.getReturnType().getDeclaredField("locale");
-      } catch (NoSuchFieldException e) {
-        log.debug("Failed to resolve the locale because the 'locale' field does not exist.", e);
-        throw new UnresolvableLocaleException(e);
-      }
-      localeField.setAccessible(true);
-    }
+    MethodHandle getter = getLocaleGetter(player);
 
     String rawLocale;
     try {
-      rawLocale = (String) localeField.get(handleMethod.invoke(player));
-    } catch (IllegalAccessException e) {
-      log.debug("Failed to resolve the locale.", e);
-      throw new UnresolvableLocaleException(e);
-    } catch (InvocationTargetException e) {
+      rawLocale = (String) getter.invokeExact(player);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
       log.debug("Failed to resolve the locale because of an unhandled exception.", e);
       throw new UnresolvableLocaleException(e);
     }
@@ -102,6 +88,54 @@ public enum ReflectiveLocaleResolver {
     throw new UnresolvableLocaleException();
   }
 
+  private MethodHandle getLocaleGetter(Player player) throws UnresolvableLocaleException {
+    MethodHandle getter = localeGetter;
+    if (getter != null) {
+      return getter;
+    }
+    if (unavailable) {
+      throw new UnresolvableLocaleException();
+    }
+    try {
+      getter = createLocaleGetter(player.getClass());
+    } catch (UnresolvableLocaleException e) {
+      unavailable = true;
+      throw e;
+    }
+    localeGetter = getter;
+    return getter;
+  }
+
+  private MethodHandle createLocaleGetter(Class<?> playerClass) throws UnresolvableLocaleException {
+    Method handleMethod;
+    try {
+      //CraftBukkit implements Player in CraftPlayer with has the 'getHandle()' method
+      handleMethod = playerClass.getMethod("getHandle");
+    } catch (NoSuchMethodException e) {
+      log.debug("Failed to resolve the locale because the 'getHandle()' method does not exist.", e);
+      throw new UnresolvableLocaleException(e);
+    }
+    handleMethod.setAccessible(true);
+
+    Field localeField;
+    try {
+      localeField = handleMethod.getReturnType().getDeclaredField("locale");
+    } catch (NoSuchFieldException e) {
+      log.debug("Failed to resolve the locale because the 'locale' field does not exist.", e);
+      throw new UnresolvableLocaleException(e);
+    }
+    localeField.setAccessible(true);
+
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      return MethodHandles.filterReturnValue(lookup.unreflect(handleMethod), lookup.unreflectGetter(localeField))
+          .asType(MethodType.methodType(String.class, Player.class));
+    } catch (IllegalAccessException | WrongMethodTypeException e) {
+      log.debug("Failed to resolve the locale.", e);
+      throw new UnresolvableLocaleException(e);
+    }
+  }
+
   /**
    * Indicates that a Locale cannot be resolved.
    */
@@ -111,7 +145,7 @@ public enum ReflectiveLocaleResolver {
       super();
     }
 
-    private UnresolvableLocaleException(Exception e) {
+    private UnresolvableLocaleException(Throwable e) {
       super(e);
     }
   }
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hashed timing wheel that runs {@link Timeout}s after a given number of ticks.
+ *
+ * <p>All timeouts are driven by a single task that runs once per tick while at least one timeout is scheduled.
+ * Timeouts are hashed into a fixed number of slots by the tick they expire in and kept in a doubly-linked list per
+ * slot, so scheduling and cancelling a timeout is O(1). On every tick only the timeouts of a single slot are
+ * visited.</p>
+ *
+ * <p>This class is not threadsafe and must only be used from the server's main thread.</p>
+ */
+class TimingWheel {
+
+  private static final int WHEEL_SIZE = 512;
+  private static final int MASK = WHEEL_SIZE - 1;
+
+  private final Timeout[] slots = new Timeout[WHEEL_SIZE];
+  private final List<Timeout> expired = new ArrayList<Timeout>();
+  private final Plugin plugin;
+
+  private long currentTick;
+  private int scheduled;
+  @Nullable
+  private BukkitRunnable ticker;
+
+  /**
+   * Creates an instance.
+   *
+   * @param plugin the plugin that owns the task that drives this wheel
+   */
+  TimingWheel(Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Schedules the given {@code timeout} to run after the given number of ticks.
+   *
+   * <p>Timeouts are run no earlier than on the next tick, even if the given number of ticks is lower.</p>
+   *
+   * @param timeout the timeout
+   * @param ticks   the number of ticks
+   * @throws IllegalArgumentException if the timeout is already scheduled
+   */
+  void schedule(Timeout timeout, long ticks) {
+    checkArgument(timeout.wheel == null, "The timeout is already scheduled.");
+
+    timeout.wheel = this;
+    timeout.deadline = currentTick + Math.max(ticks, 1);
+    link(timeout);
+    scheduled++;
+
+    if (ticker == null) {
+      ticker = new BukkitRunnable() {
+        @Override
+        public void run() {
+          tick();
+        }
+      };
+      ticker.runTaskTimer(plugin, 1, 1);
+    }
+  }
+
+  /**
+   * Gets the number of ticks this wheel has advanced.
+   *
+   * @return the current tick
+   */
+  long getCurrentTick() {
+    return currentTick;
+  }
+
+  /**
+   * Gets the number of timeouts that are currently scheduled.
+   *
+   * @return the number of scheduled timeouts
+   */
+  int size() {
+    return scheduled;
+  }
+
+  /**
+   * Advances this wheel by one tick and runs all timeouts that expire on this tick.
+   */
+  private void tick() {
+    currentTick++;
+
+    // expired timeouts are unlinked first, as running them may schedule or cancel other timeouts of this slot
+    Timeout timeout = slots[slotOf(currentTick)];
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      if (timeout.deadline <= currentTick) {
+        unlink(timeout);
+        expired.add(timeout);
+      }
+      timeout = next;
+    }
+
+    for (int i = 0; i < expired.size(); i++) {
+      Timeout each = expired.get(i);
+      // skip timeouts that were cancelled (and maybe scheduled again) by a timeout that ran before
+      if (each.wheel == this && !each.linked) {
+        each.wheel = null;
+        each.run();
+      }
+    }
+    expired.clear();
+
+    if (scheduled == 0 && ticker != null) {
+      ticker.cancel();
+      ticker = null;
+    }
+  }
+
+  private void link(Timeout timeout) {
+    int slot = slotOf(timeout.deadline);
+    Timeout head = slots[slot];
+    timeout.prev = null;
+    timeout.next = head;
+    if (head != null) {
+      head.prev = timeout;
+    }
+    slots[slot] = timeout;
+    timeout.linked = true;
+  }
+
+  private void unlink(Timeout timeout) {
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      slots[slotOf(timeout.deadline)] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+    timeout.prev = null;
+    timeout.next = null;
+    timeout.linked = false;
+    scheduled--;
+  }
+
+  private static int slotOf(long tick) {
+    return (int) (tick & MASK);
+  }
+
+  /**
+   * An action that can be scheduled on a TimingWheel.
+   *
+   * <p>A Timeout can be scheduled on a single wheel at a time, but may be scheduled again once it has run or was
+   * cancelled.</p>
+   */
+  abstract static class Timeout implements Runnable {
+
+    @Nullable
+    private TimingWheel wheel;
+    private long deadline;
+    private boolean linked;
+    @Nullable
+    private Timeout prev;
+    @Nullable
+    private Timeout next;
+
+    /**
+     * Returns whether this timeout is scheduled and has neither run nor been cancelled.
+     *
+     * @return {@code true} if this timeout is scheduled
+     */
+    boolean isScheduled() {
+      return wheel != null;
+    }
+
+    /**
+     * Gets the number of ticks until this timeout runs.
+     *
+     * @return the number of remaining ticks
+     * @throws IllegalStateException if this timeout is not scheduled
+     */
+    long getRemainingTicks() {
+      checkState(isScheduled(), "The timeout is not scheduled.");
+      return deadline - wheel.currentTick;
+    }
+
+    /**
+     * Cancels this timeout, if it is scheduled. Cancelled timeouts are never run.
+     */
+    void cancel() {
+      if (wheel == null) {
+        return;
+      }
+      // timeouts that expire on the current tick are already unlinked
+      if (linked) {
+        wheel.unlink(this);
+      }
+      wheel = null;
+    }
+  }
+}
@@ -34,21 +34,28 @@ public final class DataSourceFactory {
   }
 
   /**
-   * Creates a new {@code SingleConnectionDataSource} with the given {@code config}.
+   * Creates a new {@code PooledDataSource} with the given {@code config} that holds up to {@code maxSize}
+   * connections.
    *
-   * @param config the config of the relational database
-   * @return a new {@code SingleConnectionDataSource}
+   * <p>SQLite only allows a single writer at any time and the driver bundled with CraftBukkit fails instead of
+   * waiting if the database is locked, so pools to SQLite databases never hold more than one connection.</p>
+   *
+   * @param config  the config of the relational database
+   * @param maxSize the maximum number of connections
+   * @return a new {@code PooledDataSource}
    */
-  public static SingleConnectionDataSource createSingleConnectionDataSource(ConnectionConfiguration config) {
-    Properties properties = new Properties();
+  public static PooledDataSource createPooledDataSource(ConnectionConfiguration config, int maxSize) {
+    if (isSqlite(config)) {
+      maxSize = 1;
+    }
+    return new PooledDataSource(config.getUrl(), createProperties(config), driverSupportsIsValid(config), maxSize);
+  }
 
-    boolean driverSupportsIsValid = true;
+  private static Properties createProperties(ConnectionConfiguration config) {
+    Properties properties = new Properties();
 
-    if (config.getDriver().equals("org.sqlite.JDBC")) {
+    if (isSqlite(config)) {
       properties.setProperty("foreign_keys", "on");
-
-      //CraftBukkit bundles SQLite 3.7.2 witch does not yet implement Connection#isValid(int)
-      driverSupportsIsValid = false;
     } else if (config.getDriver().equals("org.h2.Driver")) {
       try {
         Class.forName("org.h2.Driver");
@@ -61,9 +68,25 @@ public final class DataSourceFactory {
     } else {
       properties.setProperty("user", config.getUser());
       properties.setProperty("password", config.getPassword());
+      if (isMysql(config)) {
+        //Connector/J reads the whole result set into memory and ignores the fetch size unless cursors are enabled.
+        properties.setProperty("useCursorFetch", "true");
+      }
     }
+    return properties;
+  }
+
+  private static boolean driverSupportsIsValid(ConnectionConfiguration config) {
+    //CraftBukkit bundles SQLite 3.7.2 witch does not yet implement Connection#isValid(int)
+    return !isSqlite(config);
+  }
+
+  private static boolean isMysql(ConnectionConfiguration config) {
+    return config.getUrl().startsWith("jdbc:mysql:");
+  }
 
-    return new SingleConnectionDataSource(config.getUrl(), properties, driverSupportsIsValid);
+  private static boolean isSqlite(ConnectionConfiguration config) {
+    return config.getDriver().equals("org.sqlite.JDBC");
   }
 
 }
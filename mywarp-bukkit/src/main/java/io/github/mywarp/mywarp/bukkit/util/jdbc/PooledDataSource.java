@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.mywarp.mywarp.bukkit.util.jdbc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * A {@link DataSource} implementation that pools a bounded number of {@link Connection}s. {@code Connection}s returned
+ * by this {@code DataSource} are actually wrappers around pooled {@code Connection}s that return them to the pool when
+ * closed.
+ *
+ * <p>Idle connections are only validated if they have not been used for a while, so handing out a recently used
+ * connection does not require a round trip to the database.</p>
+ *
+ * <p>This class is threadsafe.</p>
+ */
+public class PooledDataSource implements DataSource, Closeable {
+
+  private static final org.slf4j.Logger log = MyWarpLogger.getLogger(PooledDataSource.class);
+
+  private static final long VALIDATION_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final int ACQUIRE_TIMEOUT_SECONDS = 30;
+
+  private final String url;
+  private final boolean driverSupportsIsValid;
+  private final Properties properties;
+  private final int maxSize;
+
+  private final Semaphore permits;
+  // used as a stack so that rarely needed connections idle long enough to be validated or dropped
+  private final BlockingDeque<IdleConnection> idleConnections = new LinkedBlockingDeque<>();
+
+  private volatile boolean closed;
+
+  /**
+   * Creates a new instance that connects to a database using the given {@code url} and holds up to {@code maxSize}
+   * connections.
+   *
+   * @param url                   the database url
+   * @param properties            the properties used to connect with the database
+   * @param driverSupportsIsValid whether the driver used to connect with the given URL implements {@link
+   *                              Connection#isValid(int)}
+   * @param maxSize               the maximum number of connections
+   * @see DriverManager#getConnection(String, Properties)
+   */
+  PooledDataSource(String url, Properties properties, boolean driverSupportsIsValid, int maxSize) {
+    checkArgument(maxSize > 0, "The maximum pool size must be positive.");
+    this.url = url;
+    this.properties = properties;
+    this.driverSupportsIsValid = driverSupportsIsValid;
+    this.maxSize = maxSize;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Gets the maximum number of connections this pool holds.
+   *
+   * @return the maximum pool size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (closed) {
+      throw new SQLException("The DataSource is closed.");
+    }
+    try {
+      if (!permits.tryAcquire(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        throw new SQLException(
+            String.format("No connection became available within %d seconds.", ACQUIRE_TIMEOUT_SECONDS));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection.", e);
+    }
+
+    try {
+      Connection target = null;
+      IdleConnection candidate;
+      while (target == null && (candidate = idleConnections.pollFirst()) != null) {
+        if (isUsable(candidate)) {
+          target = candidate.connection;
+        } else {
+          log.debug("Pooled connection is invalid and will be dropped.");
+          closeQuietly(candidate.connection);
+        }
+      }
+      if (target == null) {
+        log.debug("Connecting to {} with properties {},", url, properties);
+        target = DriverManager.getConnection(url, properties);
+      }
+      return getReturningConnectionProxy(target);
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLException(
+        "PooledDataSource does not support retrieving of connections with custom username and password.");
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public void setLoginTimeout(int timeout) throws SQLException {
+    throw new UnsupportedOperationException("setLoginTimeout");
+  }
+
+  @Override
+  public PrintWriter getLogWriter() {
+    throw new UnsupportedOperationException("getLogWriter");
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter pw) throws SQLException {
+    throw new UnsupportedOperationException("setLogWriter");
+  }
+
+  /**
+   * This method was added to {@link javax.sql.CommonDataSource} in Java7 and is implemented for compatibility. Calling
+   * it immediately and always throws a {@link SQLFeatureNotSupportedException}.
+   *
+   * @return nothing
+   * @throws SQLFeatureNotSupportedException always
+   */
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return (T) this;
+    }
+    throw new SQLException(
+        "DataSource of type [" + getClass().getName() + "] cannot be unwrapped as [" + iface.getName() + "]");
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  /**
+   * Closes all idle connections. Connections that are currently in use are closed once they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    IdleConnection idle;
+    while ((idle = idleConnections.pollFirst()) != null) {
+      closeQuietly(idle.connection);
+    }
+  }
+
+  private boolean isUsable(IdleConnection idle) {
+    try {
+      if (idle.connection.isClosed()) {
+        return false;
+      }
+      if (System.currentTimeMillis() - idle.idleSince < VALIDATION_INTERVAL_MILLIS) {
+        return true;
+      }
+      if (driverSupportsIsValid) {
+        return idle.connection.isValid(5);
+      }
+      try (Statement statement = idle.connection.createStatement()) {
+        return statement.execute("select 1");
+      }
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the given {@code target} to the pool.
+   *
+   * @param target the {@code Connection} to return
+   */
+  private void release(Connection target) {
+    try {
+      if (closed || target.isClosed()) {
+        closeQuietly(target);
+        return;
+      }
+      if (!target.getAutoCommit()) {
+        target.rollback();
+        target.setAutoCommit(true);
+      }
+      idleConnections.offerFirst(new IdleConnection(target, System.currentTimeMillis()));
+    } catch (SQLException e) {
+      log.debug("Failed to reset pooled connection, it will be dropped.", e);
+      closeQuietly(target);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      log.debug("Failed to close pooled connection.", e);
+    }
+  }
+
+  /**
+   * Wrap the given {@code Connection} with a proxy that delegates every method call, but returns the {@code
+   * Connection} to this pool when closed.
+   *
+   * @param target the {@code Connection} to wrap
+   * @return the wrapped {@code Connection}
+   */
+  private Connection getReturningConnectionProxy(Connection target) {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                                               new ReturningInvocationHandler(target));
+  }
+
+  /**
+   * A connection that currently is not in use.
+   */
+  private static class IdleConnection {
+
+    private final Connection connection;
+    private final long idleSince;
+
+    IdleConnection(Connection connection, long idleSince) {
+      this.connection = connection;
+      this.idleSince = idleSince;
+    }
+  }
+
+  /**
+   * Invocation handler that returns JDBC Connections to the pool instead of closing them.
+   */
+  private class ReturningInvocationHandler implements InvocationHandler {
+
+    private final Connection target;
+    private boolean returned;
+
+    /**
+     * Creates an instance that works on the given {@code Connection}.
+     *
+     * @param target the {@code Connection}
+     */
+    ReturningInvocationHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("equals")) {
+        // Only consider equal when proxies are identical.
+        return (proxy == args[0]);
+      } else if (method.getName().equals("hashCode")) {
+        // Use hashCode of Connection proxy.
+        return System.identityHashCode(proxy);
+      } else if (method.getName().equals("close")) {
+        // Handle close method: return the connection instead.
+        if (!returned) {
+          returned = true;
+          release(target);
+        }
+        return null;
+      } else if (method.getName().equals("isClosed")) {
+        return returned;
+      } else if (returned) {
+        throw new SQLException("The connection has already been returned to the pool.");
+      } else if (method.getName().equals("unwrap")) {
+        if (((Class<?>) args[0]).isInstance(proxy)) {
+          return proxy;
+        }
+      } else if (method.getName().equals("isWrapperFor")) {
+        if (((Class<?>) args[0]).isInstance(proxy)) {
+          return true;
+        }
+      }
+
+      // Invoke method on target Connection.
+      try {
+        return method.invoke(this.target, args);
+      } catch (InvocationTargetException ex) {
+        throw ex.getTargetException();
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.bukkit.util.permission.group;
+
+import io.github.mywarp.mywarp.bukkit.util.AbstractListener;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A GroupResolver that caches the group memberships resolved by another GroupResolver.
+ *
+ * <p>Memberships are cached per online player. Since GroupResolvers cannot list the groups of a player, every group is
+ * resolved once when it is first checked. The cached memberships of a player are discarded when the player joins,
+ * changes the world or quits, and once the configured duration has passed since they were first cached.</p>
+ *
+ * <p>This class must be registered as a Listener for the cache to be invalidated.</p>
+ */
+public class CachingGroupResolver extends AbstractListener implements GroupResolver {
+
+  private final GroupResolver delegate;
+  private final long durationNanos;
+  private final ConcurrentMap<UUID, CachedGroups> cache = new ConcurrentHashMap<UUID, CachedGroups>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Creates an instance that caches the memberships resolved by the given {@code delegate} for the given {@code
+   * duration}.
+   *
+   * @param delegate the GroupResolver to resolve uncached memberships
+   * @param duration the duration memberships are cached
+   */
+  public CachingGroupResolver(GroupResolver delegate, Duration duration) {
+    this.delegate = delegate;
+    this.durationNanos = duration.toNanos();
+  }
+
+  @Override
+  public boolean hasGroup(Player player, String groupId) {
+    long now = System.nanoTime();
+    CachedGroups groups = cache.get(player.getUniqueId());
+    if (groups == null || groups.isExpired(now)) {
+      groups = new CachedGroups(now + durationNanos);
+      cache.put(player.getUniqueId(), groups);
+    }
+
+    Boolean member = groups.memberships.get(groupId);
+    if (member != null) {
+      hits.incrementAndGet();
+      return member;
+    }
+    misses.incrementAndGet();
+    member = delegate.hasGroup(player, groupId);
+    groups.memberships.put(groupId, member);
+    return member;
+  }
+
+  /**
+   * Discards the cached memberships of the given {@code player}.
+   *
+   * @param player the player
+   */
+  public void invalidate(Player player) {
+    cache.remove(player.getUniqueId());
+  }
+
+  /**
+   * Gets the number of membership checks that were answered from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Gets the number of membership checks that had to be resolved by the delegate.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Called when a player joins the server.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.LOWEST)
+  public void onPlayerJoin(PlayerJoinEvent event) {
+    invalidate(event.getPlayer());
+  }
+
+  /**
+   * Called when a player changes the world.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.LOWEST)
+  public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+    invalidate(event.getPlayer());
+  }
+
+  /**
+   * Called when a player quits the server.
+   *
+   * @param event the event
+   */
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    invalidate(event.getPlayer());
+  }
+
+  /**
+   * The group memberships of a single player.
+   */
+  private static class CachedGroups {
+
+    private final ConcurrentMap<String, Boolean> memberships = new ConcurrentHashMap<String, Boolean>();
+    private final long expiry;
+
+    CachedGroups(long expiry) {
+      this.expiry = expiry;
+    }
+
+    boolean isExpired(long now) {
+      return now - expiry >= 0;
+    }
+  }
+}
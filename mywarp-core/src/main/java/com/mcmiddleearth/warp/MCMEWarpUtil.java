@@ -20,17 +20,18 @@ package com.mcmiddleearth.warp;
 import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.platform.Platform;
 import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpManager;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,15 +82,16 @@ public class MCMEWarpUtil {
         Logger.getGlobal().info("MCMEWarpUtil initialized!");
     }
     
-    public static Warp getRandomWarp(Collection<Warp> warps) {
+    public static Warp getRandomWarp(WarpManager warpManager, Predicate<Warp> predicate) {
         if(!init) {
             return null;
         }
         List<Warp> valid = new ArrayList<>();
-        for(Warp warp: warps) {
-            if(Character.isUpperCase(warp.getName().charAt(0))
-                    && isRandomWarpWorld(warp)) {
-                valid.add(warp);
+        for(String worldName: randomWarpWorlds) {
+            Optional<LocalWorld> localeWorld = platform.getGame().getWorld(worldName);
+            if(localeWorld.isPresent()) {
+                valid.addAll(warpManager.getAllByWorld(localeWorld.get().getUniqueId(),
+                        predicate.and(warp -> Character.isUpperCase(warp.getName().charAt(0)))));
             }
         }
         if(valid.size()>0) {
@@ -99,14 +101,4 @@ public class MCMEWarpUtil {
             return null;
         }
     }
-    
-    private static boolean isRandomWarpWorld(Warp warp) {
-        for(String worldName: randomWarpWorlds) {
-            Optional<LocalWorld> localeWorld = platform.getGame().getWorld(worldName);
-            if(localeWorld.isPresent() && warp.getWorldIdentifier().equals(localeWorld.get().getUniqueId())) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -29,6 +29,7 @@ import io.github.mywarp.mywarp.platform.PlayerNameResolver;
 import io.github.mywarp.mywarp.platform.Settings;
 import io.github.mywarp.mywarp.platform.capability.EconomyCapability;
 import io.github.mywarp.mywarp.platform.capability.PositionValidationCapability;
+import io.github.mywarp.mywarp.service.limit.WarpCounter;
 import io.github.mywarp.mywarp.sign.WarpSignHandler;
 import io.github.mywarp.mywarp.util.InvitationInformationListener;
 import io.github.mywarp.mywarp.util.MyWarpLogger;
@@ -36,10 +37,13 @@ import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.util.teleport.LegacyPositionCorrectionCapability;
 import io.github.mywarp.mywarp.util.teleport.StrategicTeleportHandler;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
+import io.github.mywarp.mywarp.util.teleport.ValidPositionCache;
 import io.github.mywarp.mywarp.warp.EventfulPopulatableWarpManager;
 import io.github.mywarp.mywarp.warp.MemoryPopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.PopularityScores;
 import io.github.mywarp.mywarp.warp.PopulatableWarpManager;
 import io.github.mywarp.mywarp.warp.StoragePopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.Warp;
 import io.github.mywarp.mywarp.warp.WarpManager;
 import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
 import io.github.mywarp.mywarp.warp.authorization.PermissionAuthorizationStrategy;
@@ -50,14 +54,21 @@ import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
 import io.github.mywarp.mywarp.warp.storage.RelationalDataService;
 import io.github.mywarp.mywarp.warp.storage.StorageInitializationException;
 import io.github.mywarp.mywarp.warp.storage.WarpStorage;
+import io.github.mywarp.mywarp.warp.storage.WarpSnapshotFile;
+import io.github.mywarp.mywarp.warp.storage.WarpSnapshotWriter;
 import io.github.mywarp.mywarp.warp.storage.WarpStorageFactory;
+import io.github.mywarp.mywarp.warp.storage.WriteBehindWarpStorage;
 
 import org.slf4j.Logger;
 
+import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nullable;
 
@@ -75,8 +86,15 @@ public final class MyWarp {
   private final RelationalDataService dataService;
   private final WarpStorage warpStorage;
   private final PopulatableWarpManager warpManager;
+  private final WarpCounter warpCounter;
+  private final PopularityScores popularityScores;
   private final EventBus eventBus;
   private final AuthorizationResolver authorizationResolver;
+  private final ValidPositionCache validPositionCache;
+  @Nullable
+  private final WarpSnapshotFile snapshotFile;
+  @Nullable
+  private final WarpSnapshotWriter snapshotWriter;
 
   private CommandHandler commandHandler;
   private TeleportHandler teleportHandler;
@@ -92,7 +110,7 @@ public final class MyWarp {
    * thus be ready to operate.</p>
    *
    * <p>Warps might no yet be available, but are scheduled to be loaded from the storage system. Once they are
-   * available, {@link Platform#onWarpsLoaded()} will be called on {@code platform}.</p>
+   * available, {@link Platform#onWarpsLoaded(Collection)} will be called on {@code platform}.</p>
    *
    * @param platform the platform MyWarp will run on
    * @return a fully operational instance of MyWarp that runs on {@code platform}
@@ -106,12 +124,18 @@ public final class MyWarp {
       
     ConnectionConfiguration connectionConfiguration = platform.getSettings().getRelationalStorageConfiguration();
     RelationalDataService dataService = platform.createDataService(connectionConfiguration);
-    WarpStorage warpStorage;
-
-    warpStorage =
-        new AsyncWritingWarpStorage(
-            WarpStorageFactory.createInitialized(dataService.getDataSource(), connectionConfiguration),
-            dataService.getExecutorService());
+    WarpStorage warpStorage =
+        WarpStorageFactory.createInitialized(dataService.getDataSource(), connectionConfiguration);
+
+    Settings settings = platform.getSettings();
+    if (settings.isStorageWriteBehindEnabled()) {
+      warpStorage =
+          new WriteBehindWarpStorage(warpStorage, dataService.getExecutorService(),
+                                     settings.getStorageWriteBehindFlushInterval(),
+                                     settings.getStorageWriteBehindMaxQueueSize());
+    } else {
+      warpStorage = new AsyncWritingWarpStorage(warpStorage, dataService.getExecutorService());
+    }
 
     EventBus eventBus = new EventBus();
 
@@ -120,13 +144,33 @@ public final class MyWarp {
         new EventfulPopulatableWarpManager(
             new StoragePopulatableWarpManager(new MemoryPopulatableWarpManager(), warpStorage), eventBus);
 
+    WarpCounter warpCounter = new WarpCounter(warpManager);
+    eventBus.register(warpCounter);
+
+    PopularityScores popularityScores = new PopularityScores(warpManager);
+    eventBus.register(popularityScores);
+
+    WarpSnapshotFile snapshotFile = null;
+    WarpSnapshotWriter snapshotWriter = null;
+    if (settings.isStorageSnapshotEnabled()) {
+      snapshotFile = new WarpSnapshotFile(new File(platform.getDataFolder(), "warps.snapshot"));
+      snapshotWriter = new WarpSnapshotWriter(warpManager, snapshotFile, dataService.getExecutorService());
+      eventBus.register(snapshotWriter);
+    }
+
+    ValidPositionCache validPositionCache = new ValidPositionCache();
+    eventBus.register(validPositionCache);
+
     AuthorizationResolver
         authorizationResolver =
         new AuthorizationResolver(new PermissionAuthorizationStrategy(
             new WorldAccessAuthorizationStrategy(new WarpPropertiesAuthorizationStrategy(), platform.getGame(),
                                                  platform.getSettings())));
 
-    MyWarp myWarp = new MyWarp(platform, dataService, warpStorage, warpManager, eventBus, authorizationResolver);
+    MyWarp
+        myWarp =
+        new MyWarp(platform, dataService, warpStorage, warpManager, warpCounter, popularityScores, eventBus,
+                   authorizationResolver, validPositionCache, snapshotFile, snapshotWriter);
     myWarp.initializeMutableFields();
     myWarp.loadWarps();
 
@@ -134,13 +178,21 @@ public final class MyWarp {
   }
 
   private MyWarp(Platform platform, RelationalDataService dataService, WarpStorage warpStorage,
-                 PopulatableWarpManager warpManager, EventBus eventBus, AuthorizationResolver authorizationResolver) {
+                 PopulatableWarpManager warpManager, WarpCounter warpCounter, PopularityScores popularityScores,
+                 EventBus eventBus, AuthorizationResolver authorizationResolver,
+                 ValidPositionCache validPositionCache, @Nullable WarpSnapshotFile snapshotFile,
+                 @Nullable WarpSnapshotWriter snapshotWriter) {
     this.platform = platform;
     this.dataService = dataService;
     this.warpStorage = warpStorage;
     this.warpManager = warpManager;
+    this.warpCounter = warpCounter;
+    this.popularityScores = popularityScores;
     this.eventBus = eventBus;
     this.authorizationResolver = authorizationResolver;
+    this.validPositionCache = validPositionCache;
+    this.snapshotFile = snapshotFile;
+    this.snapshotWriter = snapshotWriter;
   }
 
   /**
@@ -153,7 +205,11 @@ public final class MyWarp {
   public void reload() {
     // cleanup
     warpManager.depopulate();
+    warpCounter.rebuild();
+    popularityScores.refresh();
     DynamicMessages.clearCache();
+    // the validation strategies might change
+    validPositionCache.clear();
     if (invitationInformationListener != null) {
       eventBus.unregister(invitationInformationListener);
     }
@@ -211,6 +267,27 @@ public final class MyWarp {
     return warpManager;
   }
 
+  /**
+   * Gets the WarpCounter that counts the warps of this MyWarp instance's WarpManager.
+   *
+   * @return the WarpCounter
+   */
+  public WarpCounter getWarpCounter() {
+    return warpCounter;
+  }
+
+  /**
+   * Gets the PopularityScores that cache the popularity of the warps of this MyWarp instance's WarpManager.
+   *
+   * <p>Scores are not refreshed automatically as they decrease over time. Platforms should call
+   * {@link PopularityScores#refresh()} periodically.</p>
+   *
+   * @return the PopularityScores
+   */
+  public PopularityScores getPopularityScores() {
+    return popularityScores;
+  }
+
   /**
    * Gets the AuthorizationResolver instance of this MyWarp instance.
    *
@@ -238,6 +315,17 @@ public final class MyWarp {
     return teleportHandler;
   }
 
+  /**
+   * Gets the ValidPositionCache of this MyWarp instance.
+   *
+   * <p>Platforms must notify the cache whenever a block changes, so that outdated positions are discarded.</p>
+   *
+   * @return the validPositionCache
+   */
+  public ValidPositionCache getValidPositionCache() {
+    return validPositionCache;
+  }
+
   /**
    * Creates a new WarpSignHandler that hooks into the PopulatableWarpManager configured for this MyWarp instance.
    *
@@ -248,12 +336,39 @@ public final class MyWarp {
                                platform.getCapability(EconomyCapability.class).orElse(null));
   }
 
+  /**
+   * Writes a snapshot of all warps if snapshots are enabled and warps have changed since the last snapshot. Platforms
+   * should call this method periodically from the thread that modifies warps.
+   */
+  public void snapshotWarps() {
+    if (snapshotWriter != null) {
+      snapshotWriter.snapshotIfOutdated();
+    }
+  }
+
+  /**
+   * Shuts down this MyWarp instance.
+   *
+   * <p>Changes that are still queued for the storage are scheduled to be written on the {@code ExecutorService} of the
+   * {@code RelationalDataService}, so this method must be called before the {@code RelationalDataService} is
+   * closed.</p>
+   */
+  public void shutdown() {
+    snapshotWarps();
+    log.debug("Teleport positions were answered from the cache {} times and validated {} times.",
+              validPositionCache.getHitCount(), validPositionCache.getMissCount());
+    if (warpStorage instanceof WriteBehindWarpStorage) {
+      ((WriteBehindWarpStorage) warpStorage).close();
+    }
+  }
+
   private void initializeMutableFields() {
     List<PositionValidationCapability> validationStrategies = new ArrayList<PositionValidationCapability>();
     validationStrategies.add(new LegacyPositionCorrectionCapability());
     platform.getCapability(PositionValidationCapability.class).ifPresent(validationStrategies::add);
 
-    teleportHandler = new StrategicTeleportHandler(getSettings(), getGame(), validationStrategies);
+    teleportHandler =
+        new StrategicTeleportHandler(getSettings(), getGame(), validPositionCache, validationStrategies);
 
     commandHandler = new CommandHandler(this, platform);
 
@@ -264,14 +379,68 @@ public final class MyWarp {
   }
 
   private void loadWarps() {
-    //FIXME
-    CompletableFuture.supplyAsync(warpStorage::getWarps, dataService.getExecutorService()).thenAcceptAsync(warps -> {
-      warpManager.populate(warps);
+    Executor executor = dataService.getBulkExecutorService();
+
+    // the snapshot cannot be trusted while changes to the warps might not be written to it yet
+    if (snapshotFile != null && snapshotWriter.isCurrent()) {
+      CompletableFuture.supplyAsync(snapshotFile::read, executor).thenAcceptAsync(snapshot -> {
+        if (!snapshot.isPresent()) {
+          loadWarpsFromStorage();
+          return;
+        }
+        populate(snapshot.get());
+        long changeCount = snapshotWriter.getChangeCount();
+
+        //notify platform
+        platform.onWarpsLoaded(snapshot.get());
+
+        log.info("{} warps loaded from snapshot.", warpManager.getNumberOfAllWarps());
+        verifySnapshot(changeCount);
+      }, getGame().getExecutor());
+      return;
+    }
+    loadWarpsFromStorage();
+  }
+
+  private void loadWarpsFromStorage() {
+    Executor executor = dataService.getBulkExecutorService();
+    CompletableFuture.supplyAsync(warpStorage::getWarps, executor).thenAcceptAsync(warps -> {
+      populate(warps);
+      if (snapshotWriter != null) {
+        snapshotWriter.snapshot(warps);
+      }
 
       //notify platform
-      platform.onWarpsLoaded();
+      platform.onWarpsLoaded(warps);
 
       log.info("{} warps loaded.", warpManager.getNumberOfAllWarps());
-    });
+    }, getGame().getExecutor());
+  }
+
+  private void verifySnapshot(long changeCount) {
+    // the database might have been changed externally since the snapshot was written
+    Executor executor = dataService.getBulkExecutorService();
+    CompletableFuture.supplyAsync(warpStorage::getWarps, executor).thenAcceptAsync(stored -> {
+      // warps changed since they were loaded might not be stored yet, so their current state is kept
+      List<Warp> warps = snapshotWriter.merge(stored, changeCount);
+
+      if (WarpSnapshotFile.checksum(warps) == WarpSnapshotFile.checksum(warpManager.getAll(warp -> true))) {
+        log.debug("Warp snapshot matches the storage.");
+        return;
+      }
+      log.info("Warp snapshot is outdated, {} warps are reloaded from the storage.", warps.size());
+      warpManager.depopulate();
+      populate(warps);
+      snapshotWriter.snapshot(warps);
+
+      //notify platform
+      platform.onWarpsLoaded(warps);
+    }, getGame().getExecutor());
+  }
+
+  private void populate(Collection<Warp> warps) {
+    warpManager.populate(warps);
+    warpCounter.rebuild();
+    popularityScores.refresh();
   }
 }
@@ -19,6 +19,8 @@
 
 package io.github.mywarp.mywarp.command;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
 import com.sk89q.intake.CommandCallable;
 import com.sk89q.intake.CommandException;
 import com.sk89q.intake.CommandMapping;
@@ -61,6 +63,7 @@ import io.github.mywarp.mywarp.util.Message;
 import io.github.mywarp.mywarp.util.MyWarpLogger;
 import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
+import io.github.mywarp.mywarp.warp.PopularityScores;
 import io.github.mywarp.mywarp.warp.WarpManager;
 import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
 
@@ -68,12 +71,16 @@ import org.apache.commons.lang.text.StrBuilder;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nullable;
 
@@ -89,6 +96,8 @@ public final class CommandHandler {
   private static final Logger log = MyWarpLogger.getLogger(CommandHandler.class);
 
   private final Dispatcher dispatcher;
+  private final ImmutableList<String> commandPermissions;
+  private final ConcurrentMap<BitSet, ImmutableSortedSet<String>> usableCommandsCache = new ConcurrentHashMap<>();
 
   /**
    * Creates an instance.
@@ -97,18 +106,19 @@ public final class CommandHandler {
    * @param platform the platform commands will hook into
    */
   public CommandHandler(MyWarp myWarp, Platform platform) {
-    this(myWarp, platform, myWarp.getWarpManager(), myWarp.getAuthorizationResolver(), platform.getPlayerNameResolver(),
-         platform.getGame(), platform.getSettings(), myWarp.getTeleportHandler());
+    this(myWarp, platform, myWarp.getWarpManager(), myWarp.getPopularityScores(), myWarp.getAuthorizationResolver(),
+         platform.getPlayerNameResolver(), platform.getGame(), platform.getSettings(), myWarp.getTeleportHandler());
   }
 
-  private CommandHandler(MyWarp myWarp, Platform platform, WarpManager warpManager,
+  private CommandHandler(MyWarp myWarp, Platform platform, WarpManager warpManager, PopularityScores popularityScores,
                          AuthorizationResolver authorizationResolver, PlayerNameResolver playerNameResolver, Game game,
                          Settings settings, TeleportHandler teleportHandler) {
 
     // create injector and register modules
     Injector injector = Intake.createInjector();
-    injector.install(new BaseModule(warpManager, authorizationResolver, playerNameResolver, game, settings, this,
-                                    platform.getDataFolder()));
+    injector.install(
+        new BaseModule(warpManager, popularityScores, authorizationResolver, playerNameResolver, game, settings, this,
+                       platform.getDataFolder()));
     injector.install(new PrimitivesModule());
     injector.install(new ProvidedModule());
 
@@ -143,7 +153,7 @@ public final class CommandHandler {
     @Nullable LimitService limitService = null;
     Optional<LimitCapability> limitOptional = platform.getCapability(LimitCapability.class);
     if (limitOptional.isPresent()) {
-      limitService = new LimitService(limitOptional.get(), warpManager);
+      limitService = new LimitService(limitOptional.get(), warpManager, myWarp.getWarpCounter());
     }
 
     //create some command instances (used below)
@@ -154,12 +164,17 @@ public final class CommandHandler {
     dispatcher =
         new CommandGraph().builder(builder).commands().registerMethods(usageCmd).group("warp", "mywarp", "mw")
             .registerMethods(defaultUsageCmd).registerMethods(
-            new InformativeCommands(warpManager, limitService, authorizationResolver, game, playerNameResolver))
+            new InformativeCommands(warpManager, myWarp.getWarpCounter(), limitService, authorizationResolver, game,
+                                    playerNameResolver))
             .registerMethods(new ManagementCommands(warpManager, limitService))
             .registerMethods(new SocialCommands(game, playerNameResolver, limitService))
             .registerMethods(new UtilityCommands(myWarp, this, basic, game)).group("import", "migrate")
             .registerMethods(new ImportCommands(warpManager, platform, playerNameResolver, game)).graph()
             .getDispatcher();
+
+    Set<String> permissions = new LinkedHashSet<>();
+    collectPermissions(permissions, dispatcher);
+    commandPermissions = ImmutableList.copyOf(permissions);
   }
 
   /**
@@ -259,17 +274,50 @@ public final class CommandHandler {
    * Gets a Set with all commands usable for the given Actor. <p>The commands are represented as Strings. Each command
    * is prefixed with {@code /}, aliases are separated by {@code |}.</p>
    *
+   * <p>Whether a command is usable only depends on the permissions required by the registered commands. The commands
+   * are therefore flattened once for every combination of these permissions and the result is cached. Since a new
+   * CommandHandler is created whenever MyWarp is reloaded, the cache lives until the next reload.</p>
+   *
    * @param forWhom the Actor for whom the returned commands should be usable
    * @return all usable commands as strings
    */
   Set<String> getUsableCommands(Actor forWhom) {
-    Set<String> usableCommands = new TreeSet<>();
+    BitSet fingerprint = new BitSet(commandPermissions.size());
+    for (int i = 0; i < commandPermissions.size(); i++) {
+      if (forWhom.hasPermission(commandPermissions.get(i))) {
+        fingerprint.set(i);
+      }
+    }
 
-    flattenCommands(usableCommands, createNamespace(forWhom), "", dispatcher);
+    ImmutableSortedSet<String> usableCommands = usableCommandsCache.get(fingerprint);
+    if (usableCommands == null) {
+      Set<String> flattened = new TreeSet<>();
+      flattenCommands(flattened, createNamespace(forWhom), "", dispatcher);
+      usableCommands = ImmutableSortedSet.copyOf(flattened);
 
+      ImmutableSortedSet<String> existing = usableCommandsCache.putIfAbsent(fingerprint, usableCommands);
+      if (existing != null) {
+        usableCommands = existing;
+      }
+    }
     return usableCommands;
   }
 
+  /**
+   * Adds the permissions of all commands from the given CommandCallable and its subcommands to the given Collection.
+   *
+   * @param permissions the Collection the permissions are added to
+   * @param current     the CommandCallable
+   */
+  private void collectPermissions(Collection<String> permissions, CommandCallable current) {
+    permissions.addAll(current.getDescription().getPermissions());
+    if (current instanceof Dispatcher) {
+      for (CommandMapping mapping : ((Dispatcher) current).getCommands()) {
+        collectPermissions(permissions, mapping.getCallable());
+      }
+    }
+  }
+
   /**
    * Adds a all commands from the given Dispatcher to the given Collection, transforming them into Strings that include
    * the full command string as the user would enter it. Commands that are not usable under the given CommandLocals are
@@ -128,7 +128,7 @@ public final class ImportCommands {
   private void start(final Actor initiator, final RelationalDataService dataService, final WarpSource warpSource) {
     initiator.sendMessage(msg.getString("import.started"));
 
-    ExecutorService executorService = dataService.getExecutorService();
+    ExecutorService executorService = dataService.getBulkExecutorService();
 
     CompletableFuture.supplyAsync(warpSource::getWarps, executorService).whenCompleteAsync((warps, ex) -> {
       if (ex != null) {
@@ -43,6 +43,7 @@ import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.platform.PlayerNameResolver;
 import io.github.mywarp.mywarp.service.economy.FeeType;
 import io.github.mywarp.mywarp.service.limit.LimitService;
+import io.github.mywarp.mywarp.service.limit.WarpCounter;
 import io.github.mywarp.mywarp.util.Message;
 import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.warp.Warp;
@@ -68,6 +69,7 @@ public final class InformativeCommands {
 
   private final AuthorizationResolver authorizationResolver;
   private final WarpManager warpManager;
+  private final WarpCounter warpCounter;
   private final Game game;
   private final PlayerNameResolver playerNameResolver;
   @Nullable
@@ -77,15 +79,17 @@ public final class InformativeCommands {
    * Creates an instance.
    *
    * @param warpManager           the WarpManager used by commands
+   * @param warpCounter           the WarpCounter used by commands
    * @param limitService          the LimitService used by commands - may be {@code null} if no limit service is used
    * @param authorizationResolver the AuthorizationResolver used by commands
    * @param game                  the Game used by commands
    * @param playerNameResolver    the PlayerNameResolver used by commands
    */
-  InformativeCommands(WarpManager warpManager, @Nullable LimitService limitService,
+  InformativeCommands(WarpManager warpManager, WarpCounter warpCounter, @Nullable LimitService limitService,
                       AuthorizationResolver authorizationResolver, Game game, PlayerNameResolver playerNameResolver) {
     this.authorizationResolver = authorizationResolver;
     this.warpManager = warpManager;
+    this.warpCounter = warpCounter;
     this.game = game;
     this.limitService = limitService;
     this.playerNameResolver = playerNameResolver;
@@ -110,7 +114,7 @@ public final class InformativeCommands {
     if (limitService != null) {
       printer = AssetsPrinter.create(creator, limitService);
     } else {
-      printer = AssetsPrinter.create(creator, game, warpManager);
+      printer = AssetsPrinter.create(creator, game, warpManager, warpCounter);
     }
     printer.print(actor);
   }
@@ -137,6 +141,9 @@ public final class InformativeCommands {
       filter = filter.and(input -> StringUtils.containsIgnoreCase(input.getName(), name));
     }
 
+    // warps within a radius are resolved using the world index
+    UUID radiusWorldId = null;
+
     if (radius != null) {
       if (!(actor instanceof LocalEntity)) {
         throw new IllegalCommandSenderException(actor);
@@ -144,12 +151,11 @@ public final class InformativeCommands {
 
       LocalEntity entity = (LocalEntity) actor;
 
-      final UUID worldId = entity.getWorld().getUniqueId();
+      radiusWorldId = entity.getWorld().getUniqueId();
 
       final int squaredRadius = radius * radius;
       final Vector3d position = entity.getPosition();
-      filter = filter.and(input -> input.getWorldIdentifier().equals(worldId)
-                                   && input.getPosition().distanceSquared(position) <= squaredRadius);
+      filter = filter.and(input -> input.getPosition().distanceSquared(position) <= squaredRadius);
     }
 
     if (world != null) {
@@ -161,7 +167,8 @@ public final class InformativeCommands {
 
     //query the warps
     //noinspection RedundantTypeArguments
-    final List<Warp> warps = Ordering.natural().sortedCopy(warpManager.getAll(filter));
+    final List<Warp> warps = Ordering.natural().sortedCopy(
+        radiusWorldId != null ? warpManager.getAllByWorld(radiusWorldId, filter) : warpManager.getAll(filter));
 
     Function<Warp, Message> mapping = input -> {
       // 'name' (world) by player
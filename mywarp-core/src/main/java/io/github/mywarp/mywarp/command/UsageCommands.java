@@ -50,7 +50,7 @@ public final class UsageCommands {
   @Command(aliases = {"to"}, desc = "warp-to.description")
   @Require(CMD_TO_PERMISSION)
   public void to(@Sender LocalPlayer player, @Usable Warp warp) {
-    teleportService.teleport(player, warp);
+    teleportService.teleportAsync(player, warp);
   }
 
   /**
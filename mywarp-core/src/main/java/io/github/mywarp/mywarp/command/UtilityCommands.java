@@ -33,13 +33,18 @@ import io.github.mywarp.mywarp.command.util.NoSuchWorldException;
 import io.github.mywarp.mywarp.command.util.paginator.StringPaginator;
 import io.github.mywarp.mywarp.platform.Actor;
 import io.github.mywarp.mywarp.platform.Game;
+import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.platform.LocalPlayer;
 import io.github.mywarp.mywarp.service.economy.FeeType;
 import io.github.mywarp.mywarp.service.teleport.TeleportService;
 import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
+import io.github.mywarp.mywarp.util.i18n.LocaleManager;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Bundles utility commands.
@@ -53,6 +58,9 @@ public final class UtilityCommands {
   private final TeleportService teleportService;
   private final Game game;
 
+  private final ConcurrentMap<Locale, ConcurrentMap<Set<String>, StringPaginator<String>.PaginatedResults>> helpPages =
+      new ConcurrentHashMap<>();
+
   /**
    * Creates an instance.
    *
@@ -74,8 +82,11 @@ public final class UtilityCommands {
   public void help(Actor actor, @OptArg("1") int page) {
     Set<String> usableCommands = commandHandler.getUsableCommands(actor);
 
-    StringPaginator.of(msg.getString("help.heading"), usableCommands).withNote(msg.getString("help.note")).paginate()
-        .display(actor, page);
+    // usable commands are cached by the CommandHandler, so the paginated help can be cached the same way
+    helpPages.computeIfAbsent(LocaleManager.getLocale(), l -> new ConcurrentHashMap<>())
+        .computeIfAbsent(usableCommands,
+                         c -> StringPaginator.of(msg.getString("help.heading"), c).withNote(msg.getString("help.note"))
+                             .paginate()).display(actor, page);
   }
 
   @Command(aliases = {"point"}, desc = "point.description", help = "point.help")
@@ -95,11 +106,19 @@ public final class UtilityCommands {
   @Require("mywarp.cmd.player")
   @Billable(FeeType.WARP_PLAYER)
   public void player(Actor actor, LocalPlayer teleportee, @Viewable Warp warp) {
-    if (teleportService.teleport(teleportee, warp).isPositionModified()) {
-      actor.sendMessage(msg.getString("warp-player.teleport-successful", teleportee.getName(), warp.getName()));
-    } else {
-      actor.sendError(msg.getString("warp-player.teleport-failed", teleportee.getName(), warp.getName()));
-    }
+    Locale locale = LocaleManager.getLocale();
+    teleportService.teleportAsync(teleportee, warp).thenAccept(status -> {
+      // the actor might have left while the teleport was prepared
+      if (actor instanceof LocalEntity && !((LocalEntity) actor).isValid()) {
+        return;
+      }
+      LocaleManager.setLocale(locale);
+      if (status.isPositionModified()) {
+        actor.sendMessage(msg.getString("warp-player.teleport-successful", teleportee.getName(), warp.getName()));
+      } else {
+        actor.sendError(msg.getString("warp-player.teleport-failed", teleportee.getName(), warp.getName()));
+      }
+    });
   }
 
   @Command(aliases = {"reload"}, desc = "reload.description", help = "reload.help")
@@ -34,6 +34,7 @@ import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.platform.LocalPlayer;
 import io.github.mywarp.mywarp.platform.PlayerNameResolver;
 import io.github.mywarp.mywarp.platform.Settings;
+import io.github.mywarp.mywarp.warp.PopularityScores;
 import io.github.mywarp.mywarp.warp.Warp;
 import io.github.mywarp.mywarp.warp.WarpManager;
 import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
@@ -49,6 +50,7 @@ import java.util.function.Predicate;
 public class BaseModule extends AbstractModule {
 
   private final WarpManager warpManager;
+  private final PopularityScores popularityScores;
   private final AuthorizationResolver authorizationResolver;
   private final PlayerNameResolver playerNameResolver;
   private final Game game;
@@ -60,6 +62,7 @@ public class BaseModule extends AbstractModule {
    * Creates an instance.
    *
    * @param warpManager           the WarpManager to use
+   * @param popularityScores      the PopularityScores to use
    * @param authorizationResolver the AuthorizationResolver to use
    * @param playerNameResolver    the PlayerNameResolver to use
    * @param game                  the Game to use
@@ -67,10 +70,11 @@ public class BaseModule extends AbstractModule {
    * @param commandHandler        the CommandHandler to use
    * @param base                  the base File to use
    */
-  public BaseModule(WarpManager warpManager, AuthorizationResolver authorizationResolver,
-                    PlayerNameResolver playerNameResolver, Game game, Settings settings, CommandHandler commandHandler,
-                    File base) {
+  public BaseModule(WarpManager warpManager, PopularityScores popularityScores,
+                    AuthorizationResolver authorizationResolver, PlayerNameResolver playerNameResolver, Game game,
+                    Settings settings, CommandHandler commandHandler, File base) {
     this.warpManager = warpManager;
+    this.popularityScores = popularityScores;
     this.authorizationResolver = authorizationResolver;
     this.playerNameResolver = playerNameResolver;
     this.game = game;
@@ -86,19 +90,22 @@ public class BaseModule extends AbstractModule {
     bind(UUID.class).toProvider(new PlayerIdentifierProvider(playerNameResolver));
 
     //warps
-    bind(Warp.class).annotatedWith(Viewable.class).toProvider(new WarpProvider(authorizationResolver, warpManager) {
+    bind(Warp.class).annotatedWith(Viewable.class)
+        .toProvider(new WarpProvider(authorizationResolver, warpManager, popularityScores) {
       @Override
       Predicate<Warp> isValid(AuthorizationResolver resolver, Actor actor) {
         return resolver.isViewable(actor);
       }
     });
-    bind(Warp.class).annotatedWith(Modifiable.class).toProvider(new WarpProvider(authorizationResolver, warpManager) {
+    bind(Warp.class).annotatedWith(Modifiable.class)
+        .toProvider(new WarpProvider(authorizationResolver, warpManager, popularityScores) {
       @Override
       Predicate<Warp> isValid(AuthorizationResolver resolver, Actor actor) {
         return resolver.isModifiable(actor);
       }
     });
-    bind(Warp.class).annotatedWith(Usable.class).toProvider(new WarpProvider(authorizationResolver, warpManager) {
+    bind(Warp.class).annotatedWith(Usable.class)
+        .toProvider(new WarpProvider(authorizationResolver, warpManager, popularityScores) {
       @Override
       Predicate<Warp> isValid(AuthorizationResolver resolver, Actor actor) {
         checkArgument(actor instanceof LocalEntity, "This Binding must be used by an LocalEntity");
@@ -19,7 +19,6 @@
 
 package io.github.mywarp.mywarp.command.parametric.provider;
 
-import com.google.common.collect.Iterables;
 import com.sk89q.intake.argument.ArgumentException;
 import com.sk89q.intake.argument.CommandArgs;
 import com.sk89q.intake.parametric.ProvisionException;
@@ -76,6 +75,6 @@ class WarpNameProvider extends NonSuggestiveProvider<String> {
       return warpManager.containsByName(nameToCheck);
     }
 
-    return !Iterables.isEmpty(warpManager.getAll(input -> input.getName().equalsIgnoreCase(nameToCheck)));
+    return !warpManager.getAllByNameIgnoreCase(nameToCheck, input -> true).isEmpty();
   }
 }
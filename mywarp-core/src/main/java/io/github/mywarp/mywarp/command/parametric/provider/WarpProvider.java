@@ -21,6 +21,7 @@ package io.github.mywarp.mywarp.command.parametric.provider;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.mcmiddleearth.warp.MCMEWarpUtil;
 import com.sk89q.intake.argument.CommandArgs;
@@ -31,11 +32,13 @@ import com.sk89q.intake.parametric.Provider;
 import io.github.mywarp.mywarp.command.parametric.provider.exception.NoSuchWarpException;
 import io.github.mywarp.mywarp.command.util.Matches;
 import io.github.mywarp.mywarp.platform.Actor;
+import io.github.mywarp.mywarp.warp.PopularityScores;
 import io.github.mywarp.mywarp.warp.Warp;
 import io.github.mywarp.mywarp.warp.WarpManager;
 import io.github.mywarp.mywarp.warp.authorization.AuthorizationResolver;
 
 import java.lang.annotation.Annotation;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -47,10 +50,15 @@ abstract class WarpProvider implements Provider<Warp> {
 
   private final AuthorizationResolver authorizationResolver;
   private final WarpManager warpManager;
+  private final PopularityScores popularityScores;
+  private final Warp.PopularityComparator popularityComparator;
 
-  WarpProvider(AuthorizationResolver authorizationResolver, WarpManager warpManager) {
+  WarpProvider(AuthorizationResolver authorizationResolver, WarpManager warpManager,
+               PopularityScores popularityScores) {
     this.authorizationResolver = authorizationResolver;
     this.warpManager = warpManager;
+    this.popularityScores = popularityScores;
+    this.popularityComparator = new Warp.PopularityComparator(popularityScores);
   }
 
   private Predicate<Warp> isValid(Namespace namespace) {
@@ -80,10 +88,10 @@ abstract class WarpProvider implements Provider<Warp> {
     String query = arguments.next();
     if(query.equalsIgnoreCase("random")) {
 //Logger.getGlobal().info("random warp");
-        Warp random = MCMEWarpUtil.getRandomWarp(warpManager.getAll(isValid(arguments.getNamespace())));
+        Warp random = MCMEWarpUtil.getRandomWarp(warpManager, isValid(arguments.getNamespace()));
         if(random == null) {
-            throw new NoSuchWarpException("random", Matches.from(warpManager.getAll(isValid(arguments.getNamespace()))).withStringFunction(Warp::getName)
-                .withValueComparator(new Warp.PopularityComparator()).forQuery(query).getSortedMatches());
+            throw new NoSuchWarpException("random", Matches.from(ranked(isValid(arguments.getNamespace()))).withStringFunction(Warp::getName)
+                .withOrderedElements().forQuery(query).getSortedMatches());
         }
         return random;
     } else {
@@ -91,9 +99,21 @@ abstract class WarpProvider implements Provider<Warp> {
             query = query + " " + arguments.next();
         } 
 
+        Predicate<Warp> isValid = isValid(arguments.getNamespace());
+
+        // equal and equal-ignoring-case matches are resolved using the manager's name index
+        Optional<Warp> equalMatch = warpManager.getByName(query).filter(isValid);
+        if (equalMatch.isPresent()) {
+          return equalMatch.get();
+        }
+        Collection<Warp> equalIgnoreCaseMatches = warpManager.getAllByNameIgnoreCase(query, isValid);
+        if (equalIgnoreCaseMatches.size() == 1) {
+          return equalIgnoreCaseMatches.iterator().next();
+        }
+
         Matches<Warp>
-            matches = Matches.from(warpManager.getAll(isValid(arguments.getNamespace()))).withStringFunction(Warp::getName)
-                .withValueComparator(new Warp.PopularityComparator()).forQuery(query);
+            matches = Matches.from(ranked(isValid)).withStringFunction(Warp::getName)
+                .withOrderedElements().forQuery(query);
         Optional<Warp> exactMatch = matches.getExactMatch();
 
         if (!exactMatch.isPresent()) {
@@ -105,9 +125,28 @@ abstract class WarpProvider implements Provider<Warp> {
 
   @Override
   public List<String> getSuggestions(String prefix, Namespace locals) {
-    return Lists.transform(Matches.from(warpManager.getAll(isValid(locals))).withStringFunction(Warp::getName)
-                               .withValueComparator(new Warp.PopularityComparator()).forQuery(prefix)
-                               .getSortedMatches(), Warp::getName);
+    Predicate<Warp> isValid = isValid(locals);
+
+    // only fall back to scanning all warps for infix matches if no warp starts with the prefix
+    Collection<Warp> candidates = warpManager.getAllByNamePrefix(prefix, isValid);
+    Matches.MatcherData<Warp> matcherData;
+    if (!candidates.isEmpty()) {
+      matcherData = Matches.from(candidates).withValueComparator(popularityComparator);
+    } else {
+      matcherData = Matches.from(ranked(isValid)).withOrderedElements();
+    }
+    return Lists.transform(matcherData.withStringFunction(Warp::getName).forQuery(prefix).getSortedMatches(),
+                           Warp::getName);
+  }
+
+  /**
+   * Gets all warps that fulfill the given {@code isValid} predicate, ordered by their popularity.
+   *
+   * @param isValid the predicate
+   * @return all valid warps, popular warps first
+   */
+  private Iterable<Warp> ranked(Predicate<Warp> isValid) {
+    return Iterables.filter(popularityScores.getRanking(), isValid::test);
   }
 
   private static Actor getActor(Namespace namespace) {
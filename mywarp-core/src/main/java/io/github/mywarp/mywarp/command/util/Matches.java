@@ -52,7 +52,8 @@ public class Matches<E> {
   private final List<E> containsMatches = new ArrayList<E>();
   private final List<E> containsIgnoreCaseMatches = new ArrayList<E>();
 
-  private Matches(String query, Iterable<E> elements, Function<E, String> stringFunction, Comparator<E> comparator) {
+  private Matches(String query, Iterable<E> elements, Function<E, String> stringFunction,
+                  @Nullable Comparator<E> comparator) {
     for (E element : elements) {
       String toTest = stringFunction.apply(element);
       if (toTest == null) {
@@ -70,10 +71,13 @@ public class Matches<E> {
       }
     }
 
-    equalMatches.sort(comparator);
-    equalIgnoreCaseMatches.sort(comparator);
-    containsMatches.sort(comparator);
-    containsIgnoreCaseMatches.sort(comparator);
+    // elements that are already ordered keep their order
+    if (comparator != null) {
+      equalMatches.sort(comparator);
+      equalIgnoreCaseMatches.sort(comparator);
+      containsMatches.sort(comparator);
+      containsIgnoreCaseMatches.sort(comparator);
+    }
   }
 
   /**
@@ -153,6 +157,7 @@ public class Matches<E> {
     private final Iterable<E> elements;
 
     private Function<E, String> stringFunction = Object::toString;
+    @Nullable
     private Comparator<E> valueComparator = Comparator.comparing(Object::toString);
 
     private MatcherData(Iterable<E> elements) {
@@ -182,6 +187,17 @@ public class Matches<E> {
       return this;
     }
 
+    /**
+     * Declares that the elements are already in the order matches of the same kind should have, so they are not
+     * sorted. This overrides any Comparator set via {@link #withValueComparator(Comparator)}.
+     *
+     * @return this instance
+     */
+    public MatcherData<E> withOrderedElements() {
+      this.valueComparator = null;
+      return this;
+    }
+
     /**
      * Creates a Matches instance with the given query.
      *
@@ -133,12 +133,16 @@ public class StringPaginator<E> {
 
   /**
    * Results that are paginated.
+   *
+   * <p>Each page is rendered once, when it is requested for the first time. Instances may therefore be kept and
+   * displayed repeatedly, as long as the paginated elements do not change.</p>
    */
   public class PaginatedResults {
 
     private final String header;
     private final List<String> notes;
     private final List<List<Message>> pages;
+    private final Message[] renderedPages;
 
     private PaginatedResults(StringPaginator<E> paginator) {
       this.header = paginator.header;
@@ -146,6 +150,7 @@ public class StringPaginator<E> {
       this.pages =
           Lists.partition(Lists.transform(paginator.elements, paginator.mapping),
                           paginator.entriesPerPage - notes.size());
+      this.renderedPages = new Message[pages.size()];
     }
 
     /**
@@ -165,6 +170,16 @@ public class StringPaginator<E> {
         throw new UnknownPageException(pages.size());
       }
 
+      // Message is immutable, so a page rendered concurrently by another thread is just as good
+      Message rendered = renderedPages[page - 1];
+      if (rendered == null) {
+        rendered = render(page);
+        renderedPages[page - 1] = rendered;
+      }
+      return rendered;
+    }
+
+    private Message render(int page) {
       Message.Builder builder = Message.builder();
 
       builder.append(Message.Style.HEADLINE_1);
@@ -32,6 +32,7 @@ import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.service.limit.Limit;
 import io.github.mywarp.mywarp.service.limit.LimitService;
 import io.github.mywarp.mywarp.service.limit.LimitValueWarpMapping;
+import io.github.mywarp.mywarp.service.limit.WarpCounter;
 import io.github.mywarp.mywarp.util.Message;
 import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.warp.Warp;
@@ -60,15 +61,18 @@ public class AssetsPrinter {
   private final Game game;
   @Nullable
   private final WarpManager warpManager;
+  @Nullable
+  private final WarpCounter warpCounter;
 
   private AssetsPrinter(LocalPlayer creator, @Nullable LimitService limitService, @Nullable Game game,
-                        @Nullable WarpManager warpManager) {
-    checkState((limitService != null && game == null && warpManager == null) != (limitService == null && game != null
-                                                                                 && warpManager != null));
+                        @Nullable WarpManager warpManager, @Nullable WarpCounter warpCounter) {
+    checkState((limitService != null && game == null && warpManager == null && warpCounter == null) != (
+        limitService == null && game != null && warpManager != null && warpCounter != null));
     this.creator = creator;
     this.limitService = limitService;
     this.game = game;
     this.warpManager = warpManager;
+    this.warpCounter = warpCounter;
   }
 
   /**
@@ -79,7 +83,7 @@ public class AssetsPrinter {
    * @return a new AssetsPrinter
    */
   public static AssetsPrinter create(LocalPlayer forWhom, LimitService limitService) {
-    return new AssetsPrinter(forWhom, limitService, null, null);
+    return new AssetsPrinter(forWhom, limitService, null, null, null);
   }
 
   /**
@@ -91,10 +95,12 @@ public class AssetsPrinter {
    * @param forWhom     the player whose assets to display
    * @param game        the Game
    * @param warpManager the WarpManager
+   * @param warpCounter the WarpCounter that counts the warps of {@code warpManager}
    * @return a new AssetsPrinter
    */
-  public static AssetsPrinter create(LocalPlayer forWhom, Game game, WarpManager warpManager) {
-    return new AssetsPrinter(forWhom, null, game, warpManager);
+  public static AssetsPrinter create(LocalPlayer forWhom, Game game, WarpManager warpManager,
+                                     WarpCounter warpCounter) {
+    return new AssetsPrinter(forWhom, null, game, warpManager, warpCounter);
   }
 
   /**
@@ -113,10 +119,10 @@ public class AssetsPrinter {
     if (limitService != null) {
       index = limitService.getAssets(creator);
     } else {
-      assert game != null && warpManager != null;
+      assert game != null && warpManager != null && warpCounter != null;
       index =
           ImmutableMap.of(createDummyLimit(game),
-                          new LimitValueWarpMapping(warpManager, w -> w.isCreator(creator.getUniqueId())));
+                          new LimitValueWarpMapping(warpManager, warpCounter, creator.getUniqueId(), w -> true));
     }
 
     for (Map.Entry<Limit, LimitValueWarpMapping> entry : index.entrySet()) {
@@ -153,7 +159,7 @@ public class AssetsPrinter {
     totalMsg.append(" ");
     totalMsg.appendWithSeparators(limit.getAffectedWorlds());
     totalMsg.append(" ");
-    appendCurrentAndMaximum(totalMsg, mapping.get(Limit.Value.TOTAL).size(), limit.get(Limit.Value.TOTAL));
+    appendCurrentAndMaximum(totalMsg, mapping.count(Limit.Value.TOTAL), limit.get(Limit.Value.TOTAL));
     totalMsg.append(":");
 
     receiver.sendMessage(totalMsg.build());
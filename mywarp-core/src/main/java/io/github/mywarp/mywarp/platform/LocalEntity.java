@@ -48,6 +48,13 @@ public interface LocalEntity {
    */
   Vector2f getRotation();
 
+  /**
+   * Returns whether this entity still exists on the server. Players are valid as long as they are online.
+   *
+   * @return {@code true} if this entity is valid
+   */
+  boolean isValid();
+
   /**
    * Teleports this entity to the given position on the given world, and sets his rotation to the given one.
    *
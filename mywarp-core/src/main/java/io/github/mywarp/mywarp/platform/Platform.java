@@ -22,10 +22,12 @@ package io.github.mywarp.mywarp.platform;
 import io.github.mywarp.mywarp.platform.capability.EconomyCapability;
 import io.github.mywarp.mywarp.platform.capability.LimitCapability;
 import io.github.mywarp.mywarp.platform.capability.TimerCapability;
+import io.github.mywarp.mywarp.warp.Warp;
 import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
 import io.github.mywarp.mywarp.warp.storage.RelationalDataService;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -90,13 +92,20 @@ public interface Platform {
    * Called when MyWarp is reloaded. By this state, Warps are no longer available; any services that depend on
    * configuration should be reconstructed.
    *
-   * <p>Unless errors occur, calls to this method are followed by a call to {@link #onWarpsLoaded()} shortly after.</p>
+   * <p>Unless errors occur, calls to this method are followed by a call to {@link #onWarpsLoaded(Collection)} shortly
+   * after.</p>
    */
   void onCoreReload();
 
   /**
    * Called when the core has successfully loaded warps from the storage system and populated the active WarpManager. By
    * this state, all initialization should be complete.
+   *
+   * <p>This method is called by the game's {@link Game#getExecutor() Executor}. If warps were loaded from an outdated
+   * snapshot, they are replaced with the warps from the storage system shortly after and this method is called
+   * again.</p>
+   *
+   * @param warps the loaded warps
    */
-  void onWarpsLoaded();
+  void onWarpsLoaded(Collection<Warp> warps);
 }
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableSet;
 
 import io.github.mywarp.mywarp.warp.storage.ConnectionConfiguration;
 
+import java.time.Duration;
 import java.util.Locale;
 
 /**
@@ -93,6 +94,36 @@ public interface Settings {
    */
   ConnectionConfiguration getRelationalStorageConfiguration();
 
+  /**
+   * Returns whether changes should be queued and written to the storage in batches rather than one by one.
+   *
+   * @return {@code true} if write-behind is enabled
+   */
+  boolean isStorageWriteBehindEnabled();
+
+  /**
+   * Gets the interval in which queued changes are written to the storage, if write-behind is enabled.
+   *
+   * @return the flush interval
+   */
+  Duration getStorageWriteBehindFlushInterval();
+
+  /**
+   * Gets the number of warps with queued changes that causes the changes to be written to the storage immediately, if
+   * write-behind is enabled.
+   *
+   * @return the maximum queue size
+   */
+  int getStorageWriteBehindMaxQueueSize();
+
+  /**
+   * Returns whether a snapshot of all warps should be kept on disk and used to make warps available quickly when
+   * loading.
+   *
+   * @return {@code true} if warp snapshots are enabled
+   */
+  boolean isStorageSnapshotEnabled();
+
   /**
    * Returns whether players should be informed when they are invited to or uninvited from warps.
    *
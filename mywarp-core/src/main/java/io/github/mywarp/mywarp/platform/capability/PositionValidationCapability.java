@@ -24,6 +24,7 @@ import com.flowpowered.math.vector.Vector3d;
 import io.github.mywarp.mywarp.platform.LocalWorld;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The capability of a platform to validate a given position and suggests alternative ones.
@@ -39,4 +40,35 @@ public interface PositionValidationCapability {
    * @return the first valid position
    */
   Optional<Vector3d> getValidPosition(Vector3d originalPosition, LocalWorld world);
+
+  /**
+   * Returns a CompletableFuture that completes with an Optional containing the first valid position starting from the
+   * given {@code originalPosition} within the given {@code world} or {@code Optional.absent()} if no such position
+   * exists.
+   *
+   * <p>This method must be called from the thread that handles the game's logic. Implementations may search for valid
+   * positions on another thread, so the returned future may complete on any thread. The default implementation
+   * completes immediately with the result of {@link #getValidPosition(Vector3d, LocalWorld)}.</p>
+   *
+   * @param originalPosition the original position
+   * @param world            the world that contains the position
+   * @return a CompletableFuture that completes with the first valid position
+   */
+  default CompletableFuture<Optional<Vector3d>> getValidPositionAsync(Vector3d originalPosition, LocalWorld world) {
+    return CompletableFuture.completedFuture(getValidPosition(originalPosition, world));
+  }
+
+  /**
+   * Gets the radius of the cube around the original position that contains all blocks whose state may change the
+   * position returned for it. The radius includes the distance between the original and the returned position.
+   *
+   * <p>Validated positions are cached until a block within this cube changes. The default implementation returns
+   * {@code 1}, which covers the original position, the blocks directly above and below and a displacement of one
+   * block.</p>
+   *
+   * @return the radius of the cube of inspected blocks
+   */
+  default int getInspectionRadius() {
+    return 1;
+  }
 }
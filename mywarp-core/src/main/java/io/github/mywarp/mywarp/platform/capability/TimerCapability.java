@@ -21,7 +21,10 @@ package io.github.mywarp.mywarp.platform.capability;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import com.flowpowered.math.vector.Vector3d;
+
 import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.service.teleport.timer.Duration;
 import io.github.mywarp.mywarp.service.teleport.timer.TimerAction;
 
@@ -88,6 +91,36 @@ public interface TimerCapability {
    */
   boolean abortWarmupOnMove();
 
+  /**
+   * Starts loading the chunks around the given {@code position} in the given {@code world} and holds them loaded until
+   * the returned ticket is released.
+   *
+   * <p>This method is called when a warmup starts, so that the teleport once the warmup has finished does not need to
+   * load or generate chunks. The default implementation loads nothing.</p>
+   *
+   * @param world    the world
+   * @param position the position
+   * @return the ticket that holds the chunks
+   */
+  default ChunkTicket preloadChunks(LocalWorld world, Vector3d position) {
+    return () -> {
+    };
+  }
+
+  /**
+   * Holds preloaded chunks until it is released.
+   *
+   * @see #preloadChunks(LocalWorld, Vector3d)
+   */
+  interface ChunkTicket {
+
+    /**
+     * Releases this ticket, so that the chunks it holds can be unloaded again. Calling this method more than once has
+     * no effect.
+     */
+    void release();
+  }
+
   /**
    * The result of an evaluation that checked whether a certain subject has a running timer.
    *
@@ -44,6 +44,7 @@ public class LimitService {
 
   private final LimitCapability capability;
   private final WarpManager warpManager;
+  private final WarpCounter warpCounter;
 
   /**
    * Creates an instance that uses the given {@code capability} to resolve limits an operates on the given {@code
@@ -51,10 +52,12 @@ public class LimitService {
    *
    * @param capability  the capability
    * @param warpManager the warp manager to evaluate limits on
+   * @param warpCounter the WarpCounter that counts the warps of {@code warpManager}
    */
-  public LimitService(LimitCapability capability, WarpManager warpManager) {
+  public LimitService(LimitCapability capability, WarpManager warpManager, WarpCounter warpCounter) {
     this.capability = capability;
     this.warpManager = warpManager;
+    this.warpCounter = warpCounter;
   }
 
   /**
@@ -100,7 +103,9 @@ public class LimitService {
   }
 
   private EvaluationResult evaluate(LocalPlayer creator, LocalWorld world, Iterable<Value> values) {
-    LimitValueWarpMapping valueWarpMapping = new LimitValueWarpMapping(warpManager, createPredicate(creator, world));
+    LimitValueWarpMapping
+        valueWarpMapping =
+        new LimitValueWarpMapping(warpManager, warpCounter, creator.getUniqueId(), createPredicate(world));
 
     for (Value toCheck : values) {
       if (toCheck.canDisobey(creator, world)) {
@@ -115,13 +120,12 @@ public class LimitService {
     return EvaluationResult.limitMet();
   }
 
-  private static Predicate<Warp> createPredicate(final LocalPlayer creator, LocalWorld... worlds) {
-    return createPredicate(creator, Arrays.asList(worlds));
+  private static Predicate<UUID> createPredicate(LocalWorld... worlds) {
+    return createPredicate(Arrays.asList(worlds));
   }
 
-  private static Predicate<Warp> createPredicate(final LocalPlayer creator, final Iterable<LocalWorld> worlds) {
-    return input -> input.isCreator(creator.getUniqueId()) && containsIdentifiedWorld(worlds,
-                                                                                      input.getWorldIdentifier());
+  private static Predicate<UUID> createPredicate(final Iterable<LocalWorld> worlds) {
+    return worldIdentifier -> containsIdentifiedWorld(worlds, worldIdentifier);
   }
 
   /**
@@ -139,7 +143,8 @@ public class LimitService {
     ImmutableMap.Builder<Limit, LimitValueWarpMapping> builder = ImmutableMap.builder();
 
     for (Limit limit : capability.getEffectiveLimits(player)) {
-      builder.put(limit, new LimitValueWarpMapping(warpManager, createPredicate(player, limit.getAffectedWorlds())));
+      builder.put(limit, new LimitValueWarpMapping(warpManager, warpCounter, player.getUniqueId(),
+                                                   createPredicate(limit.getAffectedWorlds())));
     }
     return builder.build();
   }
@@ -24,6 +24,7 @@ import io.github.mywarp.mywarp.warp.Warp;
 import io.github.mywarp.mywarp.warp.WarpManager;
 
 import java.util.Collection;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 /**
@@ -35,19 +36,25 @@ import java.util.function.Predicate;
 public class LimitValueWarpMapping {
 
   private final WarpManager manager;
-  private final Predicate<Warp> filter;
+  private final WarpCounter counter;
+  private final UUID creator;
+  private final Predicate<UUID> worldFilter;
 
 
   /**
-   * Creates an instance that operates on the given {@code warpManager} using only those warps that fulfill the given
-   * {@code filter}.
+   * Creates an instance that operates on the given {@code warpManager} using only those warps that are created by the
+   * player identified by the given unique identifier and whose world is accepted by the given {@code worldFilter}.
    *
-   * @param manager the WarpManager to operate on
-   * @param filter  the filter
+   * @param manager     the WarpManager to operate on
+   * @param counter     the WarpCounter that counts the warps of the manager
+   * @param creator     the unique identifier of the creator
+   * @param worldFilter tests the unique identifiers of the warps' worlds
    */
-  public LimitValueWarpMapping(WarpManager manager, Predicate<Warp> filter) {
+  public LimitValueWarpMapping(WarpManager manager, WarpCounter counter, UUID creator, Predicate<UUID> worldFilter) {
     this.manager = manager;
-    this.filter = filter;
+    this.counter = counter;
+    this.creator = creator;
+    this.worldFilter = worldFilter;
   }
 
   /**
@@ -57,7 +64,19 @@ public class LimitValueWarpMapping {
    * @return a Collection with all warps to be counted under the value
    */
   public Collection<Warp> get(Value value) {
-    return manager.getAll(filter.and(value.getCondition()));
+    return manager.getAllByCreator(creator, value.getCondition().and(w -> worldFilter.test(w.getWorldIdentifier())));
+  }
+
+  /**
+   * Gets the number of warps that are counted under the given {@code value}.
+   *
+   * <p>Unlike {@code get(value).size()}, this method does not resolve the warps themselves.</p>
+   *
+   * @param value the value
+   * @return the number of warps counted under the value
+   */
+  public int count(Value value) {
+    return counter.count(creator, worldFilter, value.getWarpTypes());
   }
 
   /**
@@ -68,6 +87,6 @@ public class LimitValueWarpMapping {
    * @return {@code true} if there are at least the given number of Warps
    */
   boolean atLeast(Value value, int count) {
-    return get(value).size() >= count;
+    return count(value) >= count;
   }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.service.limit;
+
+import com.google.common.eventbus.Subscribe;
+
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpManager;
+import io.github.mywarp.mywarp.warp.event.WarpAdditionEvent;
+import io.github.mywarp.mywarp.warp.event.WarpDeletionEvent;
+import io.github.mywarp.mywarp.warp.event.WarpUpdateEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Counts the warps of every creator per world and warp type.
+ *
+ * <p>Counts are kept up to date by listening to the warp events posted on the EventBus this counter is registered on.
+ * As populating or depopulating a WarpManager does not post any events, {@link #rebuild()} must be called whenever
+ * this happens.</p>
+ */
+public class WarpCounter {
+
+  private static final int TYPE_COUNT = Warp.Type.values().length;
+
+  private final WarpManager warpManager;
+  private final Map<UUID, Map<UUID, int[]>> counts = new HashMap<UUID, Map<UUID, int[]>>();
+  private final Map<String, CountedKey> countedKeys = new HashMap<String, CountedKey>();
+
+  /**
+   * Creates an instance that counts the warps managed by the given {@code warpManager}.
+   *
+   * @param warpManager the WarpManager
+   */
+  public WarpCounter(WarpManager warpManager) {
+    this.warpManager = warpManager;
+  }
+
+  /**
+   * Discards all counts and recounts the warps currently managed by the WarpManager.
+   */
+  public synchronized void rebuild() {
+    counts.clear();
+    countedKeys.clear();
+    warpManager.getAll(warp -> true).forEach(this::increment);
+  }
+
+  /**
+   * Counts the warps created by the player identified by the given unique identifier that are positioned in a world
+   * accepted by the given {@code worldFilter} and that are of one of the given {@code types}.
+   *
+   * <p>The costs of this method only depend on the number of worlds the creator has warps in.</p>
+   *
+   * @param creator     the unique identifier of the creator
+   * @param worldFilter tests the unique identifiers of worlds
+   * @param types       the types of warps to count
+   * @return the number of warps
+   */
+  public synchronized int count(UUID creator, Predicate<UUID> worldFilter, Set<Warp.Type> types) {
+    Map<UUID, int[]> worldCounts = counts.get(creator);
+    if (worldCounts == null) {
+      return 0;
+    }
+    int ret = 0;
+    for (Map.Entry<UUID, int[]> entry : worldCounts.entrySet()) {
+      if (!worldFilter.test(entry.getKey())) {
+        continue;
+      }
+      for (Warp.Type type : types) {
+        ret += entry.getValue()[type.ordinal()];
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Called whenever a warp is added.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public synchronized void onWarpAddition(WarpAdditionEvent event) {
+    increment(event.getWarp());
+  }
+
+  /**
+   * Called whenever a warp is deleted.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public synchronized void onWarpDeletion(WarpDeletionEvent event) {
+    decrement(event.getWarp().getName());
+  }
+
+  /**
+   * Called whenever a warp is updated.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public synchronized void onWarpUpdate(WarpUpdateEvent event) {
+    switch (event.getType()) {
+      case CREATOR:
+      case LOCATION:
+      case TYPE:
+        // the event is posted after the update, so the old values are resolved from the counted key
+        decrement(event.getWarp().getName());
+        increment(event.getWarp());
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void increment(Warp warp) {
+    // guard against double counting if the warp was already counted
+    decrement(warp.getName());
+
+    CountedKey key = new CountedKey(warp.getCreator(), warp.getWorldIdentifier(), warp.getType());
+    countedKeys.put(warp.getName(), key);
+
+    Map<UUID, int[]> worldCounts = counts.get(key.creator);
+    if (worldCounts == null) {
+      worldCounts = new HashMap<UUID, int[]>();
+      counts.put(key.creator, worldCounts);
+    }
+    int[] typeCounts = worldCounts.get(key.world);
+    if (typeCounts == null) {
+      typeCounts = new int[TYPE_COUNT];
+      worldCounts.put(key.world, typeCounts);
+    }
+    typeCounts[key.type.ordinal()]++;
+  }
+
+  private void decrement(String warpName) {
+    CountedKey key = countedKeys.remove(warpName);
+    if (key == null) {
+      return;
+    }
+
+    Map<UUID, int[]> worldCounts = counts.get(key.creator);
+    int[] typeCounts = worldCounts.get(key.world);
+    typeCounts[key.type.ordinal()]--;
+
+    for (int count : typeCounts) {
+      if (count > 0) {
+        return;
+      }
+    }
+    worldCounts.remove(key.world);
+    if (worldCounts.isEmpty()) {
+      counts.remove(key.creator);
+    }
+  }
+
+  /**
+   * The creator, world and type a warp is counted under.
+   */
+  private static class CountedKey {
+
+    private final UUID creator;
+    private final UUID world;
+    private final Warp.Type type;
+
+    private CountedKey(UUID creator, UUID world, Warp.Type type) {
+      this.creator = creator;
+      this.world = world;
+      this.type = type;
+    }
+  }
+}
@@ -23,9 +23,15 @@ import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.platform.LocalPlayer;
 import io.github.mywarp.mywarp.service.economy.EconomyService;
 import io.github.mywarp.mywarp.service.economy.FeeType;
+import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Bills users for teleporting and cancels the teleport if the entity cannot afford it.
  *
@@ -34,9 +40,13 @@ import io.github.mywarp.mywarp.warp.Warp;
  */
 public class EconomyTeleportService extends ForwardingTeleportService {
 
+  private static final DynamicMessages msg = new DynamicMessages("io.github.mywarp.mywarp.lang.Teleports");
+
   private final TeleportService delegate;
   private final EconomyService economyService;
   private final FeeType fee;
+  // only accessed from the thread that handles the game's logic
+  private final Set<UUID> preparing = new HashSet<>();
 
   /**
    * Creates an instance that uses the given EconomyService to withdraw users with the given {@code fee} on successful
@@ -66,6 +76,31 @@ public class EconomyTeleportService extends ForwardingTeleportService {
     return status;
   }
 
+  @Override
+  public CompletableFuture<TeleportHandler.TeleportStatus> teleportAsync(LocalEntity entity, Warp warp) {
+    if (!(entity instanceof LocalPlayer)) {
+      return delegate().teleportAsync(entity, warp);
+    }
+    LocalPlayer player = (LocalPlayer) entity;
+    if (!economyService.hasAtLeast(player, fee)) {
+      return CompletableFuture.completedFuture(TeleportHandler.TeleportStatus.NONE);
+    }
+    // a second teleport would pass the check above before the first one is billed
+    if (!preparing.add(player.getUniqueId())) {
+      player.sendError(msg.getString("teleport-in-preparation"));
+      return CompletableFuture.completedFuture(TeleportHandler.TeleportStatus.NONE);
+    }
+    return PreparedTeleports.teleport(this, entity, warp)
+        .whenComplete((status, throwable) -> preparing.remove(player.getUniqueId()));
+  }
+
+  @Override
+  public CompletableFuture<TeleportService> prepare(LocalEntity entity, Warp warp) {
+    // the prepared teleport checks the balance again, as it might have changed in the meantime
+    return delegate().prepare(entity, warp)
+        .thenApply(prepared -> new EconomyTeleportService(prepared, economyService, fee));
+  }
+
   @Override
   protected TeleportService delegate() {
     return delegate;
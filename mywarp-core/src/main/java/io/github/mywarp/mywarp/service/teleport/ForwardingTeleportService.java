@@ -25,6 +25,8 @@ import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Forwards all method calls to another TeleportService. Subclasses should override one or more methods to modify the
  * behavior of the backing TeleportService as desired per the <a href="http://en.wikipedia
@@ -37,6 +39,11 @@ abstract class ForwardingTeleportService extends ForwardingObject implements Tel
     return delegate().teleport(entity, warp);
   }
 
+  @Override
+  public CompletableFuture<TeleportHandler.TeleportStatus> teleportAsync(LocalEntity entity, Warp warp) {
+    return delegate().teleportAsync(entity, warp);
+  }
+
   @Override
   protected abstract TeleportService delegate();
 }
@@ -27,6 +27,8 @@ import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
 import io.github.mywarp.mywarp.warp.PlaceholderResolver;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Delegates teleport requests to a {@link TeleportHandler}.
  *
@@ -48,13 +50,32 @@ public class HandlerTeleportService implements TeleportService {
    * @param playerNameResolver the playerNameResolver used to resolve player names in messages send by this service
    */
   public HandlerTeleportService(TeleportHandler handler, PlayerNameResolver playerNameResolver) {
+    this(handler, new PlaceholderResolver(playerNameResolver));
+  }
+
+  private HandlerTeleportService(TeleportHandler handler, PlaceholderResolver resolver) {
     this.handler = handler;
-    this.resolver = new PlaceholderResolver(playerNameResolver);
+    this.resolver = resolver;
   }
 
   @Override
   public TeleportHandler.TeleportStatus teleport(LocalEntity entity, Warp warp) {
-    TeleportHandler.TeleportStatus status = warp.visit(entity, handler);
+    return visit(entity, warp, handler);
+  }
+
+  @Override
+  public CompletableFuture<TeleportHandler.TeleportStatus> teleportAsync(LocalEntity entity, Warp warp) {
+    return PreparedTeleports.teleport(this, entity, warp);
+  }
+
+  @Override
+  public CompletableFuture<TeleportService> prepare(LocalEntity entity, Warp warp) {
+    return handler.prepare(warp.getWorldIdentifier(), warp.getPosition())
+        .thenApply(prepared -> new HandlerTeleportService(prepared, resolver));
+  }
+
+  private TeleportHandler.TeleportStatus visit(LocalEntity entity, Warp warp, TeleportHandler teleportHandler) {
+    TeleportHandler.TeleportStatus status = warp.visit(entity, teleportHandler);
 
     if (entity instanceof Actor) {
       Actor actor = (Actor) entity;
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.service.teleport;
+
+import io.github.mywarp.mywarp.platform.Actor;
+import io.github.mywarp.mywarp.platform.LocalEntity;
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
+import io.github.mywarp.mywarp.util.i18n.LocaleManager;
+import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
+import io.github.mywarp.mywarp.warp.Warp;
+
+import org.slf4j.Logger;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Executes teleports once they have been {@link TeleportService#prepare(LocalEntity, Warp) prepared}.
+ */
+final class PreparedTeleports {
+
+  private static final Logger log = MyWarpLogger.getLogger(PreparedTeleports.class);
+  private static final DynamicMessages msg = new DynamicMessages("io.github.mywarp.mywarp.lang.Teleports");
+
+  private PreparedTeleports() {
+  }
+
+  /**
+   * Prepares the teleport of the given {@code entity} to the given {@code warp} with the given {@code service} and
+   * executes it once it is prepared.
+   *
+   * <p>As the caller has usually returned by then, exceptions thrown while executing the teleport are logged and
+   * reported to the entity. The returned future then completes with {@link TeleportHandler.TeleportStatus#NONE}.</p>
+   *
+   * @param service the TeleportService that prepares the teleport
+   * @param entity  the entity to teleport
+   * @param warp    the warp to teleport to
+   * @return a CompletableFuture with the resulting {@code TeleportStatus}
+   */
+  static CompletableFuture<TeleportHandler.TeleportStatus> teleport(TeleportService service, LocalEntity entity,
+                                                                    Warp warp) {
+    // the teleport may be completed on a later tick, when the Locale of this thread has changed
+    Locale locale = LocaleManager.getLocale();
+    return service.prepare(entity, warp).thenApply(prepared -> {
+      // the entity might have left while the teleport was prepared
+      if (!entity.isValid()) {
+        return TeleportHandler.TeleportStatus.NONE;
+      }
+      LocaleManager.setLocale(locale);
+      return prepared.teleport(entity, warp);
+    }).exceptionally(throwable -> {
+      log.error(String.format("The teleport to the warp '%s' could not be executed.", warp.getName()), throwable);
+      if (entity instanceof Actor && entity.isValid()) {
+        LocaleManager.setLocale(locale);
+        ((Actor) entity).sendError(msg.getString("teleport-failed", warp.getName()));
+      }
+      return TeleportHandler.TeleportStatus.NONE;
+    });
+  }
+}
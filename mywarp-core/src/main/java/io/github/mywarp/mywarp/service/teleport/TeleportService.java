@@ -23,6 +23,8 @@ import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Teleports entities to Warps.
  */
@@ -37,4 +39,35 @@ public interface TeleportService {
    */
   TeleportHandler.TeleportStatus teleport(LocalEntity entity, Warp warp);
 
+  /**
+   * Teleports the given {@code entity} to the given {@code warp}, once the teleport has been prepared, and returns a
+   * CompletableFuture with the status of the teleport.
+   *
+   * <p>This method must be called from the thread that handles the game's logic. The returned future completes within
+   * the same thread. The default implementation teleports immediately.</p>
+   *
+   * @param entity the entity to teleport
+   * @param warp   the warp to teleport to
+   * @return a CompletableFuture with the resulting {@code TeleportStatus}
+   * @see TeleportHandler#prepare(java.util.UUID, com.flowpowered.math.vector.Vector3d)
+   */
+  default CompletableFuture<TeleportHandler.TeleportStatus> teleportAsync(LocalEntity entity, Warp warp) {
+    return CompletableFuture.completedFuture(teleport(entity, warp));
+  }
+
+  /**
+   * Prepares the teleport of the given {@code entity} to the given {@code warp} and returns a CompletableFuture with a
+   * TeleportService that executes this teleport without doing any expensive work.
+   *
+   * <p>This method must be called from the thread that handles the game's logic. The returned future completes within
+   * the same thread. The default implementation completes immediately with this TeleportService.</p>
+   *
+   * @param entity the entity to teleport
+   * @param warp   the warp to teleport to
+   * @return a CompletableFuture with the prepared TeleportService
+   */
+  default CompletableFuture<TeleportService> prepare(LocalEntity entity, Warp warp) {
+    return CompletableFuture.completedFuture(this);
+  }
+
 }
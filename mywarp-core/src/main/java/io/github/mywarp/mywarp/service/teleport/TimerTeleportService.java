@@ -30,6 +30,7 @@ import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -85,7 +86,9 @@ public class TimerTeleportService extends ForwardingTeleportService {
 
     // start warmup
     Duration duration = capability.getDuration(player, WarpWarmup.class);
-    capability.start(player.getUniqueId(), duration, new WarpWarmup(player, warp, game, delegate(), capability));
+    WarpWarmup warmup = new WarpWarmup(player, warp, game, delegate(), capability);
+    capability.start(player.getUniqueId(), duration, warmup);
+    warmup.preloadDestination();
     if (capability.notifyOnWarmupStart()) {
       player.sendMessage(msg.getString("warp-warmup.started", warp.getName(), duration.get(TimeUnit.SECONDS)));
     }
@@ -94,6 +97,14 @@ public class TimerTeleportService extends ForwardingTeleportService {
     return TeleportHandler.TeleportStatus.NONE;
   }
 
+  @Override
+  public CompletableFuture<TeleportHandler.TeleportStatus> teleportAsync(LocalEntity entity, Warp warp) {
+    if (canDisobeyTimers(entity)) {
+      return delegate().teleportAsync(entity, warp);
+    }
+    return CompletableFuture.completedFuture(teleport(entity, warp));
+  }
+
   @Override
   protected TeleportService delegate() {
     return delegate;
@@ -19,6 +19,8 @@
 
 package io.github.mywarp.mywarp.service.teleport.timer;
 
+import com.flowpowered.math.vector.Vector3d;
+
 /**
  * An action that is executed when a timer finishes and can be internally aborted while the timer is running.
  *
@@ -26,8 +28,6 @@ package io.github.mywarp.mywarp.service.teleport.timer;
  */
 public abstract class AbortableTimerAction<T> extends TimerAction<T> {
 
-  public static final long CHECK_INTERVAL_TICKS = 40;
-
   /**
    * Creates an instance on the given subject.
    *
@@ -40,11 +40,45 @@ public abstract class AbortableTimerAction<T> extends TimerAction<T> {
   /**
    * Returns whether the timer should be aborted.
    *
-   * <p> This method will be called periodically while the timer is running to check if the timer should be aborted
-   * prematurely. </p>
+   * <p> Platforms that cannot observe the subject may call this method periodically while the timer is running to
+   * check if the timer should be aborted prematurely. Platforms that can should call {@link #abortOnMove(Vector3d)} and
+   * {@link #abortOnDamage()} instead. </p>
    *
    * @return {@code true} if the timer should be aborted
    */
   public abstract boolean abort();
 
+  /**
+   * Returns whether the timer should be aborted because the subject has moved.
+   *
+   * <p>This method is called by platforms whenever the subject moves to another block, before the subject's position
+   * is updated. The default implementation delegates to {@link #abort()}.</p>
+   *
+   * @param newPosition the position the subject moves to
+   * @return {@code true} if the timer should be aborted
+   */
+  public boolean abortOnMove(Vector3d newPosition) {
+    return abort();
+  }
+
+  /**
+   * Returns whether the timer should be aborted because the subject has taken damage.
+   *
+   * <p>This method is called by platforms whenever the subject takes damage, before the damage is applied. The default
+   * implementation delegates to {@link #abort()}.</p>
+   *
+   * @return {@code true} if the timer should be aborted
+   */
+  public boolean abortOnDamage() {
+    return abort();
+  }
+
+  /**
+   * Called by platforms once the timer has been aborted and the action will never run.
+   *
+   * <p>The default implementation does nothing.</p>
+   */
+  public void aborted() {
+  }
+
 }
@@ -33,12 +33,16 @@ import io.github.mywarp.mywarp.warp.Warp;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 /**
  * A warmup that teleports a player to a warp when done.
  */
 public class WarpWarmup extends AbortableTimerAction<UUID> {
 
   private static final int ALLOWED_DISTANCE = 2;
+  private static final String MOVE_EXEMPTION_PERMISSION = "mywarp.timer.disobey.warmup-abort.move";
+  private static final String DAMAGE_EXEMPTION_PERMISSION = "mywarp.timer.disobey.warmup-abort.damage";
 
   private static final DynamicMessages msg = new DynamicMessages(TimerTeleportService.RESOURCE_BUNDLE_NAME);
 
@@ -48,10 +52,18 @@ public class WarpWarmup extends AbortableTimerAction<UUID> {
   private final Game game;
   private final TeleportService teleportService;
   private final TimerCapability capability;
+  private final boolean abortableByMove;
+  private final boolean abortableByDamage;
+
+  @Nullable
+  private TimerCapability.ChunkTicket chunkTicket;
 
   /**
    * Creates an instance for the given {@code player} and {@code warp}.
    *
+   * <p>Whether the player is exempted from aborting the warmup by moving or taking damage is resolved once, when the
+   * warmup is created.</p>
+   *
    * @param player          the player who is cooling down
    * @param warp            the warp that the player wants to use
    * @param game            the game the teleport happens within
@@ -67,46 +79,94 @@ public class WarpWarmup extends AbortableTimerAction<UUID> {
     this.capability = capability;
     this.initialPosition = player.getPosition();
     this.initialHealth = player.getHealth();
+    this.abortableByMove = capability.abortWarmupOnMove() && !player.hasPermission(MOVE_EXEMPTION_PERMISSION);
+    this.abortableByDamage = capability.abortWarmupOnDamage() && !player.hasPermission(DAMAGE_EXEMPTION_PERMISSION);
+  }
+
+  /**
+   * Starts preloading the chunks around the warp's position. The chunks are held until this warmup has run or has been
+   * aborted.
+   */
+  public void preloadDestination() {
+    game.getWorld(warp.getWorldIdentifier())
+        .ifPresent(world -> chunkTicket = capability.preloadChunks(world, warp.getPosition()));
   }
 
   @Override
   public void run() {
     Optional<LocalPlayer> optionalPlayer = game.getPlayer(getTimedSuject());
     if (!optionalPlayer.isPresent()) {
+      releaseChunks();
       return;
     }
     LocalPlayer player = optionalPlayer.get();
     LocaleManager.setLocale(player.getLocale());
 
-    if (teleportService.teleport(player, warp).isPositionModified()) {
-      Duration duration = capability.getDuration(player, WarpCooldown.class);
-      capability
-          .start(player.getUniqueId(), duration, new WarpCooldown(player, game, capability.notifyOnCooldownFinish()));
-    }
+    teleportService.teleportAsync(player, warp).whenComplete((status, throwable) -> releaseChunks())
+        .thenAccept(status -> {
+          // no cooldown if the player has left while the teleport was prepared
+          if (status.isPositionModified() && player.isValid()) {
+            Duration duration = capability.getDuration(player, WarpCooldown.class);
+            capability.start(player.getUniqueId(), duration,
+                             new WarpCooldown(player, game, capability.notifyOnCooldownFinish()));
+          }
+        });
+  }
+
+  @Override
+  public void aborted() {
+    releaseChunks();
   }
 
   @Override
   public boolean abort() {
+    if (!abortableByMove && !abortableByDamage) {
+      return false;
+    }
     Optional<LocalPlayer> player = game.getPlayer(getTimedSuject());
     // player is not online, but might re-login so the timer continues
-    return player.isPresent() && (abortOnMove(player.get()) || abortOnDamage(player.get()));
+    return player.isPresent() && (hasMoved(player.get(), player.get().getPosition()) || hasTakenDamage(player.get()));
+  }
+
+  @Override
+  public boolean abortOnMove(Vector3d newPosition) {
+    if (!abortableByMove) {
+      return false;
+    }
+    Optional<LocalPlayer> player = game.getPlayer(getTimedSuject());
+    // the player's position is not yet updated, so the new position is compared
+    return player.isPresent() && hasMoved(player.get(), newPosition);
+  }
+
+  @Override
+  public boolean abortOnDamage() {
+    if (!abortableByDamage) {
+      return false;
+    }
+    Optional<LocalPlayer> player = game.getPlayer(getTimedSuject());
+    if (!player.isPresent()) {
+      return false;
+    }
+    // the damage is not yet applied, so the health cannot be compared
+    notifyAbort(player.get(), "warp-warmup.cancelled.damage");
+    return true;
   }
 
   /**
-   * Returns whether the warmup should be aborted because the player has moved.
+   * Returns whether the warmup should be aborted because the player has moved to the given {@code position}.
    *
-   * @param player the LocalPlayer
+   * @param player   the LocalPlayer
+   * @param position the player's position
    * @return true if the warmup should be aborted
    */
-  private boolean abortOnMove(LocalPlayer player) {
-    if (!capability.abortWarmupOnMove() || player.hasPermission("mywarp.timer.disobey.warmup-abort.move")) {
+  private boolean hasMoved(LocalPlayer player, Vector3d position) {
+    if (!abortableByMove) {
       return false;
     }
-    if (player.getPosition().distanceSquared(initialPosition) <= Math.pow(ALLOWED_DISTANCE, 2)) {
+    if (position.distanceSquared(initialPosition) <= Math.pow(ALLOWED_DISTANCE, 2)) {
       return false;
     }
-    LocaleManager.setLocale(player.getLocale());
-    player.sendError(msg.getString("warp-warmup.cancelled.move"));
+    notifyAbort(player, "warp-warmup.cancelled.move");
     return true;
   }
 
@@ -116,16 +176,27 @@ public class WarpWarmup extends AbortableTimerAction<UUID> {
    * @param player the LocalPlayer
    * @return true if the warmup should be aborted
    */
-  private boolean abortOnDamage(LocalPlayer player) {
-    if (!capability.abortWarmupOnDamage() || player.hasPermission("mywarp.timer.disobey.warmup-abort.damage")) {
+  private boolean hasTakenDamage(LocalPlayer player) {
+    if (!abortableByDamage) {
       return false;
     }
     if (player.getHealth() >= initialHealth) {
       return false;
     }
-    LocaleManager.setLocale(player.getLocale());
-    player.sendError(msg.getString("warp-warmup.cancelled.damage"));
+    notifyAbort(player, "warp-warmup.cancelled.damage");
     return true;
   }
 
+  private void notifyAbort(LocalPlayer player, String key) {
+    LocaleManager.setLocale(player.getLocale());
+    player.sendError(msg.getString(key));
+  }
+
+  private void releaseChunks() {
+    if (chunkTicket != null) {
+      chunkTicket.release();
+      chunkTicket = null;
+    }
+  }
+
 }
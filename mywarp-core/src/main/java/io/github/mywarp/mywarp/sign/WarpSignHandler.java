@@ -182,6 +182,7 @@ public class WarpSignHandler {
    */
   public boolean handleInteraction(LocalPlayer player, Vector3i position, BlockFace blockFace) {
     LocalWorld world = player.getWorld();
+    Vector3i signPosition = getTriggeredSignPosition(position, blockFace);
     Optional<Sign> sign;
 
     switch (blockFace) {
@@ -189,19 +190,41 @@ public class WarpSignHandler {
       case EAST:
       case SOUTH:
       case WEST:
-        sign = world.getAttachedSign(position.add(blockFace.getVector().mul(2)), blockFace.getOpposite());
-        break;
-      case UP:
-      case DOWN:
-        sign = world.getSign(position.sub(blockFace.getVector().mul(2)));
+        sign = world.getAttachedSign(signPosition, blockFace.getOpposite());
         break;
       default:
-        sign = world.getSign(position);
+        sign = world.getSign(signPosition);
     }
 
     return !sign.isPresent() || handleInteraction(player, sign.get());
   }
 
+  /**
+   * Gets the position of the sign that is triggered by an interaction with the given {@code blockFace} of the block at
+   * the given {@code position}.
+   *
+   * <p>Platforms may use this method to check whether a warp sign could be triggered, before calling {@link
+   * #handleInteraction(LocalPlayer, Vector3i, BlockFace)}.</p>
+   *
+   * @param position  the position of the interaction
+   * @param blockFace the blockFace of the interaction
+   * @return the position of the triggered sign
+   */
+  public static Vector3i getTriggeredSignPosition(Vector3i position, BlockFace blockFace) {
+    switch (blockFace) {
+      case NORTH:
+      case EAST:
+      case SOUTH:
+      case WEST:
+        return position.add(blockFace.getVector().mul(2));
+      case UP:
+      case DOWN:
+        return position.sub(blockFace.getVector().mul(2));
+      default:
+        return position;
+    }
+  }
+
   /**
    * Handles the interaction of the given {@code player} with the given {@code sign}. Returns {@code true} if and only
    * if the sign is a valid warp sign.
@@ -240,11 +263,18 @@ public class WarpSignHandler {
       return true;
     }
 
-    teleportService.teleport(player, warp);
+    teleportService.teleportAsync(player, warp);
     return true;
   }
 
-  private boolean isWarpSign(Sign sign) {
+  /**
+   * Returns whether the given {@code sign} is a warp sign, i.e. whether its second line contains one of the identifiers
+   * of this handler enclosed by brackets.
+   *
+   * @param sign the sign to check
+   * @return {@code true} if the sign is a warp sign
+   */
+  public boolean isWarpSign(Sign sign) {
     String identifier = sign.getLine(IDENTIFIER_LINE);
 
     if (!(identifier.startsWith("[") && identifier.endsWith("]"))) {
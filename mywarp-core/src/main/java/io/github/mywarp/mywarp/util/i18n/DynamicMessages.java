@@ -27,7 +27,10 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Provides localized messages using Java ResourceBundles.
@@ -35,11 +38,17 @@ import java.util.ResourceBundle;
  * <p>When created, instances will load MyWarp's built-in resource bundles. This process can be customized for all
  * existing instances by registering a custom {@link java.util.ResourceBundle.Control} via {@link
  * #setControl(ResourceBundle.Control)}.</p>
+ *
+ * <p>Formatted messages are parsed into a {@link MessageFormat} only once for each combination of ResourceBundle,
+ * Locale and key. Since MessageFormat is not threadsafe, the cached instances are never used directly, but cloned
+ * before formatting. The cache is shared by all instances and cleared by {@link #clearCache()}.</p>
  */
 public class DynamicMessages {
 
   private static final Logger log = MyWarpLogger.getLogger(DynamicMessages.class);
 
+  private static final ConcurrentMap<FormatKey, MessageFormat> formats = new ConcurrentHashMap<>();
+
   private static ResourceBundle.Control control = new EncodedControl();
 
   private final String baseName;
@@ -58,6 +67,7 @@ public class DynamicMessages {
    */
   public static void clearCache() {
     ResourceBundle.clearCache();
+    formats.clear();
   }
 
   /**
@@ -67,6 +77,7 @@ public class DynamicMessages {
    */
   public static synchronized void setControl(ResourceBundle.Control control) {
     DynamicMessages.control = control;
+    formats.clear();
   }
 
   /**
@@ -127,15 +138,37 @@ public class DynamicMessages {
    */
   public String getString(String key, Locale locale, Object... args) {
     try {
-      ResourceBundle bundle = getBundle(locale);
-      MessageFormat format = new MessageFormat(bundle.getString(key), bundle.getLocale());
-      return format.format(args);
+      return getFormat(key, locale).format(args);
     } catch (MissingResourceException e) {
       log.warn("Failed to find message.", e);
     }
     return "${" + key + "}:" + Arrays.toString(args);
   }
 
+  /**
+   * Gets a MessageFormat for the given key, parsed from the ResourceBundle applicable for the given Locale.
+   *
+   * <p>The returned instance is a copy of the cached one and may therefore be used without synchronization.</p>
+   *
+   * @param key    the key
+   * @param locale the Locale
+   * @return a MessageFormat for the key
+   * @throws MissingResourceException if no string can be found for the given key
+   */
+  private MessageFormat getFormat(String key, Locale locale) {
+    FormatKey formatKey = new FormatKey(baseName, locale, key);
+    MessageFormat format = formats.get(formatKey);
+    if (format == null) {
+      ResourceBundle bundle = getBundle(locale);
+      format = new MessageFormat(bundle.getString(key), bundle.getLocale());
+      MessageFormat existing = formats.putIfAbsent(formatKey, format);
+      if (existing != null) {
+        format = existing;
+      }
+    }
+    return (MessageFormat) format.clone();
+  }
+
   /**
    * Gets the ResourceBundle applicable for the given key.
    *
@@ -145,4 +178,37 @@ public class DynamicMessages {
   private ResourceBundle getBundle(Locale locale) {
     return ResourceBundle.getBundle(baseName, locale, control);
   }
+
+  /**
+   * Identifies a cached MessageFormat.
+   */
+  private static final class FormatKey {
+
+    private final String baseName;
+    private final Locale locale;
+    private final String key;
+
+    private FormatKey(String baseName, Locale locale, String key) {
+      this.baseName = baseName;
+      this.locale = locale;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      FormatKey that = (FormatKey) o;
+      return baseName.equals(that.baseName) && locale.equals(that.locale) && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(baseName, locale, key);
+    }
+  }
 }
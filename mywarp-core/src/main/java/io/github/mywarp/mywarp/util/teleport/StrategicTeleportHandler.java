@@ -28,23 +28,39 @@ import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.platform.Settings;
 import io.github.mywarp.mywarp.platform.capability.PositionValidationCapability;
+import io.github.mywarp.mywarp.util.MyWarpLogger;
 import io.github.mywarp.mywarp.util.i18n.DynamicMessages;
 import io.github.mywarp.mywarp.warp.Warp;
 
+import org.slf4j.Logger;
+
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 /**
  * Parses teleport positions against a {@link PositionValidationCapability}. If a valid position exists, the entity is
  * teleported there. If no valid position exists, the teleport is canceled.
+ *
+ * <p>Teleports can be {@link #prepare(UUID, Vector3d) prepared}, so that strategies may search for valid positions
+ * outside of the thread that handles the game's logic. Validated positions may be cached in a {@link
+ * ValidPositionCache}.</p>
  */
 public class StrategicTeleportHandler implements TeleportHandler {
 
   private static final DynamicMessages msg = new DynamicMessages(Warp.RESOURCE_BUNDLE_NAME);
+  private static final Logger log = MyWarpLogger.getLogger(StrategicTeleportHandler.class);
 
   private final Iterable<PositionValidationCapability> strategies;
   private final Settings settings;
   private final Game game;
+  @Nullable
+  private final ValidPositionCache positionCache;
+  private final int inspectionRadius;
 
 
   /**
@@ -74,9 +90,35 @@ public class StrategicTeleportHandler implements TeleportHandler {
    * @param strategies the strategies to use
    */
   public StrategicTeleportHandler(Settings settings, Game game, Iterable<PositionValidationCapability> strategies) {
+    this(settings, game, null, strategies);
+  }
+
+  /**
+   * Creates an instance that uses the given strategies to validate teleport positions and caches validated positions
+   * in the given {@code positionCache}.
+   *
+   * <p>The strategies are evaluated in the order of the elements in the given Iterable until either a strategy returns
+   * no valid position or all strategies have evaluated the position. If a strategy returns an alternate position,
+   * following strategies will check this position opposed to the original one. </p>
+   *
+   * @param settings      the settings instance to use
+   * @param game          the game instance to use
+   * @param positionCache the cache for validated positions or {@code null} if positions should not be cached
+   * @param strategies    the strategies to use
+   */
+  public StrategicTeleportHandler(Settings settings, Game game, @Nullable ValidPositionCache positionCache,
+                                  Iterable<PositionValidationCapability> strategies) {
     this.strategies = strategies;
     this.settings = settings;
     this.game = game;
+    this.positionCache = positionCache;
+
+    int inspectionRadius = 0;
+    for (PositionValidationCapability strategy : strategies) {
+      // each strategy starts from the position returned by the previous one
+      inspectionRadius += strategy.getInspectionRadius();
+    }
+    this.inspectionRadius = inspectionRadius;
   }
 
   @Override
@@ -87,9 +129,31 @@ public class StrategicTeleportHandler implements TeleportHandler {
       return TeleportStatus.NO_SUCH_WORLD;
     }
     LocalWorld world = worldOptional.get();
+    return teleport(entity, world, position, getValidPosition(world, position), rotation);
+  }
+
+  @Override
+  public CompletableFuture<TeleportHandler> prepare(UUID worldIdentifier, Vector3d position) {
+    Optional<LocalWorld> worldOptional = game.getWorld(worldIdentifier);
+
+    if (!worldOptional.isPresent()) {
+      return CompletableFuture.completedFuture(this);
+    }
+    LocalWorld world = worldOptional.get();
 
-    Optional<Vector3d> optional = getValidPosition(world, position);
+    CompletableFuture<Optional<Vector3d>> future = getValidPositionAsync(world, position);
+    BiFunction<Optional<Vector3d>, Throwable, TeleportHandler> prepared = (validPosition, throwable) -> {
+      if (throwable != null) {
+        log.warn("Failed to validate the teleport position in advance, it will be validated on teleport.", throwable);
+        return this;
+      }
+      return new PreparedTeleportHandler(worldIdentifier, world, position, validPosition);
+    };
+    return future.isDone() ? future.handle(prepared) : future.handleAsync(prepared, game.getExecutor());
+  }
 
+  private TeleportStatus teleport(LocalEntity entity, LocalWorld world, Vector3d position,
+                                  Optional<Vector3d> optional, Vector2f rotation) {
     if (!optional.isPresent()) {
       return TeleportStatus.NONE;
     }
@@ -108,6 +172,22 @@ public class StrategicTeleportHandler implements TeleportHandler {
   }
 
   private Optional<Vector3d> getValidPosition(LocalWorld world, Vector3d originalPosition) {
+    if (positionCache == null) {
+      return validate(world, originalPosition);
+    }
+    return positionCache
+        .get(world.getUniqueId(), originalPosition, inspectionRadius, position -> validate(world, position));
+  }
+
+  private CompletableFuture<Optional<Vector3d>> getValidPositionAsync(LocalWorld world, Vector3d originalPosition) {
+    if (positionCache == null) {
+      return validateAsync(world, originalPosition);
+    }
+    return positionCache.getAsync(world.getUniqueId(), originalPosition, inspectionRadius,
+                                  position -> validateAsync(world, position), game.getExecutor());
+  }
+
+  private Optional<Vector3d> validate(LocalWorld world, Vector3d originalPosition) {
     Optional<Vector3d> ret = Optional.of(originalPosition);
     for (PositionValidationCapability strategy : strategies) {
       if (!ret.isPresent()) {
@@ -117,4 +197,43 @@ public class StrategicTeleportHandler implements TeleportHandler {
     }
     return ret;
   }
+
+  private CompletableFuture<Optional<Vector3d>> validateAsync(LocalWorld world, Vector3d originalPosition) {
+    CompletableFuture<Optional<Vector3d>> ret = CompletableFuture.completedFuture(Optional.of(originalPosition));
+    for (PositionValidationCapability strategy : strategies) {
+      Function<Optional<Vector3d>, CompletableFuture<Optional<Vector3d>>> next =
+          position -> position.isPresent() ? strategy.getValidPositionAsync(position.get(), world)
+                                           : CompletableFuture.completedFuture(position);
+      // strategies must be called from the game's thread
+      ret = ret.isDone() ? ret.thenCompose(next) : ret.thenComposeAsync(next, game.getExecutor());
+    }
+    return ret;
+  }
+
+  /**
+   * Teleports entities to a position that has already been validated.
+   */
+  private class PreparedTeleportHandler implements TeleportHandler {
+
+    private final UUID worldIdentifier;
+    private final LocalWorld world;
+    private final Vector3d position;
+    private final Optional<Vector3d> validPosition;
+
+    private PreparedTeleportHandler(UUID worldIdentifier, LocalWorld world, Vector3d position,
+                                    Optional<Vector3d> validPosition) {
+      this.worldIdentifier = worldIdentifier;
+      this.world = world;
+      this.position = position;
+      this.validPosition = validPosition;
+    }
+
+    @Override
+    public TeleportStatus teleport(LocalEntity entity, UUID worldIdentifier, Vector3d position, Vector2f rotation) {
+      if (!this.worldIdentifier.equals(worldIdentifier) || !this.position.equals(position)) {
+        return StrategicTeleportHandler.this.teleport(entity, worldIdentifier, position, rotation);
+      }
+      return StrategicTeleportHandler.this.teleport(entity, world, position, validPosition, rotation);
+    }
+  }
 }
@@ -25,6 +25,7 @@ import com.flowpowered.math.vector.Vector3d;
 import io.github.mywarp.mywarp.platform.LocalEntity;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles entity teleports.
@@ -43,6 +44,24 @@ public interface TeleportHandler {
    */
   TeleportStatus teleport(LocalEntity entity, UUID worldIdentifier, Vector3d position, Vector2f rotation);
 
+  /**
+   * Prepares a teleport to the given {@code position} on the world identified by the given {@code worldIdentifier}.
+   *
+   * <p>The returned CompletableFuture completes within the thread that handles the game's logic with a TeleportHandler
+   * that teleports entities to the prepared position without doing any expensive work. Teleports to any other
+   * position are handled as by this TeleportHandler. The default implementation completes immediately with this
+   * TeleportHandler.</p>
+   *
+   * <p>This method must be called from the thread that handles the game's logic.</p>
+   *
+   * @param worldIdentifier the identifier of the world to teleport to
+   * @param position        the position to teleport to
+   * @return a CompletableFuture that completes with the prepared TeleportHandler
+   */
+  default CompletableFuture<TeleportHandler> prepare(UUID worldIdentifier, Vector3d position) {
+    return CompletableFuture.completedFuture(this);
+  }
+
   /**
    * The status of a finished teleport.
    */
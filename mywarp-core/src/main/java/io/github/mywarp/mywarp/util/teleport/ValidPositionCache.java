@@ -0,0 +1,364 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.util.teleport;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.eventbus.Subscribe;
+
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.event.WarpDeletionEvent;
+import io.github.mywarp.mywarp.warp.event.WarpUpdateEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the valid positions found for teleport positions.
+ *
+ * <p>Most warps are either safe or have a fixed corrected position, so validating their position on every teleport
+ * inspects the same blocks over and over again. Every cached position covers a cube of blocks around the original
+ * position. Platforms must call {@link #invalidate(UUID, Vector3i)} whenever a block changes, so that all entries whose
+ * cube contains the block are discarded. Entries also expire after a fixed duration to cover changes the platform is
+ * not notified about.</p>
+ *
+ * <p>Instances must be registered on the EventBus that receives the events of the WarpManager, so that entries are
+ * discarded when the location of a warp changes or a warp is deleted.</p>
+ *
+ * <p>This class is not thread-safe and must only be used from the thread that handles the game's logic. The counters
+ * can be read from any thread.</p>
+ */
+public class ValidPositionCache {
+
+  private static final int MAX_ENTRIES = 1024;
+  private static final long EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private final Map<Key, Entry> entries = new HashMap<Key, Entry>();
+  private final Map<UUID, Map<Long, Set<Entry>>> chunkIndex = new HashMap<UUID, Map<Long, Set<Entry>>>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Gets the valid position for the given {@code position} in the world identified by the given unique identifier. If
+   * no valid position is cached, it is resolved by the given {@code validator} and cached for the cube with the given
+   * {@code radius} around the position.
+   *
+   * @param worldIdentifier the unique identifier of the world
+   * @param position        the original position
+   * @param radius          the radius of the cube that contains all blocks the validator inspects
+   * @param validator       resolves the valid position if none is cached
+   * @return an Optional containing the valid position, if one exists
+   */
+  public Optional<Vector3d> get(UUID worldIdentifier, Vector3d position, int radius,
+                                Function<Vector3d, Optional<Vector3d>> validator) {
+    Key key = new Key(worldIdentifier, position);
+    Entry entry = getCompleted(key);
+    if (entry != null) {
+      hits.incrementAndGet();
+      return entry.validPosition;
+    }
+    misses.incrementAndGet();
+
+    Optional<Vector3d> ret = validator.apply(position);
+    if (!entries.containsKey(key)) {
+      entry = add(key, radius);
+      complete(entry, ret);
+    }
+    return ret;
+  }
+
+  /**
+   * Gets a CompletableFuture that completes with the valid position for the given {@code position} in the world
+   * identified by the given unique identifier. If no valid position is cached, it is resolved by the given {@code
+   * validator} and cached for the cube with the given {@code radius} around the position.
+   *
+   * <p>If a block within the cube changes while the validator is running, its result is not cached. Results are added
+   * to the cache by the given {@code executor}, which must run tasks on the thread that handles the game's logic.</p>
+   *
+   * @param worldIdentifier the unique identifier of the world
+   * @param position        the original position
+   * @param radius          the radius of the cube that contains all blocks the validator inspects
+   * @param validator       resolves the valid position if none is cached
+   * @param executor        the executor that adds results to this cache
+   * @return a CompletableFuture that completes with an Optional containing the valid position, if one exists
+   */
+  public CompletableFuture<Optional<Vector3d>> getAsync(UUID worldIdentifier, Vector3d position, int radius,
+                                                        Function<Vector3d, CompletableFuture<Optional<Vector3d>>>
+                                                            validator, Executor executor) {
+    Key key = new Key(worldIdentifier, position);
+    Entry entry = getCompleted(key);
+    if (entry != null) {
+      hits.incrementAndGet();
+      return CompletableFuture.completedFuture(entry.validPosition);
+    }
+    misses.incrementAndGet();
+
+    CompletableFuture<Optional<Vector3d>> future = validator.apply(position);
+    if (entries.containsKey(key)) {
+      // another validation of this position is still running
+      return future;
+    }
+
+    // added before the validator completes, so block changes in the meantime discard the entry
+    Entry pending = add(key, radius);
+    BiConsumer<Optional<Vector3d>, Throwable> completion = (validPosition, throwable) -> {
+      if (throwable != null) {
+        remove(pending);
+      } else {
+        complete(pending, validPosition);
+      }
+    };
+    return future.isDone() ? future.whenComplete(completion) : future.whenCompleteAsync(completion, executor);
+  }
+
+  /**
+   * Discards all entries whose cube contains the block at the given {@code position} in the world identified by the
+   * given unique identifier.
+   *
+   * @param worldIdentifier the unique identifier of the world
+   * @param position        the position of the block
+   */
+  public void invalidate(UUID worldIdentifier, Vector3i position) {
+    Map<Long, Set<Entry>> chunks = chunkIndex.get(worldIdentifier);
+    if (chunks == null) {
+      return;
+    }
+    Set<Entry> candidates = chunks.get(chunkKey(position.getX() >> 4, position.getZ() >> 4));
+    if (candidates == null) {
+      return;
+    }
+    List<Entry> invalidated = new ArrayList<Entry>();
+    for (Entry candidate : candidates) {
+      if (candidate.contains(position)) {
+        invalidated.add(candidate);
+      }
+    }
+    invalidated.forEach(this::remove);
+  }
+
+  /**
+   * Discards all entries of the world identified by the given unique identifier.
+   *
+   * @param worldIdentifier the unique identifier of the world
+   */
+  public void invalidateAll(UUID worldIdentifier) {
+    Map<Long, Set<Entry>> chunks = chunkIndex.remove(worldIdentifier);
+    if (chunks != null) {
+      entries.keySet().removeIf(key -> key.worldIdentifier.equals(worldIdentifier));
+    }
+  }
+
+  /**
+   * Discards all entries.
+   */
+  public void clear() {
+    entries.clear();
+    chunkIndex.clear();
+  }
+
+  /**
+   * Gets the number of lookups that were answered from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Gets the number of lookups that had to be resolved by validating the position.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Called whenever a warp is deleted.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public void onWarpDeletion(WarpDeletionEvent event) {
+    invalidate(event.getWarp());
+  }
+
+  /**
+   * Called whenever a warp is updated.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public void onWarpUpdate(WarpUpdateEvent event) {
+    if (event.getType() == WarpUpdateEvent.UpdateType.LOCATION) {
+      invalidate(event.getWarp());
+    }
+  }
+
+  private void invalidate(Warp warp) {
+    Entry entry = entries.get(new Key(warp.getWorldIdentifier(), warp.getPosition()));
+    if (entry != null) {
+      remove(entry);
+    }
+  }
+
+  @Nullable
+  private Entry getCompleted(Key key) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.validPosition == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.expiry >= 0) {
+      remove(entry);
+      return null;
+    }
+    return entry;
+  }
+
+  private Entry add(Key key, int radius) {
+    if (entries.size() >= MAX_ENTRIES) {
+      clear();
+    }
+    Vector3i center = key.position.toInt();
+    Entry entry = new Entry(key, center.sub(radius, radius, radius), center.add(radius, radius, radius));
+    entries.put(key, entry);
+
+    Map<Long, Set<Entry>> chunks =
+        chunkIndex.computeIfAbsent(key.worldIdentifier, k -> new HashMap<Long, Set<Entry>>());
+    for (int x = entry.min.getX() >> 4; x <= entry.max.getX() >> 4; x++) {
+      for (int z = entry.min.getZ() >> 4; z <= entry.max.getZ() >> 4; z++) {
+        chunks.computeIfAbsent(chunkKey(x, z), k -> new HashSet<Entry>()).add(entry);
+      }
+    }
+    return entry;
+  }
+
+  private void complete(Entry entry, Optional<Vector3d> validPosition) {
+    // the entry has been discarded while the position was validated
+    if (entries.get(entry.key) != entry) {
+      return;
+    }
+    entry.validPosition = validPosition;
+    entry.expiry = System.nanoTime() + EXPIRY_NANOS;
+  }
+
+  private void remove(Entry entry) {
+    if (!entries.remove(entry.key, entry)) {
+      return;
+    }
+    Map<Long, Set<Entry>> chunks = chunkIndex.get(entry.key.worldIdentifier);
+    if (chunks == null) {
+      return;
+    }
+    for (int x = entry.min.getX() >> 4; x <= entry.max.getX() >> 4; x++) {
+      for (int z = entry.min.getZ() >> 4; z <= entry.max.getZ() >> 4; z++) {
+        Long chunkKey = chunkKey(x, z);
+        Set<Entry> chunkEntries = chunks.get(chunkKey);
+        if (chunkEntries != null && chunkEntries.remove(entry) && chunkEntries.isEmpty()) {
+          chunks.remove(chunkKey);
+        }
+      }
+    }
+    if (chunks.isEmpty()) {
+      chunkIndex.remove(entry.key.worldIdentifier);
+    }
+  }
+
+  private static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Identifies a teleport position.
+   */
+  private static final class Key {
+
+    private final UUID worldIdentifier;
+    private final Vector3d position;
+
+    private Key(UUID worldIdentifier, Vector3d position) {
+      this.worldIdentifier = worldIdentifier;
+      this.position = position;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return worldIdentifier.equals(that.worldIdentifier) && position.equals(that.position);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * worldIdentifier.hashCode() + position.hashCode();
+    }
+  }
+
+  /**
+   * The valid position of a teleport position and the cube of blocks it depends on.
+   */
+  private static final class Entry {
+
+    private final Key key;
+    private final Vector3i min;
+    private final Vector3i max;
+
+    // null while the position is validated
+    @Nullable
+    private Optional<Vector3d> validPosition;
+    private long expiry;
+
+    private Entry(Key key, Vector3i min, Vector3i max) {
+      this.key = key;
+      this.min = min;
+      this.max = max;
+    }
+
+    private boolean contains(Vector3i position) {
+      return position.getX() >= min.getX() && position.getX() <= max.getX() && position.getY() >= min.getY()
+             && position.getY() <= max.getY() && position.getZ() >= min.getZ() && position.getZ() <= max.getZ();
+    }
+  }
+}
@@ -19,16 +19,8 @@
 
 package io.github.mywarp.mywarp.warp;
 
-import com.flowpowered.math.vector.Vector2f;
-import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ForwardingObject;
-import com.google.common.collect.ImmutableSet;
 
-import io.github.mywarp.mywarp.platform.LocalEntity;
-import io.github.mywarp.mywarp.platform.LocalWorld;
-import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
-
-import java.time.Instant;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
@@ -72,6 +64,31 @@ abstract class ForwardingPopulatableWarpManager extends ForwardingObject impleme
     return delegate().getAll(predicate);
   }
 
+  @Override
+  public Collection<Warp> getAllByNameIgnoreCase(String name, Predicate<Warp> predicate) {
+    return delegate().getAllByNameIgnoreCase(name, predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByNamePrefix(String prefix, Predicate<Warp> predicate) {
+    return delegate().getAllByNamePrefix(prefix, predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByCreator(UUID creator, Predicate<Warp> predicate) {
+    return delegate().getAllByCreator(creator, predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByWorld(UUID worldIdentifier, Predicate<Warp> predicate) {
+    return delegate().getAllByWorld(worldIdentifier, predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByType(Warp.Type type, Predicate<Warp> predicate) {
+    return delegate().getAllByType(type, predicate);
+  }
+
   @Override
   public int getNumberOfWarps(Predicate<Warp> predicate) {
     return delegate().getNumberOfWarps(predicate);
@@ -94,141 +111,4 @@ abstract class ForwardingPopulatableWarpManager extends ForwardingObject impleme
 
   @Override
   protected abstract PopulatableWarpManager delegate();
-
-  /**
-   * Forwards all method calls to another Warp. Subclasses should override one or more methods to modify the behavior
-   * of the backing Warp as desired per the <a href="http://en.wikipedia .org/wiki/Decorator_pattern">decorator
-   * pattern</a>.
-   */
-  abstract class ForwardingWarp extends ForwardingObject implements Warp {
-
-    @Override
-    public TeleportHandler.TeleportStatus visit(LocalEntity entity, TeleportHandler handler) {
-      return delegate().visit(entity, handler);
-    }
-
-    @Override
-    public boolean isCreator(UUID uniqueId) {
-      return delegate().isCreator(uniqueId);
-    }
-
-    @Override
-    public boolean isType(Type type) {
-      return delegate().isType(type);
-    }
-
-    @Override
-    public boolean isPlayerInvited(UUID uniqueId) {
-      return delegate().isPlayerInvited(uniqueId);
-    }
-
-    @Override
-    public boolean isGroupInvited(String groupId) {
-      return delegate().isGroupInvited(groupId);
-    }
-
-    @Override
-    public void inviteGroup(String groupId) {
-      delegate().inviteGroup(groupId);
-    }
-
-    @Override
-    public void invitePlayer(UUID uniqueId) {
-      delegate().invitePlayer(uniqueId);
-    }
-
-    @Override
-    public void uninviteGroup(String groupId) {
-      delegate().uninviteGroup(groupId);
-    }
-
-    @Override
-    public void uninvitePlayer(UUID uniqueId) {
-      delegate().uninvitePlayer(uniqueId);
-    }
-
-    @Override
-    public int compareTo(Warp that) {
-      return delegate().compareTo(that);
-    }
-
-    @Override
-    public UUID getCreator() {
-      return delegate().getCreator();
-    }
-
-    @Override
-    public void setCreator(UUID uniqueId) {
-      delegate().setCreator(uniqueId);
-    }
-
-    @Override
-    public ImmutableSet<String> getInvitedGroups() {
-      return delegate().getInvitedGroups();
-    }
-
-    @Override
-    public ImmutableSet<UUID> getInvitedPlayers() {
-      return delegate().getInvitedPlayers();
-    }
-
-    @Override
-    public String getName() {
-      return delegate().getName();
-    }
-
-    @Override
-    public UUID getWorldIdentifier() {
-      return delegate().getWorldIdentifier();
-    }
-
-    @Override
-    public Vector3d getPosition() {
-      return delegate().getPosition();
-    }
-
-    @Override
-    public Vector2f getRotation() {
-      return delegate().getRotation();
-    }
-
-    @Override
-    public Type getType() {
-      return delegate().getType();
-    }
-
-    @Override
-    public void setType(Type type) {
-      delegate().setType(type);
-    }
-
-    @Override
-    public Instant getCreationDate() {
-      return delegate().getCreationDate();
-    }
-
-    @Override
-    public int getVisits() {
-      return delegate().getVisits();
-    }
-
-    @Override
-    public String getWelcomeMessage() {
-      return delegate().getWelcomeMessage();
-    }
-
-    @Override
-    public void setWelcomeMessage(String welcomeMessage) {
-      delegate().setWelcomeMessage(welcomeMessage);
-    }
-
-    @Override
-    public void setLocation(LocalWorld world, Vector3d position, Vector2f rotation) {
-      delegate().setLocation(world, position, rotation);
-    }
-
-    @Override
-    protected abstract Warp delegate();
-
-  }
 }
@@ -21,29 +21,55 @@ package io.github.mywarp.mywarp.warp;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.flowpowered.math.vector.Vector2f;
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.TreeMultimap;
+
+import io.github.mywarp.mywarp.platform.LocalWorld;
+
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Stores managed warp in memory.
+ *
+ * <p>Besides the warps themselves, this manager maintains secondary indexes that map creators, worlds and types to the
+ * warps they contain. Warps are wrapped when they are added, so that the indexes are kept up to date when the creator,
+ * location or type of a managed warp changes.</p>
+ *
+ * <p>Additionally, warp names are stored case-folded in a sorted index. Warps whose name equals a query or starts with
+ * it (both ignoring case) can thus be resolved without testing every managed warp.</p>
  */
 public class MemoryPopulatableWarpManager implements PopulatableWarpManager {
 
   private final Map<String, Warp> warpMap = new HashMap<String, Warp>();
+  private final TreeMultimap<String, Warp> nameIndex = TreeMultimap.create();
+  private final SetMultimap<UUID, Warp> creatorIndex = HashMultimap.create();
+  private final SetMultimap<UUID, Warp> worldIndex = HashMultimap.create();
+  private final SetMultimap<Warp.Type, Warp> typeIndex = HashMultimap.create();
 
   @Override
   public void add(Warp warp) {
     checkArgument(!containsByName(warp.getName()), "A warp with the name '%s' does already exist!", warp.getName());
+    warp = new IndexedWarp(warp);
     warpMap.put(warp.getName(), warp);
+    index(warp);
   }
 
   @Override
   public void remove(Warp warp) {
-    warpMap.remove(warp.getName());
+    Warp removed = warpMap.remove(warp.getName());
+    if (removed != null) {
+      unindex(removed);
+    }
   }
 
   @Override
@@ -63,7 +89,34 @@ public class MemoryPopulatableWarpManager implements PopulatableWarpManager {
 
   @Override
   public Collection<Warp> getAll(Predicate<Warp> predicate) {
-    return warpMap.values().stream().filter(predicate).collect(Collectors.toList());
+    return filter(warpMap.values(), predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByNameIgnoreCase(String name, Predicate<Warp> predicate) {
+    return filter(nameIndex.get(fold(name)), predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByNamePrefix(String prefix, Predicate<Warp> predicate) {
+    String folded = fold(prefix);
+    return nameIndex.asMap().subMap(folded, folded + Character.MAX_VALUE).values().stream()
+        .flatMap(Collection::stream).filter(predicate).collect(Collectors.toList());
+  }
+
+  @Override
+  public Collection<Warp> getAllByCreator(UUID creator, Predicate<Warp> predicate) {
+    return filter(creatorIndex.get(creator), predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByWorld(UUID worldIdentifier, Predicate<Warp> predicate) {
+    return filter(worldIndex.get(worldIdentifier), predicate);
+  }
+
+  @Override
+  public Collection<Warp> getAllByType(Warp.Type type, Predicate<Warp> predicate) {
+    return filter(typeIndex.get(type), predicate);
   }
 
   @Override
@@ -84,5 +137,94 @@ public class MemoryPopulatableWarpManager implements PopulatableWarpManager {
   @Override
   public void depopulate() {
     warpMap.clear();
+    nameIndex.clear();
+    creatorIndex.clear();
+    worldIndex.clear();
+    typeIndex.clear();
+  }
+
+  private static Collection<Warp> filter(Collection<Warp> warps, Predicate<Warp> predicate) {
+    return warps.stream().filter(predicate).collect(Collectors.toList());
+  }
+
+  private static String fold(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  private void index(Warp warp) {
+    nameIndex.put(fold(warp.getName()), warp);
+    creatorIndex.put(warp.getCreator(), warp);
+    worldIndex.put(warp.getWorldIdentifier(), warp);
+    typeIndex.put(warp.getType(), warp);
+  }
+
+  private void unindex(Warp warp) {
+    nameIndex.remove(fold(warp.getName()), warp);
+    creatorIndex.remove(warp.getCreator(), warp);
+    worldIndex.remove(warp.getWorldIdentifier(), warp);
+    typeIndex.remove(warp.getType(), warp);
+  }
+
+  /**
+   * A Warp that updates the indexes of the parent manager whenever an indexed property changes.
+   */
+  private class IndexedWarp extends ForwardingWarp {
+
+    private final Warp delegate;
+
+    private IndexedWarp(Warp delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    protected Warp delegate() {
+      return delegate;
+    }
+
+    @Override
+    public void setCreator(UUID uniqueId) {
+      boolean managed = isManaged();
+      if (managed) {
+        creatorIndex.remove(getCreator(), this);
+      }
+      super.setCreator(uniqueId);
+      if (managed) {
+        creatorIndex.put(getCreator(), this);
+      }
+    }
+
+    @Override
+    public void setLocation(LocalWorld world, Vector3d position, Vector2f rotation) {
+      boolean managed = isManaged();
+      if (managed) {
+        worldIndex.remove(getWorldIdentifier(), this);
+      }
+      super.setLocation(world, position, rotation);
+      if (managed) {
+        worldIndex.put(getWorldIdentifier(), this);
+      }
+    }
+
+    @Override
+    public void setType(Type type) {
+      boolean managed = isManaged();
+      if (managed) {
+        typeIndex.remove(getType(), this);
+      }
+      super.setType(type);
+      if (managed) {
+        typeIndex.put(getType(), this);
+      }
+    }
+
+    /**
+     * Returns whether this Warp is still managed by the parent manager. Warps that have been removed from the manager
+     * must not be re-added to the indexes.
+     *
+     * @return {@code true} if this Warp is managed
+     */
+    private boolean isManaged() {
+      return warpMap.get(getName()) == this;
+    }
   }
 }
@@ -19,17 +19,21 @@
 
 package io.github.mywarp.mywarp.warp;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
 import io.github.mywarp.mywarp.platform.Actor;
 import io.github.mywarp.mywarp.platform.PlayerNameResolver;
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
@@ -48,12 +52,19 @@ import javax.annotation.Nullable;
  * <p>In some contexts, additional placeholders might be supported: <table> <tr> <th>Placeholder</th>
  * <th>Replacement</th> </tr> <tr> <td>%player%</td> <td>the name of an Actor that uses the warp</td> </tr> </table>
  * </p>
+ *
+ * <p>Templates are split into literal text and placeholders only once and the result is cached for all instances,
+ * so resolving the same template again only appends the segments and replacements.</p>
  */
 public class PlaceholderResolver {
 
   private static final Pattern TOKEN_PATTERN = Pattern.compile("%(.+?)%");
+  private static final String ACTOR_TOKEN = "player";
+  private static final int MAX_CACHED_TEMPLATES = 256;
+
+  private static final ConcurrentMap<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
 
-  private final PlayerNameResolver resolver;
+  private final ImmutableMap<String, Token> tokens;
 
   /**
    * Creates an instance.
@@ -61,7 +72,9 @@ public class PlaceholderResolver {
    * @param resolver the PlayerNameResolver used to resolve UUIDs in the replacement process
    */
   public PlaceholderResolver(PlayerNameResolver resolver) {
-    this.resolver = resolver;
+    this.tokens =
+        Maps.uniqueIndex(Arrays.<Token>asList(new NameToken(), new LocationToken(), new VisitsToken(),
+                                                new CreatorToken(resolver)), Token::token);
   }
 
   /**
@@ -84,23 +97,27 @@ public class PlaceholderResolver {
    * @param actor the Actor
    * @return a usable resolver
    */
-  public ConfiguredPlaceholderResolver values(Warp warp, Actor actor) {
-    return new ConfiguredPlaceholderResolver(tokens(resolver, actor), warp);
+  public ConfiguredPlaceholderResolver values(Warp warp, @Nullable Actor actor) {
+    return new ConfiguredPlaceholderResolver(warp, actor);
   }
 
-  private Map<String, Token> tokens(PlayerNameResolver resolver, @Nullable Actor actor) {
-    Set<Token> tokens = new HashSet<Token>();
-
-    tokens.add(new NameToken());
-    tokens.add(new LocationToken());
-    tokens.add(new VisitsToken());
-    tokens.add(new CreatorToken(resolver));
-
-    if (actor != null) {
-      tokens.add(new ActorToken(actor.getName()));
+  /**
+   * Gets the compiled form of the given {@code template}, compiling and caching it if necessary.
+   *
+   * @param template the template String
+   * @return the compiled template
+   */
+  private static CompiledTemplate compile(String template) {
+    CompiledTemplate compiled = templates.get(template);
+    if (compiled == null) {
+      compiled = new CompiledTemplate(template);
+      if (templates.size() >= MAX_CACHED_TEMPLATES) {
+        // templates are usually few and static, so the cache is only reset when arbitrary templates pile up
+        templates.clear();
+      }
+      templates.put(template, compiled);
     }
-
-    return tokens.stream().collect(Collectors.toMap(Token::token, i -> i));
+    return compiled;
   }
 
   /**
@@ -110,12 +127,13 @@ public class PlaceholderResolver {
    */
   public class ConfiguredPlaceholderResolver {
 
-    private final Map<String, Token> tokens;
     private final Warp warp;
+    @Nullable
+    private final Actor actor;
 
-    private ConfiguredPlaceholderResolver(Map<String, Token> tokens, Warp warp) {
-      this.tokens = tokens;
+    private ConfiguredPlaceholderResolver(Warp warp, @Nullable Actor actor) {
       this.warp = warp;
+      this.actor = actor;
     }
 
     /**
@@ -125,19 +143,65 @@ public class PlaceholderResolver {
      * @return a String with resolved placeholders
      */
     public String resolvePlaceholders(String template) {
+      CompiledTemplate compiled = compile(template);
+      if (compiled.placeholders.length == 0) {
+        return template;
+      }
+      StringBuilder builder = new StringBuilder(template.length() + 16 * compiled.placeholders.length);
+      for (int i = 0; i < compiled.placeholders.length; i++) {
+        builder.append(compiled.literals[i]);
+        appendReplacement(builder, compiled.placeholders[i], compiled.rawPlaceholders[i]);
+      }
+      return builder.append(compiled.literals[compiled.placeholders.length]).toString();
+    }
+
+    private void appendReplacement(StringBuilder builder, String placeholder, String rawPlaceholder) {
+      if (actor != null && placeholder.equals(ACTOR_TOKEN)) {
+        builder.append(actor.getName());
+        return;
+      }
+      Token token = tokens.get(placeholder);
+      if (token != null) {
+        builder.append(token.apply(warp));
+      } else {
+        // unsupported placeholders remain unchanged
+        builder.append(rawPlaceholder);
+      }
+    }
+
+  }
+
+  /**
+   * A template String that has been split into literal text and placeholders.
+   *
+   * <p>The literal at index {@code i} precedes the placeholder at index {@code i}, the last literal follows the last
+   * placeholder. Thus there is always one literal more than there are placeholders.</p>
+   */
+  private static class CompiledTemplate {
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final String[] rawPlaceholders;
+
+    private CompiledTemplate(String template) {
+      List<String> literals = new ArrayList<String>();
+      List<String> placeholders = new ArrayList<String>();
+      List<String> rawPlaceholders = new ArrayList<String>();
+
       Matcher matcher = TOKEN_PATTERN.matcher(template);
-      StringBuffer buffer = new StringBuffer();
+      int last = 0;
       while (matcher.find()) {
-        if (tokens.containsKey(matcher.group(1))) {
-          String replacement = tokens.get(matcher.group(1)).apply(warp);
-          // Matcher.quoteReplacement() to work properly with $ and {,} signs
-          matcher.appendReplacement(buffer, replacement != null ? Matcher.quoteReplacement(replacement) : "null");
-        }
+        literals.add(template.substring(last, matcher.start()));
+        placeholders.add(matcher.group(1));
+        rawPlaceholders.add(matcher.group());
+        last = matcher.end();
       }
-      matcher.appendTail(buffer);
-      return buffer.toString();
-    }
+      literals.add(template.substring(last));
 
+      this.literals = literals.toArray(new String[literals.size()]);
+      this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+      this.rawPlaceholders = rawPlaceholders.toArray(new String[rawPlaceholders.size()]);
+    }
   }
 
   private abstract class Token implements Function<Warp, String> {
@@ -206,23 +270,4 @@ public class PlaceholderResolver {
     }
   }
 
-  private class ActorToken extends Token {
-
-    private final String actorName;
-
-    private ActorToken(String actorName) {
-      this.actorName = actorName;
-    }
-
-    @Override
-    public String apply(Warp input) {
-      return actorName;
-    }
-
-    @Override
-    String token() {
-      return "player";
-    }
-  }
-
 }
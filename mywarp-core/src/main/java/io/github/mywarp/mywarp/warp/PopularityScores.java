@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.warp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.eventbus.Subscribe;
+
+import io.github.mywarp.mywarp.warp.event.WarpAdditionEvent;
+import io.github.mywarp.mywarp.warp.event.WarpDeletionEvent;
+import io.github.mywarp.mywarp.warp.event.WarpUpdateEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the popularity scores of the warps managed by a WarpManager.
+ *
+ * <p>The popularity score of a warp depends on its number of visits and its age. Scores are computed once and cached,
+ * so that comparing warps by popularity does not require any computation. As a warp's score decreases over time, all
+ * scores should be recomputed periodically by calling {@link #refresh()}; the scores of single warps are updated
+ * whenever the warp's number of visits changes.</p>
+ *
+ * <p>Additionally, a view of all warps ordered by popularity is kept, so that listings and suggestions need not sort
+ * all warps whenever they are requested.</p>
+ *
+ * <p>Instances must be registered on the EventBus that receives the events of the WarpManager.</p>
+ */
+public class PopularityScores {
+
+  private static final double GRAVITY_CONSTANT = 0.8;
+
+  private final WarpManager warpManager;
+  private final Map<String, Double> scores = new ConcurrentHashMap<String, Double>();
+
+  private volatile Instant reference = Instant.now();
+
+  // guarded by this
+  private final List<Warp> order = new ArrayList<Warp>();
+  private boolean warpsChanged = true;
+  private boolean scoresChanged;
+  private ImmutableList<Warp> ranking = ImmutableList.of();
+
+  /**
+   * Creates an instance that caches the scores of the warps managed by the given {@code warpManager}.
+   *
+   * @param warpManager the WarpManager
+   */
+  public PopularityScores(WarpManager warpManager) {
+    this.warpManager = warpManager;
+  }
+
+  /**
+   * Recomputes the scores of all warps managed by the WarpManager.
+   */
+  public void refresh() {
+    Instant now = Instant.now();
+    Map<String, Double> refreshed = new ConcurrentHashMap<String, Double>();
+    for (Warp warp : warpManager.getAll(warp -> true)) {
+      refreshed.put(warp.getName(), computeScore(warp, now));
+    }
+    reference = now;
+    scores.keySet().retainAll(refreshed.keySet());
+    scores.putAll(refreshed);
+    synchronized (this) {
+      warpsChanged = true;
+    }
+  }
+
+  /**
+   * Gets the cached popularity score of the given {@code warp}. If no score is cached, it is computed.
+   *
+   * @param warp the warp
+   * @return the popularity score
+   */
+  public double getScore(Warp warp) {
+    Double score = scores.get(warp.getName());
+    if (score == null) {
+      return computeScore(warp, reference);
+    }
+    return score;
+  }
+
+  /**
+   * Gets all warps managed by the WarpManager, ordered by their popularity score: popular warps come first, unpopular
+   * last.
+   *
+   * <p>The ordered view is only updated if scores or warps have changed since it was last requested. If only scores
+   * have changed, the previous order is sorted again, which is close to linear as it is mostly sorted already.</p>
+   *
+   * @return an ImmutableList with all warps ordered by popularity
+   */
+  public synchronized ImmutableList<Warp> getRanking() {
+    if (warpsChanged) {
+      order.clear();
+      order.addAll(warpManager.getAll(warp -> true));
+    }
+    if (warpsChanged || scoresChanged) {
+      order.sort(new Warp.PopularityComparator(this));
+      ranking = ImmutableList.copyOf(order);
+      warpsChanged = false;
+      scoresChanged = false;
+    }
+    return ranking;
+  }
+
+  /**
+   * Called whenever a warp is added.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public void onWarpAddition(WarpAdditionEvent event) {
+    update(event.getWarp());
+    synchronized (this) {
+      warpsChanged = true;
+    }
+  }
+
+  /**
+   * Called whenever a warp is deleted.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public void onWarpDeletion(WarpDeletionEvent event) {
+    scores.remove(event.getWarp().getName());
+    synchronized (this) {
+      warpsChanged = true;
+    }
+  }
+
+  /**
+   * Called whenever a warp is updated.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public void onWarpUpdate(WarpUpdateEvent event) {
+    if (event.getType() == WarpUpdateEvent.UpdateType.VISITS) {
+      update(event.getWarp());
+    }
+  }
+
+  private void update(Warp warp) {
+    scores.put(warp.getName(), computeScore(warp, reference));
+    synchronized (this) {
+      scoresChanged = true;
+    }
+  }
+
+  /**
+   * Computes the popularity score of the given {@code warp} at the given instant. The score depends on the number of
+   * visits of the Warp as well as the warp's age.
+   *
+   * @param warp the warp
+   * @param now  the instant to compute the score at
+   * @return the popularity score of this Warp
+   */
+  static double computeScore(Warp warp, Instant now) {
+    // a basic implementation of the hacker news ranking algorithm detailed
+    // at http://amix.dk/blog/post/19574: Older warps receive lower scores
+    // due to the influence of the gravity constant.
+    double daysExisting = Duration.between(warp.getCreationDate(), now).toMillis() / (1000 * 60 * 60 * 24L);
+    return warp.getVisits() / Math.pow(daysExisting, GRAVITY_CONSTANT);
+  }
+}
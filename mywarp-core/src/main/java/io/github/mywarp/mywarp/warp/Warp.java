@@ -29,10 +29,10 @@ import io.github.mywarp.mywarp.platform.LocalEntity;
 import io.github.mywarp.mywarp.platform.LocalWorld;
 import io.github.mywarp.mywarp.util.teleport.TeleportHandler;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Comparator;
 import java.util.UUID;
+import java.util.function.ToDoubleFunction;
 
 /**
  * A named location with additional meta-data. Two Warps are equal if and only if their names are equal.
@@ -257,30 +257,36 @@ public interface Warp extends Comparable<Warp> {
    * <p>Warps with a higher popularity score are preferred over Warps with lower score. If the score is equal, newer
    * Warps are preferred over older Warps. If both Warps were created at the same millisecond, the alphabetically
    * first is preferred.</p>
+   *
+   * <p>If created with {@link PopularityScores}, cached scores are compared. Otherwise scores are computed on each
+   * comparison.</p>
    */
   class PopularityComparator implements Comparator<Warp> {
 
-    private static final double GRAVITY_CONSTANT = 0.8;
+    private final ToDoubleFunction<Warp> scoreFunction;
 
-    @Override
-    public int compare(Warp w1, Warp w2) {
-      return ComparisonChain.start().compare(popularityScore(w2), popularityScore(w1))
-          .compare(w2.getCreationDate(), w1.getCreationDate()).compare(w1.getName(), w2.getName()).result();
+    /**
+     * Creates an instance that computes the popularity scores at the time of the instance's creation.
+     */
+    public PopularityComparator() {
+      final Instant now = Instant.now();
+      this.scoreFunction = warp -> PopularityScores.computeScore(warp, now);
     }
 
     /**
-     * Computes the popularity score of the given {@code warp}. The score depends on the number of visits of the
-     * Warp as well as the warp's age.
+     * Creates an instance that compares the popularity scores cached by the given {@code scores}.
      *
-     * @return the popularity score of this Warp
+     * @param scores the cached scores
      */
-    //FIXME
-    private double popularityScore(Warp warp) {
-      // a basic implementation of the hacker news ranking algorithm detailed
-      // at http://amix.dk/blog/post/19574: Older warps receive lower scores
-      // due to the influence of the gravity constant.
-      double daysExisting = Duration.between(warp.getCreationDate(), Instant.now()).toMillis() / (1000 * 60 * 60 * 24L);
-      return warp.getVisits() / Math.pow(daysExisting, GRAVITY_CONSTANT);
+    public PopularityComparator(PopularityScores scores) {
+      this.scoreFunction = scores::getScore;
+    }
+
+    @Override
+    public int compare(Warp w1, Warp w2) {
+      return ComparisonChain.start()
+          .compare(scoreFunction.applyAsDouble(w2), scoreFunction.applyAsDouble(w1))
+          .compare(w2.getCreationDate(), w1.getCreationDate()).compare(w1.getName(), w2.getName()).result();
     }
   }
 
@@ -21,6 +21,7 @@ package io.github.mywarp.mywarp.warp;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 /**
@@ -78,6 +79,68 @@ public interface WarpManager {
    */
   Collection<Warp> getAll(Predicate<Warp> predicate);
 
+  /**
+   * Gets a Collection with all Warps on this manager whose name equals the given {@code name} if the case of both is
+   * ignored and that fulfill the given {@code predicate}.
+   *
+   * @param name      the name
+   * @param predicate the predicate to fulfill
+   * @return all Warps with the given name (ignoring case) that fulfill the Predicate
+   */
+  Collection<Warp> getAllByNameIgnoreCase(String name, Predicate<Warp> predicate);
+
+  /**
+   * Gets a Collection with all Warps on this manager whose name starts with the given {@code prefix} if the case of
+   * both is ignored and that fulfill the given {@code predicate}.
+   *
+   * <p>Implementations may use a sorted name index, so calling this method is usually cheaper than calling
+   * {@link #getAll(Predicate)} with an equivalent predicate.</p>
+   *
+   * @param prefix    the prefix
+   * @param predicate the predicate to fulfill
+   * @return all Warps whose name starts with the given prefix (ignoring case) that fulfill the Predicate
+   */
+  Collection<Warp> getAllByNamePrefix(String prefix, Predicate<Warp> predicate);
+
+  /**
+   * Gets a Collection with all Warps on this manager that were created by the player identified by the given unique
+   * identifier and that fulfill the given {@code predicate}.
+   *
+   * <p>Implementations may use an index to resolve the Warps of the creator, so calling this method is usually
+   * cheaper than calling {@link #getAll(Predicate)} with an equivalent predicate.</p>
+   *
+   * @param creator   the unique identifier of the creator
+   * @param predicate the predicate to fulfill
+   * @return all Warps of the creator that fulfill the Predicate
+   */
+  Collection<Warp> getAllByCreator(UUID creator, Predicate<Warp> predicate);
+
+  /**
+   * Gets a Collection with all Warps on this manager that are positioned in the world identified by the given unique
+   * identifier and that fulfill the given {@code predicate}.
+   *
+   * <p>Implementations may use an index to resolve the Warps of the world, so calling this method is usually
+   * cheaper than calling {@link #getAll(Predicate)} with an equivalent predicate.</p>
+   *
+   * @param worldIdentifier the unique identifier of the world
+   * @param predicate       the predicate to fulfill
+   * @return all Warps in the world that fulfill the Predicate
+   */
+  Collection<Warp> getAllByWorld(UUID worldIdentifier, Predicate<Warp> predicate);
+
+  /**
+   * Gets a Collection with all Warps on this manager that are of the given {@code type} and that fulfill the given
+   * {@code predicate}.
+   *
+   * <p>Implementations may use an index to resolve the Warps of the type, so calling this method is usually
+   * cheaper than calling {@link #getAll(Predicate)} with an equivalent predicate.</p>
+   *
+   * @param type      the type
+   * @param predicate the predicate to fulfill
+   * @return all Warps of the type that fulfill the Predicate
+   */
+  Collection<Warp> getAllByType(Warp.Type type, Predicate<Warp> predicate);
+
   /**
    * Gets the number of Warps managed by this manager that fulfill the given predicate.
    *
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.warp.authorization;
+
+import io.github.mywarp.mywarp.platform.Actor;
+import io.github.mywarp.mywarp.platform.LocalEntity;
+import io.github.mywarp.mywarp.platform.LocalPlayer;
+import io.github.mywarp.mywarp.warp.Warp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Captures everything about an Actor that is needed to resolve its authorizations for a certain query.
+ *
+ * <p>An AuthorizationContext is created once per Actor and query, e.g. by
+ * {@link AuthorizationResolver#isViewable(Actor)}. Override permissions are checked when the context is created. Group
+ * memberships and the access to worlds are resolved the first time a warp requires them and are reused for all further
+ * warps, so that checking many warps only requires a constant number of calls to the platform's permission
+ * system.</p>
+ *
+ * <p>As permissions may change at any time, instances should not be kept beyond the query they were created for.
+ * Instances are not thread-safe.</p>
+ */
+public class AuthorizationContext {
+
+  private final Actor actor;
+  @Nullable
+  private final UUID playerIdentifier;
+  private final boolean overrideModify;
+  private final boolean overrideUse;
+  private final boolean overrideView;
+
+  private final Map<String, Boolean> groups = new HashMap<String, Boolean>();
+  private final Map<UUID, Boolean> accessibleWorlds = new HashMap<UUID, Boolean>();
+
+  /**
+   * Creates an instance for the given {@code actor}.
+   *
+   * @param actor the Actor
+   */
+  AuthorizationContext(Actor actor) {
+    this.actor = actor;
+    this.playerIdentifier = actor instanceof LocalPlayer ? ((LocalPlayer) actor).getUniqueId() : null;
+    this.overrideModify = actor.hasPermission(PermissionAuthorizationStrategy.OVERRIDE_MODIFY_PERMISSION);
+    this.overrideUse = actor.hasPermission(PermissionAuthorizationStrategy.OVERRIDE_USE_PERMISSION);
+    this.overrideView = actor.hasPermission(PermissionAuthorizationStrategy.OVERRIDE_VIEW_PERMISSION);
+  }
+
+  /**
+   * Gets the Actor of this context.
+   *
+   * @return the Actor
+   */
+  public Actor getActor() {
+    return actor;
+  }
+
+  /**
+   * Returns whether the Actor of this context is an entity.
+   *
+   * @return {@code true} if the Actor is a {@link LocalEntity}
+   */
+  public boolean isEntity() {
+    return actor instanceof LocalEntity;
+  }
+
+  /**
+   * Returns whether the Actor of this context created the given {@code warp}.
+   *
+   * @param warp the Warp
+   * @return {@code true} if the Actor is a player who created the warp
+   */
+  public boolean isCreator(Warp warp) {
+    return playerIdentifier != null && warp.isCreator(playerIdentifier);
+  }
+
+  /**
+   * Returns whether the Actor of this context is invited to the given {@code warp}, either directly or by one of its
+   * groups.
+   *
+   * @param warp the Warp
+   * @return {@code true} if the Actor is a player who is invited to the warp
+   */
+  public boolean isInvited(Warp warp) {
+    if (playerIdentifier == null) {
+      return false;
+    }
+    if (warp.isPlayerInvited(playerIdentifier)) {
+      return true;
+    }
+    for (String groupId : warp.getInvitedGroups()) {
+      if (hasGroup(groupId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasGroup(String groupId) {
+    Boolean member = groups.get(groupId);
+    if (member == null) {
+      member = ((LocalPlayer) actor).hasGroup(groupId);
+      groups.put(groupId, member);
+    }
+    return member;
+  }
+
+  /**
+   * Returns whether the Actor of this context may modify all warps.
+   *
+   * @return {@code true} if the Actor has the permission to modify all warps
+   */
+  public boolean canOverrideModify() {
+    return overrideModify;
+  }
+
+  /**
+   * Returns whether the Actor of this context may use all warps.
+   *
+   * @return {@code true} if the Actor has the permission to use all warps
+   */
+  public boolean canOverrideUse() {
+    return overrideUse;
+  }
+
+  /**
+   * Returns whether the Actor of this context may view all warps.
+   *
+   * @return {@code true} if the Actor has the permission to view all warps
+   */
+  public boolean canOverrideView() {
+    return overrideView;
+  }
+
+  /**
+   * Returns whether the Actor of this context may access the world identified by the given unique identifier.
+   *
+   * <p>The given {@code accessCheck} is only called the first time a certain world is checked, further checks reuse
+   * the result.</p>
+   *
+   * @param worldIdentifier the unique identifier of the world
+   * @param accessCheck     tests whether the Actor can access the world of the given identifier
+   * @return {@code true} if the world may be accessed
+   */
+  public boolean canAccessWorld(UUID worldIdentifier, Predicate<UUID> accessCheck) {
+    Boolean accessible = accessibleWorlds.get(worldIdentifier);
+    if (accessible == null) {
+      accessible = accessCheck.test(worldIdentifier);
+      accessibleWorlds.put(worldIdentifier, accessible);
+    }
+    return accessible;
+  }
+}
@@ -61,12 +61,16 @@ public class AuthorizationResolver {
   /**
    * Returns a predicate that evaluates to {@code true} if the tested {@code Warp} is modifiable by the given Actor.
    *
+   * <p>The Actor's permissions are captured in an {@link AuthorizationContext} when this method is called, so the
+   * returned predicate should only be used for a single query.</p>
+   *
    * @param actor the Actor
    * @return a predicate that checks if the given warp is modifiable by the given Actor
    * @see #isModifiable(Warp, Actor)
    */
   public Predicate<Warp> isModifiable(final Actor actor) {
-    return input -> isModifiable(input, actor);
+    AuthorizationContext context = new AuthorizationContext(actor);
+    return input -> strategy.isModifiable(input, context);
   }
 
   /**
@@ -86,12 +90,19 @@ public class AuthorizationResolver {
   /**
    * Returns a predicate that evaluates to {@code true} if the tested {@code Warp} is usable by the given entity.
    *
+   * <p>If the entity is an Actor, its permissions are captured in an {@link AuthorizationContext} when this method is
+   * called, so the returned predicate should only be used for a single query.</p>
+   *
    * @param entity the entity
    * @return a predicate that checks if the given warp is usable by the given entity
    * @see #isUsable(Warp, LocalEntity)
    */
   public Predicate<Warp> isUsable(final LocalEntity entity) {
-    return input -> isUsable(input, entity);
+    if (!(entity instanceof Actor)) {
+      return input -> isUsable(input, entity);
+    }
+    AuthorizationContext context = new AuthorizationContext((Actor) entity);
+    return input -> strategy.isUsable(input, context);
   }
 
   /**
@@ -108,11 +119,15 @@ public class AuthorizationResolver {
   /**
    * Returns a predicate that evaluates to {@code true} if the tested {@code Warp} is viewable by the given Actor.
    *
+   * <p>The Actor's permissions are captured in an {@link AuthorizationContext} when this method is called, so the
+   * returned predicate should only be used for a single query.</p>
+   *
    * @param actor the Actor
    * @return a predicate that checks if the given warp is usable by the given Actor
    * @see #isViewable(Warp, Actor)
    */
   public Predicate<Warp> isViewable(final Actor actor) {
-    return input -> isViewable(input, actor);
+    AuthorizationContext context = new AuthorizationContext(actor);
+    return input -> strategy.isViewable(input, context);
   }
 }
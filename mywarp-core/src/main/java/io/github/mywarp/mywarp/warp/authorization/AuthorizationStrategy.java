@@ -57,4 +57,47 @@ public interface AuthorizationStrategy {
    */
   boolean isViewable(Warp warp, Actor actor);
 
+  /**
+   * Returns whether the given {@code Warp} is modifiable by the Actor of the given {@code context}.
+   *
+   * <p>Strategies should override this method to use the values captured by the context instead of querying the
+   * Actor.</p>
+   *
+   * @param warp    the warp to check
+   * @param context the context of the Actor to check
+   * @return true if the Actor can modify this Warp
+   */
+  default boolean isModifiable(Warp warp, AuthorizationContext context) {
+    return isModifiable(warp, context.getActor());
+  }
+
+  /**
+   * Returns whether the given {@code Warp} is usable by the Actor of the given {@code context}. The Actor must be a
+   * {@link LocalEntity}.
+   *
+   * <p>Strategies should override this method to use the values captured by the context instead of querying the
+   * Actor.</p>
+   *
+   * @param warp    the warp to check
+   * @param context the context of the Actor to check
+   * @return true if the Actor can use this Warp
+   */
+  default boolean isUsable(Warp warp, AuthorizationContext context) {
+    return isUsable(warp, (LocalEntity) context.getActor());
+  }
+
+  /**
+   * Returns whether the given {@code Warp} is viewable by the Actor of the given {@code context}.
+   *
+   * <p>Strategies should override this method to use the values captured by the context instead of querying the
+   * Actor.</p>
+   *
+   * @param warp    the warp to check
+   * @param context the context of the Actor to check
+   * @return true if the Actor can view this Warp
+   */
+  default boolean isViewable(Warp warp, AuthorizationContext context) {
+    return isViewable(warp, context.getActor());
+  }
+
 }
@@ -47,6 +47,21 @@ abstract class ForwardingAuthorizationStrategy extends ForwardingObject implemen
     return delegate().isViewable(warp, actor);
   }
 
+  @Override
+  public boolean isModifiable(Warp warp, AuthorizationContext context) {
+    return delegate().isModifiable(warp, context);
+  }
+
+  @Override
+  public boolean isUsable(Warp warp, AuthorizationContext context) {
+    return delegate().isUsable(warp, context);
+  }
+
+  @Override
+  public boolean isViewable(Warp warp, AuthorizationContext context) {
+    return delegate().isViewable(warp, context);
+  }
+
   @Override
   protected abstract AuthorizationStrategy delegate();
 }
@@ -28,6 +28,10 @@ import io.github.mywarp.mywarp.warp.Warp;
  */
 public class PermissionAuthorizationStrategy extends ForwardingAuthorizationStrategy {
 
+  static final String OVERRIDE_MODIFY_PERMISSION = "mywarp.override.modify";
+  static final String OVERRIDE_USE_PERMISSION = "mywarp.override.use";
+  static final String OVERRIDE_VIEW_PERMISSION = "mywarp.override.view";
+
   private final AuthorizationStrategy delegate;
 
   /**
@@ -47,17 +51,32 @@ public class PermissionAuthorizationStrategy extends ForwardingAuthorizationStra
 
   @Override
   public boolean isModifiable(Warp warp, Actor actor) {
-    return actor.hasPermission("mywarp.override.modify") || delegate.isModifiable(warp, actor);
+    return actor.hasPermission(OVERRIDE_MODIFY_PERMISSION) || delegate.isModifiable(warp, actor);
   }
 
   @Override
   public boolean isUsable(Warp warp, LocalEntity entity) {
-    return (entity instanceof Actor && ((Actor) entity).hasPermission("mywarp.override.use")) || delegate
+    return (entity instanceof Actor && ((Actor) entity).hasPermission(OVERRIDE_USE_PERMISSION)) || delegate
         .isUsable(warp, entity);
   }
 
   @Override
   public boolean isViewable(Warp warp, Actor actor) {
-    return actor.hasPermission("mywarp.override.view") || delegate.isViewable(warp, actor);
+    return actor.hasPermission(OVERRIDE_VIEW_PERMISSION) || delegate.isViewable(warp, actor);
+  }
+
+  @Override
+  public boolean isModifiable(Warp warp, AuthorizationContext context) {
+    return context.canOverrideModify() || delegate.isModifiable(warp, context);
+  }
+
+  @Override
+  public boolean isUsable(Warp warp, AuthorizationContext context) {
+    return context.canOverrideUse() || delegate.isUsable(warp, context);
+  }
+
+  @Override
+  public boolean isViewable(Warp warp, AuthorizationContext context) {
+    return context.canOverrideView() || delegate.isViewable(warp, context);
   }
 }
@@ -68,4 +68,24 @@ public class WarpPropertiesAuthorizationStrategy implements AuthorizationStrateg
     //for everybody else a warp is visible only if it is public
     return warp.isType(Warp.Type.PUBLIC);
   }
+
+  @Override
+  public boolean isModifiable(Warp warp, AuthorizationContext context) {
+    return context.isCreator(warp);
+  }
+
+  @Override
+  public boolean isUsable(Warp warp, AuthorizationContext context) {
+    return context.isCreator(warp) || context.isInvited(warp) || warp.isType(Warp.Type.PUBLIC);
+  }
+
+  @Override
+  public boolean isViewable(Warp warp, AuthorizationContext context) {
+    //for entities a warp is visible only if if they can use it
+    if (context.isEntity()) {
+      return isUsable(warp, context);
+    }
+    //for everybody else a warp is visible only if it is public
+    return warp.isType(Warp.Type.PUBLIC);
+  }
 }
@@ -73,6 +73,39 @@ public class WorldAccessAuthorizationStrategy extends ForwardingAuthorizationStr
     return delegate().isViewable(warp, actor);
   }
 
+  @Override
+  public boolean isUsable(Warp warp, AuthorizationContext context) {
+    if (cannotAccessWorld(context, warp)) {
+      return false;
+    }
+    return delegate().isUsable(warp, context);
+  }
+
+  @Override
+  public boolean isViewable(Warp warp, AuthorizationContext context) {
+    if (cannotAccessWorld(context, warp)) {
+      return false;
+    }
+    return delegate().isViewable(warp, context);
+  }
+
+  /**
+   * Returns whether the Actor of the given context can access the world of the given warp.
+   *
+   * @param context the AuthorizationContext
+   * @param warp    the Warp
+   * @return {@code true} if the warp's world may not be accessed
+   */
+  private boolean cannotAccessWorld(AuthorizationContext context, Warp warp) {
+    if (!settings.isControlWorldAccess()) {
+      return false;
+    }
+    return !context.canAccessWorld(warp.getWorldIdentifier(), worldIdentifier -> {
+      Optional<LocalWorld> world = game.getWorld(worldIdentifier);
+      return !world.isPresent() || context.getActor().hasPermission("mywarp.world-access." + world.get().getName());
+    });
+  }
+
   /**
    * Returns whether the given actor can access the world of the given warp.
    *
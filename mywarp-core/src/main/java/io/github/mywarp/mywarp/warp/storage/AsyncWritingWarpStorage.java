@@ -24,6 +24,7 @@ import io.github.mywarp.mywarp.warp.Warp;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * A {@code WarpStorage} that works on top of another {@code WarpStorage} and executes every <b>writing</b> task
@@ -110,4 +111,9 @@ public class AsyncWritingWarpStorage extends ForwardingWarpStorage {
   public void updateWelcomeMessage(final Warp warp) {
     executor.execute(() -> delegate().updateWelcomeMessage(warp));
   }
+
+  @Override
+  public void transaction(final Consumer<WarpStorage> operations) {
+    executor.execute(() -> delegate().transaction(operations));
+  }
 }
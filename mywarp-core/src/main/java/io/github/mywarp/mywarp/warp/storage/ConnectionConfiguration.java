@@ -19,6 +19,7 @@
 
 package io.github.mywarp.mywarp.warp.storage;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
@@ -41,6 +42,7 @@ public class ConnectionConfiguration {
   private String schema;
   private String user;
   private String password;
+  private int fetchSize;
 
   /**
    * Creates an instance using the given connection {@code url}.
@@ -138,6 +140,20 @@ public class ConnectionConfiguration {
     return this;
   }
 
+  /**
+   * Sets the number of rows that should be fetched from the database at once when reading large results. A value of
+   * {@code 0} leaves the decision to the JDBC driver.
+   *
+   * @param fetchSize the fetch size to set
+   * @return the updated configuration
+   * @throws IllegalArgumentException if the fetch size is negative
+   */
+  public ConnectionConfiguration setFetchSize(int fetchSize) {
+    checkArgument(fetchSize >= 0, "The fetch size must not be negative.");
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
   /**
    * Gets the schema to be used when reading from or writing to the database.
    *
@@ -171,6 +187,16 @@ public class ConnectionConfiguration {
     return password;
   }
 
+  /**
+   * Gets the number of rows that should be fetched from the database at once when reading large results. A value of
+   * {@code 0} leaves the decision to the JDBC driver.
+   *
+   * @return the fetch size
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -188,6 +214,9 @@ public class ConnectionConfiguration {
     if (dialect != that.dialect) {
       return false;
     }
+    if (fetchSize != that.fetchSize) {
+      return false;
+    }
     if (schema != null ? !schema.equals(that.schema) : that.schema != null) {
       return false;
     }
@@ -205,6 +234,7 @@ public class ConnectionConfiguration {
     result = 31 * result + (schema != null ? schema.hashCode() : 0);
     result = 31 * result + (user != null ? user.hashCode() : 0);
     result = 31 * result + (password != null ? password.hashCode() : 0);
+    result = 31 * result + fetchSize;
     return result;
   }
 }
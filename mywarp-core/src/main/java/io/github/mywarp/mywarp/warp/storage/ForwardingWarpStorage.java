@@ -25,6 +25,7 @@ import io.github.mywarp.mywarp.warp.Warp;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * A WarpStorage that forwards all its method calls to another WarpStorage. Subclasses should override one or more
@@ -95,4 +96,9 @@ abstract class ForwardingWarpStorage extends ForwardingObject implements WarpSto
   public void updateWelcomeMessage(Warp warp) {
     delegate().updateWelcomeMessage(warp);
   }
+
+  @Override
+  public void transaction(Consumer<WarpStorage> operations) {
+    delegate().transaction(operations);
+  }
 }
@@ -45,6 +45,20 @@ public interface RelationalDataService extends Closeable {
    */
   ExecutorService getExecutorService();
 
+  /**
+   * Gets an {@code ExecutorService} that should execute long running database calls, e.g. loading or importing all
+   * warps.
+   *
+   * <p>Implementations may execute such calls separately from calls executed by {@link #getExecutorService()}, with a
+   * lower priority, so that they do not delay other calls. The default implementation returns the
+   * {@code ExecutorService} returned by {@link #getExecutorService()}.</p>
+   *
+   * @return an {@code ExecutorService}
+   */
+  default ExecutorService getBulkExecutorService() {
+    return getExecutorService();
+  }
+
   @Override
   void close();
 }
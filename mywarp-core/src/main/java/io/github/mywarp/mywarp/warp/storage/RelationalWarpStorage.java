@@ -31,31 +31,32 @@ import static org.jooq.impl.DSL.val;
 
 import com.flowpowered.math.vector.Vector2f;
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 
 import io.github.mywarp.mywarp.warp.Warp;
-import io.github.mywarp.mywarp.warp.Warp.Type;
 import io.github.mywarp.mywarp.warp.WarpBuilder;
 import io.github.mywarp.mywarp.warp.storage.generated.tables.Player;
 
+import org.jooq.Condition;
 import org.jooq.Configuration;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Insert;
 import org.jooq.InsertOnDuplicateStep;
 import org.jooq.InsertSetMoreStep;
 import org.jooq.Record;
-import org.jooq.Record14;
-import org.jooq.Result;
 import org.jooq.Table;
 import org.jooq.TableField;
+import org.jooq.TransactionalRunnable;
 import org.jooq.impl.DSL;
 import org.jooq.types.UInteger;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -64,19 +65,35 @@ import javax.annotation.Nullable;
  *
  * <p>This implementation is guaranteed to work with SQLite, MySQL, MariaDB and H2, but might also work on other
  * relational database management systems.</p>
+ *
+ * <p>Surrogate keys of all entities are cached once they are known, either because the entity was loaded, inserted
+ * or looked up. Queries therefore reference entities by their primary keys and only query the database for keys that
+ * are not yet cached.</p>
+ *
+ * <p>Keys loaded by {@link #getWarps()} replace all cached keys, unless warps were modified while they were read, so
+ * that keys of deleted rows are never cached again.</p>
  */
 @SuppressWarnings("checkstyle:indentation")
 class RelationalWarpStorage implements WarpStorage {
 
   private final Configuration configuration;
+  private final int fetchSize;
+  private final SurrogateKeyCache keys;
 
   /**
    * Creates an instance that uses the given {@code Configuration}.
    *
    * @param configuration the Configuration
+   * @param fetchSize     the number of rows fetched at once when reading warps, {@code 0} to use the driver's default
    */
-  RelationalWarpStorage(Configuration configuration) {
+  RelationalWarpStorage(Configuration configuration, int fetchSize) {
+    this(configuration, fetchSize, new SurrogateKeyCache());
+  }
+
+  private RelationalWarpStorage(Configuration configuration, int fetchSize, SurrogateKeyCache keys) {
     this.configuration = configuration;
+    this.fetchSize = fetchSize;
+    this.keys = keys;
   }
 
   private DSLContext create(Configuration configuration) {
@@ -87,73 +104,38 @@ class RelationalWarpStorage implements WarpStorage {
   public void addWarp(final Warp warp) {
     final Vector3d position = warp.getPosition();
     final Vector2f rotation = warp.getRotation();
-    final List<UUID> playerIds = new ArrayList<>();
-    playerIds.add(warp.getCreator());
-    playerIds.addAll(warp.getInvitedPlayers());
 
     // @formatter:off
-    create(configuration).transaction(configuration -> {
-
-      //Insert all players
-      List<Insert<Record>> playerInserts = new ArrayList<>();
-      for (UUID playerId : playerIds) {
-        playerInserts.add(insertOrIgnore(configuration, PLAYER, PLAYER.UUID, playerId));
-      }
-      create(configuration).batch(playerInserts).execute();
-
-      //Insert the world
-      insertOrIgnore(configuration, WORLD, WORLD.UUID, warp.getWorldIdentifier()).execute();
+    runTransaction(configuration -> {
+      UInteger creatorId = playerId(configuration, warp.getCreator());
+      UInteger worldId = worldId(configuration, warp.getWorldIdentifier());
 
       //Insert the warp
       create(configuration)
           .insertInto(WARP)
           .set(WARP.NAME, warp.getName())
-          .set(WARP.PLAYER_ID,
-               select(PLAYER.PLAYER_ID)
-               .from(PLAYER)
-               .where(PLAYER.UUID.eq(warp.getCreator()))
-               .limit(1)
-          )
+          .set(WARP.PLAYER_ID, creatorId)
           .set(WARP.TYPE, warp.getType())
           .set(WARP.X, position.getX())
           .set(WARP.Y, position.getY())
           .set(WARP.Z, position.getZ())
           .set(WARP.PITCH, rotation.getX())
           .set(WARP.YAW, rotation.getY())
-          .set(WARP.WORLD_ID,
-               select(WORLD.WORLD_ID)
-               .from(WORLD)
-               .where(WORLD.UUID.eq(warp.getWorldIdentifier()))
-               .limit(1))
+          .set(WARP.WORLD_ID, worldId)
           .set(WARP.CREATION_DATE, warp.getCreationDate())
           .set(WARP.VISITS, UInteger.valueOf(warp.getVisits()))
           .set(WARP.WELCOME_MESSAGE, warp.getWelcomeMessage())
       .execute();
 
-      //Insert all groups
-      List<Insert<Record>> groupInserts = new ArrayList<>();
-      for (String groupName : warp.getInvitedGroups()) {
-        groupInserts.add(insertOrIgnore(configuration, GROUP, GROUP.NAME, groupName));
-      }
-      create(configuration).batch(groupInserts).execute();
+      UInteger warpId = warpId(configuration, warp.getName());
 
       //insert all player-invitations
       List<InsertSetMoreStep<Record>> warpPlayerInserts = new ArrayList<>();
       for (UUID invited : warp.getInvitedPlayers()) {
         warpPlayerInserts.add(create(configuration)
           .insertInto(WARP_PLAYER_MAP)
-          .set(WARP_PLAYER_MAP.WARP_ID,
-               select(WARP.WARP_ID)
-                .from(WARP)
-                .where(WARP.NAME.eq(warp.getName()))
-                .limit(1)
-          )
-          .set(WARP_PLAYER_MAP.PLAYER_ID,
-               select(PLAYER.PLAYER_ID)
-               .from(PLAYER)
-               .where(PLAYER.UUID.eq(invited))
-               .limit(1)
-          )
+          .set(WARP_PLAYER_MAP.WARP_ID, warpId)
+          .set(WARP_PLAYER_MAP.PLAYER_ID, playerId(configuration, invited))
         );
       }
       create(configuration).batch(warpPlayerInserts).execute();
@@ -163,18 +145,8 @@ class RelationalWarpStorage implements WarpStorage {
       for (String groupName : warp.getInvitedGroups()) {
         warpGroupInserts.add(create(configuration)
           .insertInto(WARP_GROUP_MAP)
-          .set(WARP_GROUP_MAP.WARP_ID,
-               select(WARP.WARP_ID)
-                .from(WARP)
-                .where(WARP.NAME.eq(warp.getName()))
-                .limit(1)
-          )
-          .set(WARP_GROUP_MAP.GROUP_ID,
-               select(GROUP.GROUP_ID)
-               .from(GROUP)
-               .where(GROUP.NAME.eq(groupName))
-               .limit(1)
-          )
+          .set(WARP_GROUP_MAP.WARP_ID, warpId)
+          .set(WARP_GROUP_MAP.GROUP_ID, groupId(configuration, groupName))
         );
       }
       create(configuration).batch(warpGroupInserts).execute();
@@ -184,95 +156,149 @@ class RelationalWarpStorage implements WarpStorage {
 
   @Override
   public void removeWarp(final Warp warp) {
-    // @formatter:off
-    create(configuration)
-        .delete(WARP)
-        .where(WARP.NAME.eq(warp.getName()))
-    .execute();
-    // @formatter:on
+    runModification(() -> {
+      // @formatter:off
+      create(configuration)
+          .delete(WARP)
+          .where(isWarp(warp))
+      .execute();
+      // @formatter:on
+      keys.warps.remove(warp.getName());
+    });
   }
 
   @Override
   public List<Warp> getWarps() {
+    // keys are read separately as warps might be modified concurrently, e.g. by a write executor
+    long modificationCount = keys.getModificationCount();
+    SurrogateKeyCache loaded = new SurrogateKeyCache();
+
+    // read within a transaction so all queries see the same state
+    List<Warp> ret = create(configuration).transactionResult(configuration -> readWarps(configuration, loaded));
+
+    // the database might have been changed externally since keys were cached
+    keys.replaceIfUnmodified(loaded, modificationCount);
+    return ret;
+  }
+
+  /**
+   * Reads all warps using the given {@code configuration}.
+   *
+   * <p>Warps, player invitations and group invitations are queried separately, each ordered by the warp's key. The
+   * results are merged in a single pass over the three cursors, so neither a cartesian product of the invitations nor
+   * the complete results need to be held in memory.</p>
+   *
+   * @param configuration the {@code Configuration} used to generate the queries
+   * @param loaded        the cache that receives the keys of all loaded entities
+   * @return all warps
+   */
+  private List<Warp> readWarps(Configuration configuration, SurrogateKeyCache loaded) {
     // Alias for the player-table to represent the warp-creator
     Player creatorTable = PLAYER.as("c");
 
-    // query the database and group results by name - each map-entry
-    // contains all values for one single warp
+    List<Warp> ret = new ArrayList<>();
+
     // @formatter:off
-    Map<String, Result<Record14<String, UUID, Type, Double, Double, Double, Float, Float, UUID, Instant,
-        UInteger, String, UUID, String>>> groupedResults = create(configuration)
-            .select(WARP.NAME, creatorTable.UUID, WARP.TYPE, WARP.X, WARP.Y, WARP.Z, WARP.YAW,
-                    WARP.PITCH, WORLD.UUID, WARP.CREATION_DATE, WARP.VISITS,
-                    WARP.WELCOME_MESSAGE, PLAYER.UUID, GROUP.NAME)
+    try (Cursor<? extends Record> warps = create(configuration)
+            .select(WARP.WARP_ID, WARP.NAME, creatorTable.PLAYER_ID, creatorTable.UUID, WARP.TYPE, WARP.X, WARP.Y,
+                    WARP.Z, WARP.YAW, WARP.PITCH, WORLD.WORLD_ID, WORLD.UUID, WARP.CREATION_DATE, WARP.VISITS,
+                    WARP.WELCOME_MESSAGE)
             .from(WARP
                     .join(WORLD)
                         .on(WARP.WORLD_ID.eq(WORLD.WORLD_ID))
                     .join(creatorTable)
-                        .on(WARP.PLAYER_ID.eq(creatorTable.PLAYER_ID))
-                    .leftOuterJoin(WARP_PLAYER_MAP)
-                        .on(WARP_PLAYER_MAP.WARP_ID.eq(WARP.WARP_ID))
-                    .leftOuterJoin(PLAYER)
+                        .on(WARP.PLAYER_ID.eq(creatorTable.PLAYER_ID)))
+            .orderBy(WARP.WARP_ID)
+            .fetchSize(fetchSize)
+            .fetchLazy();
+         Cursor<? extends Record> playerInvitations = create(configuration)
+            .select(WARP_PLAYER_MAP.WARP_ID, PLAYER.PLAYER_ID, PLAYER.UUID)
+            .from(WARP_PLAYER_MAP
+                    .join(PLAYER)
                         .on(WARP_PLAYER_MAP.PLAYER_ID.eq(PLAYER.PLAYER_ID)))
-                    .leftOuterJoin(WARP_GROUP_MAP)
-                        .on(WARP_GROUP_MAP.WARP_ID.eq(WARP.WARP_ID))
-                    .leftOuterJoin(GROUP)
-                        .on(WARP_GROUP_MAP.GROUP_ID.eq(GROUP.GROUP_ID))
-            .fetch().intoGroups(WARP.NAME);
-    // @formatter:on
+            .orderBy(WARP_PLAYER_MAP.WARP_ID)
+            .fetchSize(fetchSize)
+            .fetchLazy();
+         Cursor<? extends Record> groupInvitations = create(configuration)
+            .select(WARP_GROUP_MAP.WARP_ID, GROUP.GROUP_ID, GROUP.NAME)
+            .from(WARP_GROUP_MAP
+                    .join(GROUP)
+                        .on(WARP_GROUP_MAP.GROUP_ID.eq(GROUP.GROUP_ID)))
+            .orderBy(WARP_GROUP_MAP.WARP_ID)
+            .fetchSize(fetchSize)
+            .fetchLazy()) {
+      // @formatter:on
 
-    // create warp-instances from the results
-    return groupedResults.values().stream().map(r -> {
-      Vector3d position = new Vector3d(r.getValue(0, WARP.X), r.getValue(0, WARP.Y), r.getValue(0, WARP.Z));
-      Vector2f rotation = new Vector2f(r.getValue(0, WARP.PITCH), r.getValue(0, WARP.YAW));
-
-      WarpBuilder
-          builder =
-          new WarpBuilder(r.getValue(0, WARP.NAME), r.getValue(0, creatorTable.UUID), r.getValue(0, WORLD.UUID),
-                          position, rotation);
-
-      // optional values
-      builder.setType(r.getValue(0, WARP.TYPE));
-      builder.setCreationDate(r.getValue(0, WARP.CREATION_DATE));
-      builder.setVisits(r.getValue(0, WARP.VISITS).intValue());
-      builder.setWelcomeMessage(r.getValue(0, WARP.WELCOME_MESSAGE));
-
-      for (@Nullable String groupName : r.getValues(GROUP.NAME)) {
-        if (groupName != null) {
-          builder.addInvitedGroup(groupName);
-        }
-      }
+      PeekingIterator<Record> players = Iterators.peekingIterator(playerInvitations.iterator());
+      PeekingIterator<Record> groups = Iterators.peekingIterator(groupInvitations.iterator());
+
+      for (Record r : warps) {
+        UInteger warpId = r.getValue(WARP.WARP_ID);
+
+        Vector3d position = new Vector3d(r.getValue(WARP.X), r.getValue(WARP.Y), r.getValue(WARP.Z));
+        Vector2f rotation = new Vector2f(r.getValue(WARP.PITCH), r.getValue(WARP.YAW));
 
-      for (@Nullable UUID inviteeUniqueId : r.getValues(PLAYER.UUID)) {
-        if (inviteeUniqueId != null) {
-          builder.addInvitedPlayer(inviteeUniqueId);
+        WarpBuilder
+            builder =
+            new WarpBuilder(r.getValue(WARP.NAME), r.getValue(creatorTable.UUID), r.getValue(WORLD.UUID), position,
+                            rotation);
+
+        // optional values
+        builder.setType(r.getValue(WARP.TYPE));
+        builder.setCreationDate(r.getValue(WARP.CREATION_DATE));
+        builder.setVisits(r.getValue(WARP.VISITS).intValue());
+        builder.setWelcomeMessage(r.getValue(WARP.WELCOME_MESSAGE));
+
+        // invitations are ordered just like warps, so all invitations of this warp are at the head of the cursors
+        for (Record invitation : invitationsOf(warpId, players, WARP_PLAYER_MAP.WARP_ID)) {
+          builder.addInvitedPlayer(invitation.getValue(PLAYER.UUID));
+          loaded.players.put(invitation.getValue(PLAYER.UUID), invitation.getValue(PLAYER.PLAYER_ID));
         }
+        for (Record invitation : invitationsOf(warpId, groups, WARP_GROUP_MAP.WARP_ID)) {
+          builder.addInvitedGroup(invitation.getValue(GROUP.NAME));
+          loaded.groups.put(invitation.getValue(GROUP.NAME), invitation.getValue(GROUP.GROUP_ID));
+        }
+
+        // cache the keys of all loaded entities
+        loaded.warps.put(r.getValue(WARP.NAME), warpId);
+        loaded.players.put(r.getValue(creatorTable.UUID), r.getValue(creatorTable.PLAYER_ID));
+        loaded.worlds.put(r.getValue(WORLD.UUID), r.getValue(WORLD.WORLD_ID));
+
+        ret.add(builder.build());
       }
+    }
+    return ret;
+  }
 
-      return builder.build();
-    }).collect(Collectors.toList());
+  /**
+   * Consumes all invitations of the warp with the given {@code warpId} from the head of the given {@code invitations}.
+   * Invitations of warps with lower keys are skipped.
+   *
+   * @param warpId      the key of the warp
+   * @param invitations the invitations, ordered by the key of the warp
+   * @param warpIdField the {@code Field} that holds the key of the warp
+   * @return all invitations of the warp
+   */
+  private List<Record> invitationsOf(UInteger warpId, PeekingIterator<Record> invitations,
+                                     Field<UInteger> warpIdField) {
+    List<Record> ret = new ArrayList<>();
+    while (invitations.hasNext() && invitations.peek().getValue(warpIdField).compareTo(warpId) <= 0) {
+      Record invitation = invitations.next();
+      if (invitation.getValue(warpIdField).equals(warpId)) {
+        ret.add(invitation);
+      }
+    }
+    return ret;
   }
 
   @Override
   public void inviteGroup(final Warp warp, final String groupId) {
-    create(configuration).transaction(configuration -> {
+    runTransaction(configuration -> {
       // @formatter:off
-      insertOrIgnore(configuration, GROUP, GROUP.NAME, groupId).execute();
-
       create(configuration)
           .insertInto(WARP_GROUP_MAP)
-          .set(WARP_GROUP_MAP.WARP_ID,
-               select(WARP.WARP_ID)
-                .from(WARP)
-                .where(WARP.NAME.eq(warp.getName()))
-                .limit(1)
-          )
-          .set(WARP_GROUP_MAP.GROUP_ID,
-               select(GROUP.GROUP_ID)
-               .from(GROUP)
-               .where(GROUP.NAME.eq(groupId))
-               .limit(1)
-          )
+          .set(WARP_GROUP_MAP.WARP_ID, warpId(configuration, warp.getName()))
+          .set(WARP_GROUP_MAP.GROUP_ID, groupId(configuration, groupId))
       .execute();
       // @formatter:on
     });
@@ -280,24 +306,12 @@ class RelationalWarpStorage implements WarpStorage {
 
   @Override
   public void invitePlayer(final Warp warp, final UUID uniqueId) {
-    create(configuration).transaction(configuration -> {
+    runTransaction(configuration -> {
       // @formatter:off
-      insertOrIgnore(configuration, PLAYER, PLAYER.UUID, uniqueId).execute();
-
       create(configuration)
           .insertInto(WARP_PLAYER_MAP)
-          .set(WARP_PLAYER_MAP.WARP_ID,
-               select(WARP.WARP_ID)
-                .from(WARP)
-                .where(WARP.NAME.eq(warp.getName()))
-                .limit(1)
-          )
-          .set(WARP_PLAYER_MAP.PLAYER_ID,
-               select(PLAYER.PLAYER_ID)
-               .from(PLAYER)
-               .where(PLAYER.UUID.eq(uniqueId))
-               .limit(1)
-          )
+          .set(WARP_PLAYER_MAP.WARP_ID, warpId(configuration, warp.getName()))
+          .set(WARP_PLAYER_MAP.PLAYER_ID, playerId(configuration, uniqueId))
       .execute();
       // @formatter:on
     });
@@ -305,63 +319,51 @@ class RelationalWarpStorage implements WarpStorage {
 
   @Override
   public void uninviteGroup(final Warp warp, final String groupId) {
-    // @formatter:off
-    create(configuration)
-        .delete(WARP_GROUP_MAP)
-        .where(
-            WARP_GROUP_MAP.WARP_ID.eq(
-              select(WARP.WARP_ID)
-              .from(WARP)
-              .where(WARP.NAME.eq(warp.getName()))
-              .limit(1))
-            .and(WARP_GROUP_MAP.GROUP_ID.eq(
-              select(GROUP.GROUP_ID)
-              .from(GROUP)
-              .where(GROUP.NAME.eq(groupId))
-              .limit(1))
-            )
-        )
-    .execute();
-    // @formatter:on
+    runModification(() -> {
+      @Nullable UInteger warpId = warpId(configuration, warp.getName());
+      @Nullable UInteger groupKey = lookupKey(configuration, keys.groups, GROUP, GROUP.GROUP_ID, GROUP.NAME, groupId);
+      if (warpId == null || groupKey == null) {
+        // nothing to delete
+        return;
+      }
+      // @formatter:off
+      create(configuration)
+          .delete(WARP_GROUP_MAP)
+          .where(WARP_GROUP_MAP.WARP_ID.eq(warpId)
+              .and(WARP_GROUP_MAP.GROUP_ID.eq(groupKey)))
+      .execute();
+      // @formatter:on
+    });
   }
 
   @Override
   public void uninvitePlayer(final Warp warp, final UUID uniqueId) {
-    // @formatter:off
-    create(configuration)
-        .delete(WARP_PLAYER_MAP)
-        .where(
-            WARP_PLAYER_MAP.WARP_ID.eq(
-              select(WARP.WARP_ID)
-              .from(WARP)
-              .where(WARP.NAME.eq(warp.getName()))
-              .limit(1))
-            .and(WARP_PLAYER_MAP.PLAYER_ID.eq(
-              select(PLAYER.PLAYER_ID)
-              .from(PLAYER)
-              .where(PLAYER.UUID.eq(uniqueId))
-              .limit(1))
-            )
-        )
-    .execute();
-    // @formatter:on
+    runModification(() -> {
+      @Nullable UInteger warpId = warpId(configuration, warp.getName());
+      @Nullable UInteger playerKey =
+          lookupKey(configuration, keys.players, PLAYER, PLAYER.PLAYER_ID, PLAYER.UUID, uniqueId);
+      if (warpId == null || playerKey == null) {
+        // nothing to delete
+        return;
+      }
+      // @formatter:off
+      create(configuration)
+          .delete(WARP_PLAYER_MAP)
+          .where(WARP_PLAYER_MAP.WARP_ID.eq(warpId)
+              .and(WARP_PLAYER_MAP.PLAYER_ID.eq(playerKey)))
+      .execute();
+      // @formatter:on
+    });
   }
 
   @Override
   public void updateCreator(final Warp warp) {
-    create(configuration).transaction(configuration -> {
+    runTransaction(configuration -> {
       // @formatter:off
-      insertOrIgnore(configuration, PLAYER, PLAYER.UUID, warp.getCreator()).execute();
-
       create(configuration)
           .update(WARP)
-          .set(WARP.PLAYER_ID,
-              select(PLAYER.PLAYER_ID)
-              .from(PLAYER)
-              .where(PLAYER.UUID.eq(warp.getCreator()))
-              .limit(1)
-          )
-          .where(WARP.NAME.eq(warp.getName()))
+          .set(WARP.PLAYER_ID, playerId(configuration, warp.getCreator()))
+          .where(isWarp(warp))
       .execute();
       // @formatter:on
     });
@@ -372,10 +374,8 @@ class RelationalWarpStorage implements WarpStorage {
     final Vector3d position = warp.getPosition();
     final Vector2f rotation = warp.getRotation();
 
-    create(configuration).transaction(configuration -> {
+    runTransaction(configuration -> {
       // @formatter:off
-      insertOrIgnore(configuration, WORLD, WORLD.UUID, warp.getWorldIdentifier()).execute();
-
       create(configuration)
           .update(WARP)
           .set(WARP.X, position.getX())
@@ -383,12 +383,8 @@ class RelationalWarpStorage implements WarpStorage {
           .set(WARP.Z, position.getZ())
           .set(WARP.PITCH, rotation.getX())
           .set(WARP.YAW, rotation.getY())
-          .set(WARP.WORLD_ID,
-               select(WORLD.WORLD_ID)
-               .from(WORLD)
-               .where(WORLD.UUID.eq(warp.getWorldIdentifier()))
-               .limit(1))
-          .where(WARP.NAME.eq(warp.getName()))
+          .set(WARP.WORLD_ID, worldId(configuration, warp.getWorldIdentifier()))
+          .where(isWarp(warp))
       .execute();
       // @formatter:on
     });
@@ -400,7 +396,7 @@ class RelationalWarpStorage implements WarpStorage {
     create(configuration)
         .update(WARP)
         .set(WARP.TYPE, warp.getType())
-        .where(WARP.NAME.eq(warp.getName()))
+        .where(isWarp(warp))
     .execute();
     // @formatter:on
   }
@@ -411,7 +407,7 @@ class RelationalWarpStorage implements WarpStorage {
     create(configuration)
         .update(WARP)
         .set(WARP.VISITS, UInteger.valueOf(warp.getVisits()))
-        .where(WARP.NAME.eq(warp.getName()))
+        .where(isWarp(warp))
     .execute();
     // @formatter:on
   }
@@ -422,11 +418,132 @@ class RelationalWarpStorage implements WarpStorage {
     create(configuration)
         .update(WARP)
         .set(WARP.WELCOME_MESSAGE, warp.getWelcomeMessage())
-        .where(WARP.NAME.eq(warp.getName()))
+        .where(isWarp(warp))
     .execute();
     // @formatter:on
   }
 
+  @Override
+  public void transaction(final Consumer<WarpStorage> operations) {
+    // operations that open transactions themselves run in nested transactions (savepoints) of this one
+    runTransaction(configuration -> operations.accept(new RelationalWarpStorage(configuration, fetchSize, keys)));
+  }
+
+  /**
+   * Runs the given {@code transactional} code in a transaction. If the transaction fails, all cached keys are
+   * discarded as some of them might refer to rows that were rolled back.
+   *
+   * @param transactional the transactional code
+   */
+  private void runTransaction(TransactionalRunnable transactional) {
+    runModification(() -> {
+      try {
+        create(configuration).transaction(transactional);
+      } catch (RuntimeException e) {
+        keys.clear();
+        throw e;
+      }
+    });
+  }
+
+  /**
+   * Runs the given {@code modification} of the stored entities, marking it as such in the cached keys.
+   *
+   * @param modification the modification
+   */
+  private void runModification(Runnable modification) {
+    keys.beginModification();
+    try {
+      modification.run();
+    } finally {
+      keys.endModification();
+    }
+  }
+
+  /**
+   * Creates a {@code Condition} that matches the row of the given {@code warp}, using the warp's primary key if it is
+   * cached.
+   *
+   * @param warp the warp
+   * @return a corresponding {@code Condition}
+   */
+  private Condition isWarp(Warp warp) {
+    @Nullable UInteger warpId = keys.warps.get(warp.getName());
+    return warpId != null ? WARP.WARP_ID.eq(warpId) : WARP.NAME.eq(warp.getName());
+  }
+
+  @Nullable
+  private UInteger warpId(Configuration configuration, String name) {
+    return lookupKey(configuration, keys.warps, WARP, WARP.WARP_ID, WARP.NAME, name);
+  }
+
+  private UInteger playerId(Configuration configuration, UUID uniqueId) {
+    return resolveKey(configuration, keys.players, PLAYER, PLAYER.PLAYER_ID, PLAYER.UUID, uniqueId);
+  }
+
+  private UInteger worldId(Configuration configuration, UUID uniqueId) {
+    return resolveKey(configuration, keys.worlds, WORLD, WORLD.WORLD_ID, WORLD.UUID, uniqueId);
+  }
+
+  private UInteger groupId(Configuration configuration, String name) {
+    return resolveKey(configuration, keys.groups, GROUP, GROUP.GROUP_ID, GROUP.NAME, name);
+  }
+
+  /**
+   * Gets the surrogate key of the row whose {@code uniqueField} has the given {@code value}, inserting such a row if it
+   * does not exist yet.
+   *
+   * @param configuration the {@code Configuration} used to generate the queries
+   * @param cached        the cached keys of the table
+   * @param table         the {@code Table} that contains the row
+   * @param keyField      the {@code TableField} of the surrogate key
+   * @param uniqueField   the {@code TableField} that holds the value - must be unique!
+   * @param value         the value
+   * @return the surrogate key
+   */
+  private <R extends Record, T> UInteger resolveKey(Configuration configuration, SurrogateKeyCache.Keys<T> cached,
+                                                    Table<R> table, TableField<R, UInteger> keyField,
+                                                    TableField<R, T> uniqueField, T value) {
+    @Nullable UInteger key = cached.get(value);
+    if (key == null) {
+      insertOrIgnore(configuration, table, uniqueField, value).execute();
+      key = lookupKey(configuration, cached, table, keyField, uniqueField, value);
+    }
+    return key;
+  }
+
+  /**
+   * Gets the surrogate key of the row whose {@code uniqueField} has the given {@code value}, if such a row exists.
+   *
+   * @param configuration the {@code Configuration} used to generate the query
+   * @param cached        the cached keys of the table
+   * @param table         the {@code Table} that contains the row
+   * @param keyField      the {@code TableField} of the surrogate key
+   * @param uniqueField   the {@code TableField} that holds the value - must be unique!
+   * @param value         the value
+   * @return the surrogate key or {@code null} if no such row exists
+   */
+  @Nullable
+  private <R extends Record, T> UInteger lookupKey(Configuration configuration, SurrogateKeyCache.Keys<T> cached,
+                                                   Table<R> table, TableField<R, UInteger> keyField,
+                                                   TableField<R, T> uniqueField, T value) {
+    @Nullable UInteger key = cached.get(value);
+    if (key == null) {
+      // @formatter:off
+      key = create(configuration)
+          .select(keyField)
+          .from(table)
+          .where(uniqueField.eq(value))
+          .limit(1)
+      .fetchOne(keyField);
+      // @formatter:on
+      if (key != null) {
+        cached.put(value, key);
+      }
+    }
+    return key;
+  }
+
   /**
    * Creates an {@code INSERT ... ON DUPLICATE IGNORE} query that insert the given {@code value} into the given {@code
    * uniqueField} in the given {@code table}, assuming that the given {@code value} should be unique.
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.mywarp.mywarp.warp.storage;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+
+import org.jooq.types.UInteger;
+
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the surrogate keys of the entities stored by a {@link RelationalWarpStorage}, so that they need not to be
+ * resolved by the database whenever an entity is referenced.
+ *
+ * <p>Keys are cached in both directions: from an entity's natural key (e.g. a player's unique identifier) to its
+ * surrogate key and vice versa. Instances are thread-safe.</p>
+ *
+ * <p>Modifications of the stored entities are tracked, so that keys read concurrently to them can be discarded instead
+ * of replacing keys that have been changed in the meantime.</p>
+ */
+class SurrogateKeyCache {
+
+  final Keys<UUID> players = new Keys<>();
+  final Keys<UUID> worlds = new Keys<>();
+  final Keys<String> groups = new Keys<>();
+  final Keys<String> warps = new Keys<>();
+
+  private long modificationCount;
+  private int runningModifications;
+
+  /**
+   * Marks the start of a modification of the stored entities. Each call must be followed by a call to {@link
+   * #endModification()} once the modification is finished.
+   */
+  synchronized void beginModification() {
+    modificationCount++;
+    runningModifications++;
+  }
+
+  /**
+   * Marks the end of a modification of the stored entities.
+   */
+  synchronized void endModification() {
+    runningModifications--;
+    modificationCount++;
+  }
+
+  /**
+   * Gets the number of times modifications of the stored entities have been started or finished.
+   *
+   * @return the modification count
+   */
+  synchronized long getModificationCount() {
+    return modificationCount;
+  }
+
+  /**
+   * Replaces all cached keys with the keys cached by the given {@code loaded} cache, if no modification of the stored
+   * entities was started or finished since the given {@code modificationCount} was obtained.
+   *
+   * @param loaded            the cache that holds the replacing keys
+   * @param modificationCount the modification count when the replacing keys started to be read
+   * @return {@code true} if the keys were replaced
+   */
+  synchronized boolean replaceIfUnmodified(SurrogateKeyCache loaded, long modificationCount) {
+    if (runningModifications > 0 || this.modificationCount != modificationCount) {
+      return false;
+    }
+    players.replace(loaded.players);
+    worlds.replace(loaded.worlds);
+    groups.replace(loaded.groups);
+    warps.replace(loaded.warps);
+    return true;
+  }
+
+  /**
+   * Removes all cached keys.
+   */
+  void clear() {
+    players.clear();
+    worlds.clear();
+    groups.clear();
+    warps.clear();
+  }
+
+  /**
+   * The cached keys of a single table.
+   *
+   * @param <T> the type of the natural key
+   */
+  static class Keys<T> {
+
+    private final BiMap<T, UInteger> keys = HashBiMap.create();
+
+    /**
+     * Gets the surrogate key of the entity with the given natural key, if it is cached.
+     *
+     * @param naturalKey the natural key
+     * @return the surrogate key or {@code null} if no key is cached
+     */
+    @Nullable
+    synchronized UInteger get(T naturalKey) {
+      return keys.get(naturalKey);
+    }
+
+    /**
+     * Gets the natural key of the entity with the given surrogate key, if it is cached.
+     *
+     * @param surrogateKey the surrogate key
+     * @return the natural key or {@code null} if no key is cached
+     */
+    @Nullable
+    synchronized T getNaturalKey(UInteger surrogateKey) {
+      return keys.inverse().get(surrogateKey);
+    }
+
+    /**
+     * Caches the given keys, replacing any mapping of either key.
+     *
+     * @param naturalKey   the natural key
+     * @param surrogateKey the surrogate key
+     */
+    synchronized void put(T naturalKey, UInteger surrogateKey) {
+      keys.forcePut(naturalKey, surrogateKey);
+    }
+
+    /**
+     * Removes the keys of the entity with the given natural key.
+     *
+     * @param naturalKey the natural key
+     */
+    synchronized void remove(T naturalKey) {
+      keys.remove(naturalKey);
+    }
+
+    private synchronized void clear() {
+      keys.clear();
+    }
+
+    private synchronized void replace(Keys<T> other) {
+      synchronized (other) {
+        keys.clear();
+        keys.putAll(other.keys);
+      }
+    }
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.mywarp.mywarp.warp.storage;
+
+import com.flowpowered.math.vector.Vector2f;
+import com.flowpowered.math.vector.Vector3d;
+
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpBuilder;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A file that holds a binary snapshot of warps.
+ *
+ * <p>Snapshots are meant to make warps available quickly when starting up, without querying the relational database.
+ * They are written atomically and protected by a checksum, so a snapshot is either read completely or not at all.
+ * A snapshot may nevertheless be outdated, e.g. if the database was changed externally, so it should always be
+ * checked against the actual storage.</p>
+ *
+ * <p>Creation dates are stored with a precision of seconds, just like in the relational storage.</p>
+ */
+public class WarpSnapshotFile {
+
+  private static final Logger log = MyWarpLogger.getLogger(WarpSnapshotFile.class);
+
+  private static final int MAGIC = 0x4D575053;
+  private static final int VERSION = 1;
+  private static final int CHECKSUM_LENGTH = Long.BYTES;
+
+  private final Path path;
+
+  /**
+   * Creates an instance that reads from and writes to the given {@code file}.
+   *
+   * @param file the file
+   */
+  public WarpSnapshotFile(File file) {
+    this.path = file.toPath();
+  }
+
+  /**
+   * Reads all warps from the snapshot.
+   *
+   * <p>The returned Optional is empty if the file does not exist, is damaged or was written by an incompatible
+   * version.</p>
+   *
+   * @return an Optional containing all warps of the snapshot
+   */
+  public Optional<List<Warp>> read() {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < 3 * Integer.BYTES + CHECKSUM_LENGTH || size > Integer.MAX_VALUE) {
+        log.warn("The warp snapshot '{}' has an invalid size and will be ignored.", path);
+        return Optional.empty();
+      }
+      // read into the heap instead of mapping the file, as a mapped file cannot be replaced on some systems
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          throw new IOException("Unexpected end of file.");
+        }
+      }
+      buffer.flip();
+
+      ByteBuffer content = buffer.duplicate();
+      content.limit((int) size - CHECKSUM_LENGTH);
+      CRC32 checksum = new CRC32();
+      checksum.update(content);
+      if (checksum.getValue() != buffer.getLong((int) size - CHECKSUM_LENGTH)) {
+        log.warn("The warp snapshot '{}' is damaged and will be ignored.", path);
+        return Optional.empty();
+      }
+
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        log.info("The warp snapshot '{}' was written by an incompatible version and will be ignored.", path);
+        return Optional.empty();
+      }
+      return Optional.of(readWarps(buffer));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException | RuntimeException e) {
+      log.warn(String.format("Failed to read the warp snapshot '%s', it will be ignored.", path), e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes the given {@code warps} to the snapshot, replacing the existing snapshot atomically.
+   *
+   * @param warps the warps to write
+   * @throws IOException if writing fails
+   */
+  public void write(Collection<Warp> warps) throws IOException {
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+    try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(temp))) {
+      CheckedOutputStream checkedOut = new CheckedOutputStream(fileOut, new CRC32());
+      DataOutputStream out = new DataOutputStream(checkedOut);
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      writeWarps(out, warps);
+      out.flush();
+
+      new DataOutputStream(fileOut).writeLong(checkedOut.getChecksum().getValue());
+    }
+    try {
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Computes a checksum of the given {@code warps}, as far as their state is represented in a snapshot. Collections
+   * with the same warps in the same state have the same checksum, regardless of their order.
+   *
+   * <p>As warps are mutable, the checksum only represents the state at the time this method is called.</p>
+   *
+   * @param warps the warps
+   * @return the checksum
+   */
+  public static long checksum(Collection<Warp> warps) {
+    CRC32 checksum = new CRC32();
+    checksum.update(encode(warps));
+    return checksum.getValue();
+  }
+
+  private static byte[] encode(Collection<Warp> warps) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      writeWarps(new DataOutputStream(bytes), warps);
+    } catch (IOException e) {
+      // cannot happen when writing into memory
+      throw new IllegalStateException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeWarps(DataOutputStream out, Collection<Warp> warps) throws IOException {
+    // warps and their invitations are sorted so that equal states result in equal snapshots
+    List<Warp> sorted = new ArrayList<>(warps);
+    sorted.sort(Comparator.comparing(Warp::getName));
+
+    out.writeInt(sorted.size());
+    for (Warp warp : sorted) {
+      writeString(out, warp.getName());
+      writeUuid(out, warp.getCreator());
+      writeUuid(out, warp.getWorldIdentifier());
+      out.writeByte(warp.getType().ordinal());
+
+      Vector3d position = warp.getPosition();
+      out.writeDouble(position.getX());
+      out.writeDouble(position.getY());
+      out.writeDouble(position.getZ());
+      Vector2f rotation = warp.getRotation();
+      out.writeFloat(rotation.getX());
+      out.writeFloat(rotation.getY());
+
+      out.writeLong(warp.getCreationDate().getEpochSecond());
+      out.writeInt(warp.getVisits());
+      writeString(out, warp.getWelcomeMessage());
+
+      List<UUID> players = new ArrayList<>(warp.getInvitedPlayers());
+      players.sort(Comparator.naturalOrder());
+      out.writeInt(players.size());
+      for (UUID player : players) {
+        writeUuid(out, player);
+      }
+
+      List<String> groups = new ArrayList<>(warp.getInvitedGroups());
+      groups.sort(Comparator.naturalOrder());
+      out.writeInt(groups.size());
+      for (String group : groups) {
+        writeString(out, group);
+      }
+    }
+  }
+
+  private static List<Warp> readWarps(ByteBuffer in) {
+    Warp.Type[] types = Warp.Type.values();
+
+    int count = in.getInt();
+    List<Warp> ret = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String name = readString(in);
+      UUID creator = readUuid(in);
+      UUID world = readUuid(in);
+      Warp.Type type = types[in.get()];
+      Vector3d position = new Vector3d(in.getDouble(), in.getDouble(), in.getDouble());
+      Vector2f rotation = new Vector2f(in.getFloat(), in.getFloat());
+
+      WarpBuilder builder = new WarpBuilder(name, creator, world, position, rotation);
+      builder.setType(type);
+      builder.setCreationDate(Instant.ofEpochSecond(in.getLong()));
+      builder.setVisits(in.getInt());
+      builder.setWelcomeMessage(readString(in));
+
+      int players = in.getInt();
+      for (int j = 0; j < players; j++) {
+        builder.addInvitedPlayer(readUuid(in));
+      }
+      int groups = in.getInt();
+      for (int j = 0; j < groups; j++) {
+        builder.addInvitedGroup(readString(in));
+      }
+      ret.add(builder.build());
+    }
+    return ret;
+  }
+
+  private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+    out.writeLong(uuid.getMostSignificantBits());
+    out.writeLong(uuid.getLeastSignificantBits());
+  }
+
+  private static UUID readUuid(ByteBuffer in) {
+    return new UUID(in.getLong(), in.getLong());
+  }
+
+  private static void writeString(DataOutputStream out, @Nullable String string) throws IOException {
+    if (string == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  @Nullable
+  private static String readString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.mywarp.mywarp.warp.storage;
+
+import com.google.common.eventbus.Subscribe;
+
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpBuilder;
+import io.github.mywarp.mywarp.warp.WarpManager;
+import io.github.mywarp.mywarp.warp.event.WarpEvent;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the warps managed by a WarpManager into a {@link WarpSnapshotFile} whenever they have changed.
+ *
+ * <p>Writing is done on a specified {@link Executor}. If it is the same executor that writes changes to the
+ * storage, the snapshot is written after all changes that were made before it was requested.</p>
+ *
+ * <p>Instances must be registered on the EventBus that receives the events of the WarpManager.</p>
+ */
+public class WarpSnapshotWriter {
+
+  private static final Logger log = MyWarpLogger.getLogger(WarpSnapshotWriter.class);
+
+  private final WarpManager warpManager;
+  private final WarpSnapshotFile snapshotFile;
+  private final Executor executor;
+
+  private final AtomicBoolean outdated = new AtomicBoolean();
+  private final AtomicInteger pendingWrites = new AtomicInteger();
+  private final AtomicLong changeCount = new AtomicLong();
+  private final Map<String, Long> lastChanges = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an instance that writes the warps of the given {@code warpManager} to the given {@code snapshotFile} on
+   * the given {@code executor}.
+   *
+   * @param warpManager  the WarpManager
+   * @param snapshotFile the snapshot file
+   * @param executor     the Executor that writes the snapshot
+   */
+  public WarpSnapshotWriter(WarpManager warpManager, WarpSnapshotFile snapshotFile, Executor executor) {
+    this.warpManager = warpManager;
+    this.snapshotFile = snapshotFile;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns whether the snapshot file represents the current state of the WarpManager's warps, meaning that no warp
+   * was changed since the last snapshot was requested and all requested snapshots are written.
+   *
+   * @return {@code true} if the snapshot is current
+   */
+  public boolean isCurrent() {
+    return !outdated.get() && pendingWrites.get() == 0;
+  }
+
+  /**
+   * Returns the number of changes to warps that were observed by this writer. Comparing two values tells whether any
+   * warp was changed in between, regardless of the snapshots written meanwhile.
+   *
+   * @return the number of observed changes
+   */
+  public long getChangeCount() {
+    return changeCount.get();
+  }
+
+  /**
+   * Merges the given {@code stored} warps with the WarpManager's warps that were changed after the given {@code
+   * changeCount} was observed. Changed warps, including warps that were added or removed, keep their current state,
+   * all other warps are taken from the given warps.
+   *
+   * <p>Changed warps are copied, so the returned warps can populate the WarpManager once it has been depopulated
+   * without wrapping the warps it manages a second time.</p>
+   *
+   * <p>This method must be called from the thread that modifies the WarpManager.</p>
+   *
+   * @param stored      the warps read from the storage
+   * @param changeCount the number of observed changes as returned by {@link #getChangeCount()}
+   * @return the merged warps
+   */
+  public List<Warp> merge(Collection<Warp> stored, long changeCount) {
+    Set<String> changed = lastChanges.entrySet().stream().filter(entry -> entry.getValue() > changeCount)
+        .map(Map.Entry::getKey).collect(Collectors.toSet());
+
+    List<Warp> ret = stored.stream().filter(warp -> !changed.contains(warp.getName()))
+        .collect(Collectors.toCollection(ArrayList::new));
+    for (Warp warp : warpManager.getAll(warp -> changed.contains(warp.getName()))) {
+      ret.add(copy(warp));
+    }
+    return ret;
+  }
+
+  /**
+   * Requests a new snapshot if the warps have changed since the last snapshot was requested.
+   *
+   * <p>This method must be called from the thread that modifies the WarpManager. The warps are collected in the
+   * calling thread, writing happens on the Executor.</p>
+   */
+  public void snapshotIfOutdated() {
+    if (outdated.get()) {
+      snapshot(warpManager.getAll(warp -> true));
+    }
+  }
+
+  /**
+   * Requests a new snapshot of the given {@code warps}, regardless of whether the WarpManager's warps have changed.
+   * The given warps must represent the current state of the WarpManager's warps.
+   *
+   * @param warps the warps to write
+   */
+  public void snapshot(Collection<Warp> warps) {
+    outdated.set(false);
+    List<Warp> copy = new ArrayList<>(warps);
+    pendingWrites.incrementAndGet();
+    executor.execute(() -> {
+      try {
+        snapshotFile.write(copy);
+        log.debug("Snapshot of {} warps written.", copy.size());
+      } catch (IOException | RuntimeException e) {
+        // warps might have been modified concurrently, the snapshot is simply written again the next time
+        log.warn("Failed to write the warp snapshot.", e);
+        outdated.set(true);
+      } finally {
+        pendingWrites.decrementAndGet();
+      }
+    });
+  }
+
+  /**
+   * Called whenever something happens with a warp.
+   *
+   * @param event the event
+   * @deprecated will be privatized once support for old Guava versions is removed
+   */
+  @Deprecated
+  @Subscribe
+  public void onWarpEvent(WarpEvent event) {
+    lastChanges.put(event.getWarp().getName(), changeCount.incrementAndGet());
+    outdated.set(true);
+  }
+
+  private static Warp copy(Warp warp) {
+    return new WarpBuilder(warp.getName(), warp.getCreator(), warp.getWorldIdentifier(), warp.getPosition(),
+                           warp.getRotation()).setType(warp.getType()).setCreationDate(warp.getCreationDate())
+        .setVisits(warp.getVisits()).setWelcomeMessage(warp.getWelcomeMessage())
+        .addInvitedPlayers(warp.getInvitedPlayers()).addInvitedGroups(warp.getInvitedGroups()).build();
+  }
+}
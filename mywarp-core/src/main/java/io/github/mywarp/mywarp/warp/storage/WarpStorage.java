@@ -22,6 +22,7 @@ package io.github.mywarp.mywarp.warp.storage;
 import io.github.mywarp.mywarp.warp.Warp;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * A connection to a data storage, e.g. a rational database.
@@ -109,4 +110,17 @@ public interface WarpStorage extends WarpSource {
    */
   void updateWelcomeMessage(Warp warp);
 
+  /**
+   * Executes the given {@code operations} on this storage as a single unit.
+   *
+   * <p>The {@code WarpStorage} handed to {@code operations} must only be used while the operations are executed.
+   * Implementations that support transactions should execute all operations within a single transaction. The default
+   * implementation simply executes the operations on this storage.</p>
+   *
+   * @param operations the operations to execute
+   */
+  default void transaction(Consumer<WarpStorage> operations) {
+    operations.accept(this);
+  }
+
 }
@@ -64,7 +64,7 @@ public class WarpStorageFactory {
     if (!SUPPORTED_DIALECTS.contains(dialect)) {
       throw new StorageInitializationException(String.format("%s is not supported!", dialect.getName()));
     }
-    return createRelationalWarpStorage(config.getDialect(), createSettings(config), dataSource);
+    return createRelationalWarpStorage(config, dataSource);
   }
 
   /**
@@ -105,12 +105,14 @@ public class WarpStorageFactory {
       throw new StorageInitializationException("Failed to execute migration process.", e);
     }
 
-    return createRelationalWarpStorage(dialect, createSettings(config), dataSource);
+    return createRelationalWarpStorage(config, dataSource);
   }
 
-  private static RelationalWarpStorage createRelationalWarpStorage(SQLDialect dialect, Settings settings,
+  private static RelationalWarpStorage createRelationalWarpStorage(ConnectionConfiguration config,
                                                                    DataSource dataSource) {
-    return new RelationalWarpStorage(new DefaultConfiguration().set(dialect).set(settings).set(dataSource));
+    return new RelationalWarpStorage(
+        new DefaultConfiguration().set(config.getDialect()).set(createSettings(config)).set(dataSource),
+        config.getFetchSize());
   }
 
   private static Settings createSettings(ConnectionConfiguration config) {
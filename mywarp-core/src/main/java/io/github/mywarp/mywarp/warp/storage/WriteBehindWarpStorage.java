@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.mywarp.mywarp.warp.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.github.mywarp.mywarp.util.MyWarpLogger;
+import io.github.mywarp.mywarp.warp.Warp;
+
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A {@code WarpStorage} that works on top of another {@code WarpStorage} and queues <b>writing</b> calls instead of
+ * executing them right away. Queued changes are flushed periodically on a specified {@link Executor}, all within a
+ * single transaction.
+ *
+ * <p>Changes are coalesced per warp and per field. Since the values to write are read from the warp when the queue
+ * is flushed, multiple updates of the same field result in a single write of the most recent value. Adding and
+ * removing the same warp, as well as inviting and uninviting the same player or group, cancel each other out.</p>
+ *
+ * <p>Reading calls flush the queue in the calling thread before they are delegated.</p>
+ */
+public class WriteBehindWarpStorage extends ForwardingWarpStorage implements Closeable {
+
+  private static final Logger log = MyWarpLogger.getLogger(WriteBehindWarpStorage.class);
+
+  private final WarpStorage warpStorage;
+  private final Executor executor;
+  private final int maxQueueSize;
+  private final ScheduledExecutorService scheduler;
+
+  private final Object queueLock = new Object();
+  private final Object writeLock = new Object();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private Map<String, PendingChanges> queue = new LinkedHashMap<>();
+
+  private volatile long lastFlushNanos;
+  private volatile long totalFlushNanos;
+  private volatile long flushCount;
+
+  /**
+   * Creates an instance. Every call is delegated to the given {@code warpStorage}. Writing methods are queued and
+   * flushed in the given {@code executor} whenever the given {@code flushInterval} has passed or the queue holds
+   * changes for {@code maxQueueSize} warps, reading methods still run in the thread that calls the method.
+   *
+   * @param warpStorage   the {@code WarpStorage} whose writing methods should be queued
+   * @param executor      the {@code Executor} that flushes the queue
+   * @param flushInterval the interval between two regular flushes
+   * @param maxQueueSize  the number of warps with pending changes that triggers an immediate flush
+   */
+  public WriteBehindWarpStorage(WarpStorage warpStorage, Executor executor, Duration flushInterval,
+                                int maxQueueSize) {
+    checkArgument(!flushInterval.isNegative() && !flushInterval.isZero(), "The flush interval must be positive.");
+    checkArgument(maxQueueSize > 0, "The maximum queue size must be positive.");
+
+    this.warpStorage = warpStorage;
+    this.executor = executor;
+    this.maxQueueSize = maxQueueSize;
+
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("mywarp-write-behind-%d").setDaemon(true).build());
+    scheduler.scheduleWithFixedDelay(this::requestFlush, flushInterval.toMillis(), flushInterval.toMillis(),
+                                     TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  protected WarpStorage delegate() {
+    return warpStorage;
+  }
+
+  @Override
+  public List<Warp> getWarps() {
+    flush();
+    return delegate().getWarps();
+  }
+
+  @Override
+  public void addWarp(Warp warp) {
+    enqueue(warp, PendingChanges::add);
+  }
+
+  @Override
+  public void removeWarp(Warp warp) {
+    enqueue(warp, PendingChanges::remove);
+  }
+
+  @Override
+  public void inviteGroup(Warp warp, String groupId) {
+    enqueue(warp, changes -> changes.invite(changes.groupInvitations, groupId, true));
+  }
+
+  @Override
+  public void invitePlayer(Warp warp, UUID uniqueId) {
+    enqueue(warp, changes -> changes.invite(changes.playerInvitations, uniqueId, true));
+  }
+
+  @Override
+  public void uninviteGroup(Warp warp, String groupId) {
+    enqueue(warp, changes -> changes.invite(changes.groupInvitations, groupId, false));
+  }
+
+  @Override
+  public void uninvitePlayer(Warp warp, UUID uniqueId) {
+    enqueue(warp, changes -> changes.invite(changes.playerInvitations, uniqueId, false));
+  }
+
+  @Override
+  public void updateCreator(Warp warp) {
+    enqueue(warp, changes -> changes.update(Field.CREATOR));
+  }
+
+  @Override
+  public void updateLocation(Warp warp) {
+    enqueue(warp, changes -> changes.update(Field.LOCATION));
+  }
+
+  @Override
+  public void updateType(Warp warp) {
+    enqueue(warp, changes -> changes.update(Field.TYPE));
+  }
+
+  @Override
+  public void updateVisits(Warp warp) {
+    enqueue(warp, changes -> changes.update(Field.VISITS));
+  }
+
+  @Override
+  public void updateWelcomeMessage(Warp warp) {
+    enqueue(warp, changes -> changes.update(Field.WELCOME_MESSAGE));
+  }
+
+  @Override
+  public void transaction(Consumer<WarpStorage> operations) {
+    // operations are not queued individually, but must not overtake changes queued before
+    executor.execute(() -> {
+      flush();
+      delegate().transaction(operations);
+    });
+  }
+
+  /**
+   * Gets the number of warps that currently have pending changes.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    synchronized (queueLock) {
+      return queue.size();
+    }
+  }
+
+  /**
+   * Gets the time the most recent flush took to write all changes to the underlying storage.
+   *
+   * @return the latency of the last flush
+   */
+  public Duration getLastFlushLatency() {
+    return Duration.ofNanos(lastFlushNanos);
+  }
+
+  /**
+   * Gets the average time a flush took to write all changes to the underlying storage.
+   *
+   * @return the average flush latency
+   */
+  public Duration getAverageFlushLatency() {
+    long count = flushCount;
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(totalFlushNanos / count);
+  }
+
+  /**
+   * Gets the number of flushes that wrote changes to the underlying storage.
+   *
+   * @return the number of flushes
+   */
+  public long getFlushCount() {
+    return flushCount;
+  }
+
+  /**
+   * Stops the regular flushes and schedules a final flush of all pending changes on the {@code Executor}. The {@code
+   * Executor} must still accept tasks when this method is called.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdown();
+    log.debug("Changes were written by {} flushes with an average latency of {} ms, {} warps with pending changes "
+              + "are flushed now.", getFlushCount(), getAverageFlushLatency().toMillis(), getQueueDepth());
+    executor.execute(this::flush);
+  }
+
+  private void enqueue(Warp warp, Consumer<PendingChanges> change) {
+    boolean full;
+    synchronized (queueLock) {
+      PendingChanges changes = queue.computeIfAbsent(warp.getName(), name -> new PendingChanges());
+      changes.warp = warp;
+      change.accept(changes);
+      if (changes.isEmpty()) {
+        queue.remove(warp.getName());
+      }
+      full = queue.size() >= maxQueueSize;
+    }
+    if (full) {
+      requestFlush();
+    }
+  }
+
+  private void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      executor.execute(this::flush);
+    }
+  }
+
+  /**
+   * Writes all pending changes to the underlying storage in the calling thread.
+   */
+  private void flush() {
+    flushRequested.set(false);
+
+    // flushes must not overtake each other, but the queue stays available while changes are written
+    synchronized (writeLock) {
+      Map<String, PendingChanges> flushed;
+      synchronized (queueLock) {
+        if (queue.isEmpty()) {
+          return;
+        }
+        flushed = queue;
+        queue = new LinkedHashMap<>();
+      }
+
+      long start = System.nanoTime();
+      try {
+        delegate().transaction(storage -> flushed.values().forEach(changes -> changes.writeTo(storage)));
+      } catch (RuntimeException e) {
+        log.warn(String.format("Failed to write changes of %d warps in a single transaction, writing them one by one.",
+                               flushed.size()), e);
+        for (PendingChanges changes : flushed.values()) {
+          try {
+            changes.writeTo(delegate());
+          } catch (RuntimeException e1) {
+            log.error(String.format("Failed to write changes of warp '%s', they will be missing in the storage.",
+                                    changes.warp.getName()), e1);
+          }
+        }
+      }
+      long latency = System.nanoTime() - start;
+
+      lastFlushNanos = latency;
+      totalFlushNanos += latency;
+      flushCount++;
+      log.debug("Flushed changes of {} warps in {} ms.", flushed.size(), TimeUnit.NANOSECONDS.toMillis(latency));
+    }
+  }
+
+  /**
+   * The fields of a warp that can be updated individually.
+   */
+  private enum Field {
+    CREATOR, LOCATION, TYPE, VISITS, WELCOME_MESSAGE
+  }
+
+  /**
+   * The coalesced changes of a single warp.
+   */
+  private static class PendingChanges {
+
+    private final Set<Field> fields = EnumSet.noneOf(Field.class);
+    private final Map<UUID, Boolean> playerInvitations = new LinkedHashMap<>();
+    private final Map<String, Boolean> groupInvitations = new LinkedHashMap<>();
+
+    private Warp warp;
+    private boolean removed;
+    private boolean added;
+
+    void add() {
+      // the insert writes the complete state so there is nothing left to update
+      added = true;
+      clearUpdates();
+    }
+
+    void remove() {
+      if (added && !removed) {
+        // the warp never reached the storage
+        added = false;
+      } else {
+        added = false;
+        removed = true;
+      }
+      clearUpdates();
+    }
+
+    void update(Field field) {
+      if (!added && !removed) {
+        fields.add(field);
+      }
+    }
+
+    <T> void invite(Map<T, Boolean> invitations, T id, boolean invite) {
+      if (added || removed) {
+        return;
+      }
+      // an invitation followed by the opposite call restores the stored state
+      Boolean pending = invitations.remove(id);
+      if (pending == null || pending == invite) {
+        invitations.put(id, invite);
+      }
+    }
+
+    boolean isEmpty() {
+      return !added && !removed && fields.isEmpty() && playerInvitations.isEmpty() && groupInvitations.isEmpty();
+    }
+
+    void writeTo(WarpStorage storage) {
+      if (removed) {
+        storage.removeWarp(warp);
+      }
+      if (added) {
+        storage.addWarp(warp);
+      }
+      for (Field field : fields) {
+        switch (field) {
+          case CREATOR:
+            storage.updateCreator(warp);
+            break;
+          case LOCATION:
+            storage.updateLocation(warp);
+            break;
+          case TYPE:
+            storage.updateType(warp);
+            break;
+          case VISITS:
+            storage.updateVisits(warp);
+            break;
+          case WELCOME_MESSAGE:
+            storage.updateWelcomeMessage(warp);
+            break;
+          default:
+            throw new AssertionError(field);
+        }
+      }
+      playerInvitations.forEach((id, invite) -> {
+        if (invite) {
+          storage.invitePlayer(warp, id);
+        } else {
+          storage.uninvitePlayer(warp, id);
+        }
+      });
+      groupInvitations.forEach((id, invite) -> {
+        if (invite) {
+          storage.inviteGroup(warp, id);
+        } else {
+          storage.uninviteGroup(warp, id);
+        }
+      });
+    }
+
+    private void clearUpdates() {
+      fields.clear();
+      playerInvitations.clear();
+      groupInvitations.clear();
+    }
+  }
+}
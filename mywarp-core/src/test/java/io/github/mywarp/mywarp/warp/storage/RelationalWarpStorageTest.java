@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.warp.storage;
+
+import static io.github.mywarp.mywarp.warp.storage.generated.Tables.WARP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.flowpowered.math.vector.Vector2f;
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
+
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpBuilder;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.Configuration;
+import org.jooq.ExecuteContext;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+/**
+ * Tests that warps written by a {@link RelationalWarpStorage} are read back unchanged, with surrogate keys served from
+ * the storage's cache, on every embedded database management system MyWarp supports.
+ */
+@RunWith(Parameterized.class)
+public class RelationalWarpStorageTest {
+
+  private static final UUID CREATOR = UUID.fromString("e2f6bc3c-ce01-4b3e-a5a0-47a9a1dc0b2e");
+  private static final UUID OTHER_PLAYER = UUID.fromString("2d6e7a44-2ab1-4f0e-9a33-0ac0a5e9a3c1");
+  private static final UUID WORLD = UUID.fromString("5b0b7d05-4e4c-4ad7-a0d3-1b5f0b8d7e26");
+  private static final UUID OTHER_WORLD = UUID.fromString("c3ab5bc6-0a1b-4f3e-8e45-9d6a6c5e0f43");
+  private static final Instant CREATION_DATE = Instant.ofEpochSecond(1500000000);
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final String dialect;
+
+  private DataSource dataSource;
+  private ConnectionConfiguration config;
+  private WarpStorage storage;
+
+  /**
+   * Creates an instance that tests against the given embedded database management system.
+   *
+   * @param dialect the name of the database management system, either {@code h2} or {@code sqlite}
+   */
+  public RelationalWarpStorageTest(String dialect) {
+    this.dialect = dialect;
+  }
+
+  @Parameterized.Parameters(name = "{0}")
+  public static List<String> dialects() {
+    return ImmutableList.of("h2", "sqlite");
+  }
+
+  /**
+   * Creates an empty database and a storage that writes to it.
+   *
+   * @throws IOException                    if the database file cannot be created
+   * @throws StorageInitializationException if the storage cannot be created
+   */
+  @Before
+  public void setUp() throws IOException, StorageInitializationException {
+    if (dialect.equals("h2")) {
+      String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+      JdbcDataSource h2 = new JdbcDataSource();
+      h2.setURL(url);
+      dataSource = h2;
+      config = new ConnectionConfiguration(url).setSchema("mywarp");
+    } else {
+      String url = "jdbc:sqlite:" + new File(folder.getRoot(), "warps.db").getAbsolutePath();
+      SQLiteConfig sqliteConfig = new SQLiteConfig();
+      sqliteConfig.enforceForeignKeys(true);
+      // allows writing while warps are read
+      sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+      SQLiteDataSource sqlite = new SQLiteDataSource(sqliteConfig);
+      sqlite.setUrl(url);
+      dataSource = sqlite;
+      config = new ConnectionConfiguration(url);
+    }
+    storage = WarpStorageFactory.createInitialized(dataSource, config);
+  }
+
+  /**
+   * Drops the in-memory database. File based databases are deleted together with the temporary folder.
+   *
+   * @throws SQLException if the database cannot be dropped
+   */
+  @After
+  public void tearDown() throws SQLException {
+    if (dialect.equals("h2")) {
+      try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+        statement.execute("DROP ALL OBJECTS");
+      }
+    }
+  }
+
+  @Test
+  public void create() {
+    Warp warp = warp("spawn", CREATOR, WORLD).addInvitedPlayer(OTHER_PLAYER).addInvitedGroup("builders").build();
+    storage.addWarp(warp);
+
+    assertStored(warp);
+  }
+
+  @Test
+  public void createSharingEntities() {
+    Warp first = warp("first", CREATOR, WORLD).addInvitedPlayer(OTHER_PLAYER).addInvitedGroup("builders").build();
+    Warp second = warp("second", OTHER_PLAYER, WORLD).addInvitedPlayer(CREATOR).addInvitedGroup("builders").build();
+    storage.addWarp(first);
+    storage.addWarp(second);
+
+    assertStored(first, second);
+  }
+
+  @Test
+  public void update() {
+    storage.addWarp(warp("spawn", CREATOR, WORLD).addInvitedPlayer(OTHER_PLAYER).build());
+
+    Warp updated =
+        new WarpBuilder("spawn", OTHER_PLAYER, OTHER_WORLD, new Vector3d(-4, 80, 12.5), new Vector2f(10, -45))
+            .setCreationDate(CREATION_DATE).setType(Warp.Type.PUBLIC).setVisits(7).setWelcomeMessage("Welcome!")
+            .addInvitedGroup("builders").build();
+    storage.transaction(s -> {
+      s.updateCreator(updated);
+      s.updateLocation(updated);
+      s.updateType(updated);
+      s.updateVisits(updated);
+      s.updateWelcomeMessage(updated);
+      s.uninvitePlayer(updated, OTHER_PLAYER);
+      s.inviteGroup(updated, "builders");
+    });
+
+    assertStored(updated);
+  }
+
+  @Test
+  public void delete() {
+    Warp warp = warp("spawn", CREATOR, WORLD).addInvitedPlayer(OTHER_PLAYER).addInvitedGroup("builders").build();
+    storage.addWarp(warp);
+    storage.removeWarp(warp);
+
+    assertStored();
+
+    // the deleted warp's key must not be reused for a new warp of the same name
+    Warp recreated = warp("spawn", OTHER_PLAYER, OTHER_WORLD).build();
+    storage.addWarp(recreated);
+    storage.updateVisits(recreated);
+
+    assertStored(recreated);
+  }
+
+  @Test
+  public void rollback() {
+    Warp warp = warp("spawn", CREATOR, WORLD).addInvitedGroup("builders").build();
+    try {
+      storage.transaction(s -> {
+        s.addWarp(warp);
+        throw new IllegalStateException("rollback");
+      });
+      fail("The transaction did not fail.");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+
+    // rows inserted after the rollback might receive the keys of the rolled back rows - loading warps is avoided
+    // until the end, as it replaces all cached keys
+    Warp other = warp("other", OTHER_PLAYER, OTHER_WORLD).addInvitedGroup("visitors").build();
+    storage.addWarp(other);
+    storage.addWarp(warp);
+
+    assertStored(other, warp);
+  }
+
+  @Test
+  public void reload() {
+    Warp warp = warp("spawn", CREATOR, WORLD).build();
+    storage.addWarp(warp);
+    storage.getWarps();
+
+    Warp updated = warp("spawn", OTHER_PLAYER, WORLD).build();
+    storage.updateCreator(updated);
+
+    assertStored(updated);
+  }
+
+  @Test
+  public void recreateWhileReading() {
+    Warp warp = warp("spawn", CREATOR, WORLD).build();
+    Warp recreated = warp("spawn", OTHER_PLAYER, OTHER_WORLD).setVisits(3).build();
+
+    // the warp is deleted and recreated after its row has been read, but before the read is finished
+    Settings settings = new Settings().withRenderSchema(config.supportsSchemas());
+    Configuration configuration = new DefaultConfiguration().set(config.getDialect()).set(settings).set(dataSource);
+    RelationalWarpStorage interleaved = new RelationalWarpStorage(configuration, 1);
+    configuration.set(new DefaultExecuteListenerProvider(new DefaultExecuteListener() {
+
+      private boolean interleaving;
+
+      @Override
+      public void recordEnd(ExecuteContext ctx) {
+        if (!interleaving && ctx.record().field(WARP.NAME) != null
+            && warp.getName().equals(ctx.record().getValue(WARP.NAME))) {
+          interleaving = true;
+          interleaved.removeWarp(warp);
+          interleaved.addWarp(recreated);
+        }
+      }
+    }));
+
+    // the recreated warp must not receive the key of the first warp, so another warp is stored in between
+    interleaved.addWarp(warp);
+    interleaved.addWarp(warp("other", CREATOR, WORLD).build());
+    interleaved.getWarps();
+
+    // both fail if the key of the deleted warp is cached
+    interleaved.invitePlayer(recreated, CREATOR);
+    interleaved.updateVisits(recreated);
+
+    assertStored(warp("other", CREATOR, WORLD).build(),
+                 warp("spawn", OTHER_PLAYER, OTHER_WORLD).setVisits(3).addInvitedPlayer(CREATOR).build());
+  }
+
+  private void assertStored(Warp... expected) {
+    List<Warp> stored = storage.getWarps();
+    assertEquals(expected.length, stored.size());
+
+    for (Warp warp : expected) {
+      Warp actual = stored.stream().filter(w -> w.getName().equals(warp.getName())).findFirst()
+          .orElseThrow(() -> new AssertionError(warp.getName() + " is not stored."));
+
+      assertEquals(warp.getCreator(), actual.getCreator());
+      assertEquals(warp.getWorldIdentifier(), actual.getWorldIdentifier());
+      assertEquals(warp.getPosition(), actual.getPosition());
+      assertEquals(warp.getRotation(), actual.getRotation());
+      assertEquals(warp.getType(), actual.getType());
+      assertEquals(warp.getCreationDate(), actual.getCreationDate());
+      assertEquals(warp.getVisits(), actual.getVisits());
+      assertEquals(warp.getWelcomeMessage(), actual.getWelcomeMessage());
+      assertEquals(warp.getInvitedPlayers(), actual.getInvitedPlayers());
+      assertEquals(warp.getInvitedGroups(), actual.getInvitedGroups());
+      assertTrue(actual.isType(warp.getType()));
+    }
+  }
+
+  private static WarpBuilder warp(String name, UUID creator, UUID world) {
+    return new WarpBuilder(name, creator, world, new Vector3d(100.5, 64, -20.5), new Vector2f(0, 90))
+        .setCreationDate(CREATION_DATE).setWelcomeMessage("");
+  }
+}
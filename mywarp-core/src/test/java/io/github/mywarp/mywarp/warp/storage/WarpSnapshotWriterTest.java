@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2011 - 2017, MyWarp team and contributors
+ *
+ * This file is part of MyWarp.
+ *
+ * MyWarp is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyWarp is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyWarp. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.mywarp.mywarp.warp.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector2f;
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import io.github.mywarp.mywarp.warp.EventfulPopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.MemoryPopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.PopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.StoragePopulatableWarpManager;
+import io.github.mywarp.mywarp.warp.Warp;
+import io.github.mywarp.mywarp.warp.WarpBuilder;
+import io.github.mywarp.mywarp.warp.event.WarpEvent;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tests that warps merged by a {@link WarpSnapshotWriter} can repopulate the WarpManager they were taken from, just as
+ * done when the snapshot is verified against the storage.
+ */
+public class WarpSnapshotWriterTest {
+
+  private static final UUID CREATOR = UUID.fromString("e2f6bc3c-ce01-4b3e-a5a0-47a9a1dc0b2e");
+  private static final UUID INVITED = UUID.fromString("2d6e7a44-2ab1-4f0e-9a33-0ac0a5e9a3c1");
+  private static final UUID OTHER_INVITED = UUID.fromString("8f1c0d2a-6b4e-4c7d-9e15-3a2b7c9d0e41");
+  private static final UUID WORLD = UUID.fromString("5b0b7d05-4e4c-4ad7-a0d3-1b5f0b8d7e26");
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final CountingWarpStorage storage = new CountingWarpStorage();
+  private final EventCounter events = new EventCounter();
+
+  private PopulatableWarpManager warpManager;
+  private WarpSnapshotWriter writer;
+
+  /**
+   * Creates a WarpManager that is wrapped just like MyWarp's and a writer that observes it.
+   */
+  @Before
+  public void setUp() {
+    EventBus eventBus = new EventBus();
+    warpManager =
+        new EventfulPopulatableWarpManager(
+            new StoragePopulatableWarpManager(new MemoryPopulatableWarpManager(), storage), eventBus);
+
+    writer = new WarpSnapshotWriter(warpManager, new WarpSnapshotFile(new File(folder.getRoot(), "warps.snapshot")),
+                                    Runnable::run);
+    eventBus.register(writer);
+    eventBus.register(events);
+  }
+
+  @Test
+  public void mergeChangedWarp() {
+    warpManager.populate(ImmutableList.of(warp("spawn").build()));
+    long changeCount = writer.getChangeCount();
+    warpManager.getByName("spawn").get().invitePlayer(INVITED);
+
+    // the storage has not yet seen the invitation, but contains a warp that was added externally
+    List<Warp> merged = writer.merge(ImmutableList.of(warp("spawn").build(), warp("other").build()), changeCount);
+    warpManager.depopulate();
+    warpManager.populate(merged);
+
+    assertEquals(2, warpManager.getNumberOfAllWarps());
+    Warp spawn = warpManager.getByName("spawn").get();
+    assertEquals(ImmutableSet.of(INVITED), spawn.getInvitedPlayers());
+
+    // a warp that is wrapped twice writes and reports every change twice
+    storage.invitations = 0;
+    events.count = 0;
+    spawn.invitePlayer(OTHER_INVITED);
+
+    assertEquals(1, storage.invitations);
+    assertEquals(1, events.count);
+    assertTrue(spawn.isPlayerInvited(OTHER_INVITED));
+  }
+
+  private static WarpBuilder warp(String name) {
+    return new WarpBuilder(name, CREATOR, WORLD, new Vector3d(100.5, 64, -20.5), new Vector2f(0, 90))
+        .setCreationDate(Instant.ofEpochSecond(1500000000)).setWelcomeMessage("");
+  }
+
+  /**
+   * Counts the events posted for warps.
+   */
+  public static class EventCounter {
+
+    private int count;
+
+    /**
+     * Called whenever something happens with a warp.
+     *
+     * @param event the event
+     */
+    @Subscribe
+    public void onWarpEvent(WarpEvent event) {
+      count++;
+    }
+  }
+
+  /**
+   * A WarpStorage that stores nothing, but counts player invitations.
+   */
+  private static class CountingWarpStorage implements WarpStorage {
+
+    private int invitations;
+
+    @Override
+    public List<Warp> getWarps() {
+      return ImmutableList.of();
+    }
+
+    @Override
+    public void addWarp(Warp warp) {
+    }
+
+    @Override
+    public void removeWarp(Warp warp) {
+    }
+
+    @Override
+    public void inviteGroup(Warp warp, String groupId) {
+    }
+
+    @Override
+    public void invitePlayer(Warp warp, UUID uniqueId) {
+      invitations++;
+    }
+
+    @Override
+    public void uninviteGroup(Warp warp, String groupId) {
+    }
+
+    @Override
+    public void uninvitePlayer(Warp warp, UUID uniqueId) {
+    }
+
+    @Override
+    public void updateCreator(Warp warp) {
+    }
+
+    @Override
+    public void updateLocation(Warp warp) {
+    }
+
+    @Override
+    public void updateType(Warp warp) {
+    }
+
+    @Override
+    public void updateVisits(Warp warp) {
+    }
+
+    @Override
+    public void updateWelcomeMessage(Warp warp) {
+    }
+  }
+}